@@ -0,0 +1,42 @@
+package com.signalsentinel.core.bus;
+
+import java.util.Locale;
+
+/**
+ * Settings for an asynchronous {@link EventBus} subscriber: events are queued per subscriber and handed to its
+ * handler by a dedicated consumer thread, so a slow handler no longer runs on the publisher's thread.
+ */
+public record AsyncDispatchOptions(int queueCapacity, Overflow overflow) {
+    public static final int DEFAULT_QUEUE_CAPACITY = 8_192;
+
+    public AsyncDispatchOptions {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be positive");
+        }
+        if (overflow == null) {
+            throw new IllegalArgumentException("overflow is required");
+        }
+    }
+
+    public static AsyncDispatchOptions of(Overflow overflow) {
+        return new AsyncDispatchOptions(DEFAULT_QUEUE_CAPACITY, overflow);
+    }
+
+    public AsyncDispatchOptions withQueueCapacity(int capacity) {
+        return new AsyncDispatchOptions(capacity, overflow);
+    }
+
+    /** What {@link EventBus#publish} does when a subscriber's queue is full. */
+    public enum Overflow {
+        /** Wait for room; nothing is lost and the publisher absorbs the back-pressure. */
+        BLOCK,
+        /** Discard the oldest queued event to make room for the new one. */
+        DROP_OLDEST,
+        /** Discard the event being published. */
+        DROP_NEWEST;
+
+        public static Overflow parse(String raw) {
+            return Overflow.valueOf(raw.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+}
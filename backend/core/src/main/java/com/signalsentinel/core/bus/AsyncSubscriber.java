@@ -0,0 +1,167 @@
+package com.signalsentinel.core.bus;
+
+import com.signalsentinel.core.events.Event;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A handler behind its own bounded queue and consumer thread. {@link #accept} only enqueues, applying the
+ * configured {@link AsyncDispatchOptions.Overflow} when the queue is full; a single virtual thread drains the
+ * queue, so the handler sees events one at a time and in the order they were accepted. The same instance can be
+ * subscribed to several event types and keeps that order across them.
+ */
+public final class AsyncSubscriber<T extends Event> implements Consumer<T>, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(AsyncSubscriber.class.getName());
+    private static final long IDLE_POLL_MILLIS = 200;
+
+    private final String name;
+    private final Consumer<T> handler;
+    private final AsyncDispatchOptions options;
+    private final BiConsumer<Event, Exception> onHandlerError;
+    private final BlockingQueue<T> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final Object progress = new Object();
+    private final Thread consumer;
+    private long handled;
+    private volatile boolean closing;
+
+    AsyncSubscriber(String name, Consumer<T> handler, AsyncDispatchOptions options, BiConsumer<Event, Exception> onHandlerError) {
+        this.name = name;
+        this.handler = handler;
+        this.options = options;
+        this.onHandlerError = onHandlerError;
+        this.queue = new ArrayBlockingQueue<>(options.queueCapacity());
+        this.consumer = Thread.ofVirtual().name("event-bus-" + name).start(this::run);
+    }
+
+    /** Queues the event for the consumer thread. Events accepted after {@link #close()} are dropped. */
+    @Override
+    public void accept(T event) {
+        if (closing) {
+            recordDrop();
+            return;
+        }
+        switch (options.overflow()) {
+            case BLOCK -> {
+                try {
+                    queue.put(event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    recordDrop();
+                    return;
+                }
+            }
+            case DROP_NEWEST -> {
+                if (!queue.offer(event)) {
+                    recordDrop();
+                    return;
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(event)) {
+                    if (queue.poll() != null) {
+                        recordDrop();
+                        markHandled();
+                    }
+                }
+            }
+        }
+        accepted.incrementAndGet();
+    }
+
+    /** Blocks until every event accepted before this call has been handled or dropped. */
+    public void flush() {
+        long target = accepted.get();
+        synchronized (progress) {
+            while (handled < target && consumer.isAlive()) {
+                try {
+                    progress.wait(IDLE_POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Events discarded because the queue was full (or the subscriber already closed). */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    /** Stops accepting events, lets the consumer drain what is already queued and waits for it to finish. */
+    @Override
+    public void close() {
+        closing = true;
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                T event = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    deliver(event);
+                } else if (closing) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (progress) {
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private void deliver(T event) {
+        try {
+            handler.accept(event);
+        } catch (Exception ex) {
+            try {
+                onHandlerError.accept(event, ex);
+            } catch (RuntimeException reportFailure) {
+                LOGGER.log(Level.WARNING, "Event handler failed for type " + event.type(), ex);
+            }
+        } finally {
+            markHandled();
+        }
+    }
+
+    private void markHandled() {
+        synchronized (progress) {
+            handled++;
+            progress.notifyAll();
+        }
+    }
+
+    private void recordDrop() {
+        long total = dropped.incrementAndGet();
+        // Log the first drop and then at powers of two, so a sustained overflow cannot flood the log.
+        if ((total & (total - 1)) == 0) {
+            LOGGER.warning("Async subscriber " + name + " dropped " + total + " events (queue capacity "
+                    + options.queueCapacity() + ", overflow " + options.overflow() + ")");
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.signalsentinel.core.bus;
 
 import com.signalsentinel.core.events.Event;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -11,11 +12,22 @@ import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class EventBus {
+/**
+ * Routes published events to every handler subscribed to their class or to one of its supertypes, so a single
+ * subscription to {@link Event} sees everything. Plain subscribers run inline on the publisher's thread;
+ * {@link #subscribeAsync} puts a handler behind its own queue and consumer thread instead.
+ *
+ * <p>Handlers for each concrete event class are resolved once into an array and cached, so publishing does no
+ * lookups beyond one map read and allocates nothing. Subscribing swaps in a fresh registry, which is rare.
+ */
+public class EventBus implements AutoCloseable {
     private static final Logger LOGGER = Logger.getLogger(EventBus.class.getName());
 
-    private final Map<Class<? extends Event>, CopyOnWriteArrayList<Consumer<? extends Event>>> subscribers =
-            new ConcurrentHashMap<>();
+    private static final Consumer<?>[] NO_HANDLERS = new Consumer<?>[0];
+
+    private final Object subscribeLock = new Object();
+    private volatile Registry registry = new Registry(List.of());
+    private final List<AsyncSubscriber<?>> asyncSubscribers = new CopyOnWriteArrayList<>();
     private final BiConsumer<Event, Exception> onHandlerError;
 
     public EventBus() {
@@ -26,20 +38,65 @@ public class EventBus {
         this.onHandlerError = onHandlerError;
     }
 
+    /** Subscribes {@code handler} to {@code type} and all of its subtypes; handlers run in subscription order. */
     public <T extends Event> void subscribe(Class<T> type, Consumer<T> handler) {
-        subscribers.computeIfAbsent(type, ignored -> new CopyOnWriteArrayList<>()).add(handler);
+        synchronized (subscribeLock) {
+            List<Subscription> subscriptions = new ArrayList<>(registry.subscriptions);
+            subscriptions.add(new Subscription(type, handler));
+            registry = new Registry(List.copyOf(subscriptions));
+        }
+    }
+
+    /** Subscribes {@code handler} behind a bounded queue drained by its own consumer thread. */
+    public <T extends Event> AsyncSubscriber<T> subscribeAsync(Class<T> type, Consumer<T> handler, AsyncDispatchOptions options) {
+        AsyncSubscriber<T> subscriber = asyncSubscriber(type.getSimpleName(), handler, options);
+        subscribe(type, subscriber);
+        return subscriber;
+    }
+
+    /**
+     * Creates an asynchronous subscriber that is not yet subscribed to any type, for handlers that listen to
+     * several event types and need one queue (and one delivery order) across all of them.
+     */
+    public <T extends Event> AsyncSubscriber<T> asyncSubscriber(String name, Consumer<T> handler, AsyncDispatchOptions options) {
+        AsyncSubscriber<T> subscriber = new AsyncSubscriber<>(name, handler, options, onHandlerError);
+        asyncSubscribers.add(subscriber);
+        return subscriber;
+    }
+
+    /** Total events dropped by asynchronous subscribers whose queues overflowed. */
+    public long droppedEventCount() {
+        long total = 0;
+        for (AsyncSubscriber<?> subscriber : asyncSubscribers) {
+            total += subscriber.droppedCount();
+        }
+        return total;
+    }
+
+    /** Blocks until every asynchronous subscriber has handled what was published before this call. */
+    public void flush() {
+        for (AsyncSubscriber<?> subscriber : asyncSubscribers) {
+            subscriber.flush();
+        }
+    }
+
+    /** Drains and stops the asynchronous subscribers; inline subscribers are unaffected. */
+    @Override
+    public void close() {
+        for (AsyncSubscriber<?> subscriber : asyncSubscribers) {
+            subscriber.close();
+        }
     }
 
     public void publish(Event event) {
-        List<Consumer<? extends Event>> handlers = subscribers.getOrDefault(event.getClass(), new CopyOnWriteArrayList<>());
-        for (Consumer<? extends Event> rawHandler : handlers) {
+        for (Consumer<?> rawHandler : registry.handlersFor(event.getClass())) {
             invokeHandler(rawHandler, event, onHandlerError);
         }
     }
 
     @SuppressWarnings("unchecked")
     private static <T extends Event> void invokeHandler(
-            Consumer<? extends Event> rawHandler,
+            Consumer<?> rawHandler,
             Event event,
             BiConsumer<Event, Exception> onHandlerError
     ) {
@@ -50,4 +107,32 @@ public class EventBus {
             onHandlerError.accept(event, ex);
         }
     }
+
+    private record Subscription(Class<? extends Event> type, Consumer<?> handler) {
+    }
+
+    /** An immutable snapshot of the subscriptions plus the dispatch table derived from it. */
+    private static final class Registry {
+        private final List<Subscription> subscriptions;
+        private final Map<Class<?>, Consumer<?>[]> dispatch = new ConcurrentHashMap<>();
+
+        Registry(List<Subscription> subscriptions) {
+            this.subscriptions = subscriptions;
+        }
+
+        Consumer<?>[] handlersFor(Class<?> eventClass) {
+            Consumer<?>[] handlers = dispatch.get(eventClass);
+            return handlers != null ? handlers : dispatch.computeIfAbsent(eventClass, this::resolve);
+        }
+
+        private Consumer<?>[] resolve(Class<?> eventClass) {
+            List<Consumer<?>> handlers = new ArrayList<>();
+            for (Subscription subscription : subscriptions) {
+                if (subscription.type().isAssignableFrom(eventClass)) {
+                    handlers.add(subscription.handler());
+                }
+            }
+            return handlers.isEmpty() ? NO_HANDLERS : handlers.toArray(NO_HANDLERS);
+        }
+    }
 }
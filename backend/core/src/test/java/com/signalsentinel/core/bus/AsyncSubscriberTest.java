@@ -0,0 +1,153 @@
+package com.signalsentinel.core.bus;
+
+import com.signalsentinel.core.events.CollectorTickStarted;
+import com.signalsentinel.core.events.Event;
+import com.signalsentinel.core.events.NewsUpdated;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncSubscriberTest {
+    private static final Instant BASE = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void slowHandlerDoesNotBlockPublisherAndKeepsOrderAcrossTypes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        try (EventBus bus = new EventBus()) {
+            AsyncSubscriber<Event> subscriber = bus.asyncSubscriber("ordered", event -> {
+                awaitQuietly(release);
+                seen.add(label(event));
+            }, AsyncDispatchOptions.of(AsyncDispatchOptions.Overflow.BLOCK));
+            bus.subscribe(CollectorTickStarted.class, subscriber::accept);
+            bus.subscribe(NewsUpdated.class, subscriber::accept);
+
+            long started = System.nanoTime();
+            for (int i = 0; i < 50; i++) {
+                bus.publish(i % 2 == 0 ? new CollectorTickStarted(BASE, "c" + i) : new NewsUpdated(BASE, "n" + i, i));
+            }
+            assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started) < 1, "publish waited for the handler");
+            assertTrue(seen.isEmpty());
+
+            release.countDown();
+            bus.flush();
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                expected.add((i % 2 == 0 ? "c" : "n") + i);
+            }
+            assertEquals(expected, seen);
+            assertEquals(0, bus.droppedEventCount());
+        }
+    }
+
+    @Test
+    void dropNewestKeepsTheQueuedEventsAndCountsTheRest() {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstTaken = new CountDownLatch(1);
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        try (EventBus bus = new EventBus()) {
+            AsyncSubscriber<CollectorTickStarted> subscriber = bus.subscribeAsync(CollectorTickStarted.class, event -> {
+                firstTaken.countDown();
+                awaitQuietly(release);
+                seen.add(event.collectorName());
+            }, new AsyncDispatchOptions(2, AsyncDispatchOptions.Overflow.DROP_NEWEST));
+
+            bus.publish(tick("e0"));
+            awaitQuietly(firstTaken);
+            for (int i = 1; i <= 5; i++) {
+                bus.publish(tick("e" + i));
+            }
+            assertEquals(3, subscriber.droppedCount());
+            assertEquals(2, subscriber.queuedCount());
+
+            release.countDown();
+            subscriber.flush();
+            assertEquals(List.of("e0", "e1", "e2"), seen);
+        }
+    }
+
+    @Test
+    void dropOldestKeepsTheNewestEvents() {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstTaken = new CountDownLatch(1);
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        try (EventBus bus = new EventBus()) {
+            AsyncSubscriber<CollectorTickStarted> subscriber = bus.subscribeAsync(CollectorTickStarted.class, event -> {
+                firstTaken.countDown();
+                awaitQuietly(release);
+                seen.add(event.collectorName());
+            }, new AsyncDispatchOptions(2, AsyncDispatchOptions.Overflow.DROP_OLDEST));
+
+            bus.publish(tick("e0"));
+            awaitQuietly(firstTaken);
+            for (int i = 1; i <= 5; i++) {
+                bus.publish(tick("e" + i));
+            }
+            release.countDown();
+            subscriber.flush();
+
+            assertEquals(List.of("e0", "e4", "e5"), seen);
+            assertEquals(3, bus.droppedEventCount());
+        }
+    }
+
+    @Test
+    void handlerFailuresReachTheBusErrorHandlerAndCloseDrainsTheQueue() {
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        EventBus bus = new EventBus((event, error) -> failure.set(error));
+        AsyncSubscriber<CollectorTickStarted> subscriber = bus.subscribeAsync(CollectorTickStarted.class, event -> {
+            if (event.collectorName().equals("bad")) {
+                throw new IllegalStateException("boom");
+            }
+            seen.add(event.collectorName());
+        }, new AsyncDispatchOptions(16, AsyncDispatchOptions.Overflow.BLOCK));
+
+        bus.publish(tick("bad"));
+        for (int i = 0; i < 10; i++) {
+            bus.publish(tick("e" + i));
+        }
+        bus.close();
+
+        assertEquals(10, seen.size());
+        assertInstanceOf(IllegalStateException.class, failure.get());
+        bus.publish(tick("late"));
+        assertEquals(1, subscriber.droppedCount());
+        assertEquals("CollectorTickStarted", subscriber.name());
+    }
+
+    @Test
+    void optionsRejectInvalidValuesAndParseOverflowNames() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncDispatchOptions(0, AsyncDispatchOptions.Overflow.BLOCK));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncDispatchOptions(1, null));
+        assertEquals(AsyncDispatchOptions.Overflow.DROP_OLDEST, AsyncDispatchOptions.Overflow.parse(" drop-oldest "));
+        assertEquals(32, AsyncDispatchOptions.of(AsyncDispatchOptions.Overflow.BLOCK).withQueueCapacity(32).queueCapacity());
+    }
+
+    private static CollectorTickStarted tick(String name) {
+        return new CollectorTickStarted(BASE, name);
+    }
+
+    private static String label(Event event) {
+        return event instanceof CollectorTickStarted tick ? tick.collectorName() : ((NewsUpdated) event).source();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
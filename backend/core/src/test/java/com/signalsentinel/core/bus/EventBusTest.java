@@ -1,10 +1,13 @@
 package com.signalsentinel.core.bus;
 
 import com.signalsentinel.core.events.CollectorTickStarted;
+import com.signalsentinel.core.events.Event;
 import com.signalsentinel.core.events.NewsUpdated;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -60,4 +63,32 @@ class EventBusTest {
         assertNotNull(capturedError.get());
         assertEquals("boom", capturedError.get().getMessage());
     }
+
+    @Test
+    void supertypeSubscriptionsSeeEveryEventInSubscriptionOrder() {
+        EventBus bus = new EventBus();
+        List<String> calls = new ArrayList<>();
+
+        bus.subscribe(Event.class, event -> calls.add("any:" + event.type()));
+        bus.subscribe(CollectorTickStarted.class, event -> calls.add("tick"));
+        bus.publish(new NewsUpdated(Instant.parse("2026-01-01T00:00:00Z"), "world", 5));
+        bus.publish(new CollectorTickStarted(Instant.parse("2026-01-01T00:00:01Z"), "rssCollector"));
+
+        assertEquals(List.of("any:NewsUpdated", "any:CollectorTickStarted", "tick"), calls);
+    }
+
+    @Test
+    void subscribingAfterPublishRefreshesTheDispatchTable() {
+        EventBus bus = new EventBus();
+        AtomicInteger hits = new AtomicInteger();
+        CollectorTickStarted tick = new CollectorTickStarted(Instant.parse("2026-01-01T00:00:00Z"), "siteCollector");
+
+        bus.publish(tick);
+        bus.subscribe(Event.class, event -> hits.incrementAndGet());
+        bus.publish(tick);
+        bus.subscribe(CollectorTickStarted.class, event -> hits.incrementAndGet());
+        bus.publish(tick);
+
+        assertEquals(3, hits.get());
+    }
 }
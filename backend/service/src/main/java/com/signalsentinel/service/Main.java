@@ -8,6 +8,7 @@ import com.signalsentinel.collectors.config.TicketmasterCollectorConfig;
 import com.signalsentinel.collectors.events.TicketmasterEventsCollector;
 import com.signalsentinel.collectors.rss.RssNewsCollector;
 import com.signalsentinel.collectors.site.SiteCollector;
+import com.signalsentinel.core.bus.AsyncDispatchOptions;
 import com.signalsentinel.core.bus.EventBus;
 import com.signalsentinel.core.model.CollectorConfig;
 import com.signalsentinel.service.api.ApiServer;
@@ -15,8 +16,11 @@ import com.signalsentinel.service.api.CatalogDefaults;
 import com.signalsentinel.service.api.DiagnosticsTracker;
 import com.signalsentinel.service.api.SseBroadcaster;
 import com.signalsentinel.service.auth.AuthService;
+import com.signalsentinel.service.auth.AuthStoreBackend;
+import com.signalsentinel.service.auth.BoundedPasswordHashing;
 import com.signalsentinel.service.auth.JwtService;
 import com.signalsentinel.service.auth.PasswordHasher;
+import com.signalsentinel.service.auth.PasswordHashing;
 import com.signalsentinel.service.auth.PasswordResetStore;
 import com.signalsentinel.service.auth.PreferencesStore;
 import com.signalsentinel.service.auth.ResetTokenService;
@@ -35,10 +39,15 @@ import com.signalsentinel.service.env.ZipGeoStore;
 import com.signalsentinel.service.http.HttpClientFactory;
 import com.signalsentinel.service.market.MarketDataService;
 import com.signalsentinel.service.runtime.SchedulerService;
-import com.signalsentinel.service.store.EventCodec;
+import com.signalsentinel.service.store.EncodedEventFanout;
+import com.signalsentinel.service.store.EventLogFormat;
+import com.signalsentinel.service.store.EventStore;
+import com.signalsentinel.service.store.GroupCommitOptions;
 import com.signalsentinel.service.store.JsonFileSignalStore;
 import com.signalsentinel.service.store.JsonlEventStore;
+import com.signalsentinel.service.store.SegmentedEventStore;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -57,6 +66,10 @@ import java.net.http.HttpClient;
 
 public final class Main {
     private static final Logger LOGGER = Logger.getLogger(Main.class.getName());
+    private static final long DEFAULT_SIGNAL_FLUSH_MILLIS = 1_000;
+    private static final int DEFAULT_AUTH_HASH_QUEUE_DEPTH = 32;
+    private static final int DEFAULT_ENV_NOAA_CONCURRENCY = 4;
+    private static final int DEFAULT_ENV_AIRNOW_CONCURRENCY = 2;
 
     private Main() {
     }
@@ -74,9 +87,13 @@ public final class Main {
         boolean allowInsecureAuthHasher = runtimeFlags.allowInsecureAuthHasher();
 
         EventBus eventBus = new EventBus();
-        JsonFileSignalStore signalStore = new JsonFileSignalStore(stateFile);
-        JsonlEventStore eventStore = new JsonlEventStore(eventLogFile);
-        EventCodec.subscribeAll(eventBus, eventStore::append);
+        JsonFileSignalStore signalStore = new JsonFileSignalStore(
+                stateFile, resolveSignalFlushInterval(env, LOGGER::warning), resolveSignalCheckpointBytes(env, LOGGER::warning));
+        long eventStoreOpenStarted = System.nanoTime();
+        EventStore eventStore = createEventStore(env, eventLogFile, Clock.systemUTC(), LOGGER::warning);
+        Duration eventStoreOpenDuration = Duration.ofNanos(System.nanoTime() - eventStoreOpenStarted);
+        EncodedEventFanout eventFanout = new EncodedEventFanout(eventBus, resolveEventDispatch(env, LOGGER::warning));
+        eventFanout.subscribe(eventStore::append);
 
         SiteCollectorConfig siteConfig = ConfigLoader.loadSites(configDir);
         RssCollectorConfig rssConfig = ConfigLoader.loadRss(configDir);
@@ -131,12 +148,17 @@ public final class Main {
         }
 
         SchedulerService scheduler = new SchedulerService(scheduledCollectors, context);
-        SseBroadcaster broadcaster = new SseBroadcaster(eventBus);
-        DiagnosticsTracker diagnosticsTracker = new DiagnosticsTracker(eventBus, Clock.systemUTC(), broadcaster::clientCount);
+        SseBroadcaster broadcaster = new SseBroadcaster(eventFanout, resolveSseOptions(env, LOGGER::warning));
+        DiagnosticsTracker diagnosticsTracker = new DiagnosticsTracker(eventBus, eventFanout, Clock.systemUTC(), broadcaster::clientCount);
+        diagnosticsTracker.recordStartupTiming("eventStoreOpen", eventStoreOpenDuration);
         DevOutboxEmailSender devOutbox = null;
         boolean devOutboxEnabled = authEnabled && !"smtp".equalsIgnoreCase(System.getenv().getOrDefault("EMAIL_MODE", "dev"));
         AuthService authService = null;
-        PreferencesStore preferencesStore = new PreferencesStore(dataDir.resolve("preferences.json"));
+        BoundedPasswordHashing passwordHashing = null;
+        AuthStoreBackend authStoreBackend = resolveAuthStoreBackend(env, LOGGER::warning);
+        PreferencesStore preferencesStore = new PreferencesStore(dataDir.resolve("preferences.json"), authStoreBackend);
+        UserStore userStore = null;
+        PasswordResetStore passwordResetStore = null;
         if (authEnabled) {
             EmailSender emailSender;
             if (devOutboxEnabled) {
@@ -151,13 +173,16 @@ public final class Main {
                         System.getenv().getOrDefault("SMTP_FROM", "noreply@todaysoverview.local")
                 );
             }
-            PasswordHasher passwordHasher = selectPasswordHasher(devMode, allowInsecureAuthHasher);
+            passwordHashing = resolvePasswordHashing(
+                    selectPasswordHasher(devMode, allowInsecureAuthHasher), env, LOGGER::warning);
             String jwtSecret = resolveJwtSecret(devMode, env, LOGGER::warning);
+            userStore = new UserStore(dataDir.resolve("users.json"), authStoreBackend);
+            passwordResetStore = new PasswordResetStore(dataDir.resolve("password_resets.json"), authStoreBackend);
             authService = new AuthService(
-                    new UserStore(dataDir.resolve("users.json")),
+                    userStore,
                     preferencesStore,
-                    new PasswordResetStore(dataDir.resolve("password_resets.json")),
-                    passwordHasher,
+                    passwordResetStore,
+                    passwordHashing,
                     new JwtService(
                             jwtSecret,
                             Clock.systemUTC(),
@@ -240,9 +265,13 @@ public final class Main {
                 ),
                 Clock.systemUTC(),
                 defaultZips
+        ).withProviderConcurrency(
+                resolveEnvProviderConcurrency(env, "ENV_NOAA_CONCURRENCY", DEFAULT_ENV_NOAA_CONCURRENCY, LOGGER::warning),
+                resolveEnvProviderConcurrency(env, "ENV_AIRNOW_CONCURRENCY", DEFAULT_ENV_AIRNOW_CONCURRENCY, LOGGER::warning)
         );
         Duration envInterval = intervalFor(collectorConfigByName, "envCollector", Duration.ofSeconds(300));
-        EnvCollector envCollector = new EnvCollector(envService, effectiveZipSupplier, envInterval);
+        EnvCollector envCollector = new EnvCollector(
+                envService, effectiveZipSupplier, envInterval, resolveEnvTickDeadline(env, envInterval, LOGGER::warning));
         registerScheduledCollector(scheduledCollectors, collectorConfigByName, "envCollector", envCollector, context, true);
         int marketOpenTtlSeconds = Math.max(1, parseIntOrDefault(env.get("MARKET_CACHE_TTL_OPEN_SECONDS"), 15));
         int marketClosedTtlSeconds = Math.max(1, parseIntOrDefault(env.get("MARKET_CACHE_TTL_CLOSED_SECONDS"), 900));
@@ -289,9 +318,22 @@ public final class Main {
         apiServer.start();
 
         CountDownLatch shutdownLatch = new CountDownLatch(1);
+        BoundedPasswordHashing ownedPasswordHashing = passwordHashing;
+        List<Closeable> authStores = new ArrayList<>(List.of(preferencesStore));
+        if (userStore != null) {
+            authStores.add(userStore);
+            authStores.add(passwordResetStore);
+        }
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             scheduler.shutdown();
             apiServer.stop();
+            if (ownedPasswordHashing != null) {
+                ownedPasswordHashing.shutdown();
+            }
+            closeAuthStores(authStores);
+            eventBus.close();
+            closeEventStore(eventStore);
+            closeSignalStore(signalStore);
             shutdownLatch.countDown();
         }));
 
@@ -315,6 +357,276 @@ public final class Main {
         }
     }
 
+    /**
+     * Selects the event log engine. {@code EVENT_STORE=segmented} stores rolling, indexed segments under
+     * {@code logs/events/} (adopting an existing {@code logs/events.jsonl} on first start); the default keeps the
+     * single-file JSONL log.
+     */
+    static EventStore createEventStore(Map<String, String> env, Path eventLogFile, Clock clock, Consumer<String> warn) {
+        String engine = env.getOrDefault("EVENT_STORE", "jsonl").trim();
+        if ("segmented".equalsIgnoreCase(engine)) {
+            Path directory = eventLogFile.resolveSibling("events");
+            if (!env.getOrDefault("EVENT_STORE_DURABILITY", "").isBlank()) {
+                warn.accept("EVENT_STORE_DURABILITY only applies to EVENT_STORE=jsonl; ignoring it.");
+            }
+            SegmentedEventStore.migrateLegacyLog(eventLogFile, directory);
+            SegmentedEventStore.Options defaults = SegmentedEventStore.Options.defaults();
+            SegmentedEventStore.Options options = defaults
+                    .withSegmentMaxBytes(Math.max(1, parseLongOrDefault(
+                            env.get("EVENT_SEGMENT_MAX_BYTES"), defaults.segmentMaxBytes())))
+                    .withSegmentMaxAge(Duration.ofSeconds(Math.max(1, parseLongOrDefault(
+                            env.get("EVENT_SEGMENT_MAX_AGE_SECONDS"), defaults.segmentMaxAge().toSeconds()))))
+                    .withRetention(
+                            Duration.ofHours(Math.max(1, parseLongOrDefault(
+                                    env.get("EVENT_RETENTION_HOURS"), defaults.retentionMaxAge().toHours()))),
+                            Math.max(1, parseLongOrDefault(
+                                    env.get("EVENT_RETENTION_MAX_BYTES"), defaults.retentionMaxBytes()))
+                    )
+                    .withFormat(resolveEventLogFormat(env, warn));
+            LOGGER.info("Event store: segmented directory=" + directory
+                    + " format=" + options.format()
+                    + " segmentMaxBytes=" + options.segmentMaxBytes()
+                    + " segmentMaxAgeSeconds=" + options.segmentMaxAge().toSeconds()
+                    + " retentionHours=" + options.retentionMaxAge().toHours()
+                    + " retentionMaxBytes=" + options.retentionMaxBytes());
+            return new SegmentedEventStore(directory, options, clock);
+        }
+        if (!"jsonl".equalsIgnoreCase(engine)) {
+            warn.accept("Unknown EVENT_STORE=" + engine + ", defaulting to jsonl");
+        }
+        if (resolveEventLogFormat(env, warn) != EventLogFormat.JSONL) {
+            warn.accept("EVENT_LOG_FORMAT only applies to EVENT_STORE=segmented; the jsonl engine always writes JSON lines.");
+        }
+        GroupCommitOptions groupCommit = resolveGroupCommit(env, warn);
+        if (groupCommit == null) {
+            return new JsonlEventStore(eventLogFile);
+        }
+        LOGGER.info("Event store: jsonl group commit durability=" + groupCommit.durability()
+                + " fsyncIntervalMillis=" + groupCommit.fsyncInterval().toMillis());
+        return new JsonlEventStore(eventLogFile, groupCommit);
+    }
+
+    /**
+     * {@code EVENT_DISPATCH=inline} (the default) delivers to the store, SSE and diagnostics on the publishing
+     * collector thread; {@code EVENT_DISPATCH=async} gives each of them its own queued consumer instead.
+     * {@code EVENT_DISPATCH_OVERFLOW} and {@code EVENT_DISPATCH_QUEUE_CAPACITY} tune those queues.
+     */
+    static AsyncDispatchOptions resolveEventDispatch(Map<String, String> env, Consumer<String> warn) {
+        String mode = env.getOrDefault("EVENT_DISPATCH", "inline").trim();
+        if (mode.isEmpty() || "inline".equalsIgnoreCase(mode)) {
+            return null;
+        }
+        if (!"async".equalsIgnoreCase(mode)) {
+            warn.accept("Unknown EVENT_DISPATCH=" + mode + ", using inline");
+            return null;
+        }
+        AsyncDispatchOptions.Overflow overflow = AsyncDispatchOptions.Overflow.BLOCK;
+        String rawOverflow = env.getOrDefault("EVENT_DISPATCH_OVERFLOW", "").trim();
+        if (!rawOverflow.isEmpty()) {
+            try {
+                overflow = AsyncDispatchOptions.Overflow.parse(rawOverflow);
+            } catch (IllegalArgumentException unknown) {
+                warn.accept("Unknown EVENT_DISPATCH_OVERFLOW=" + rawOverflow + ", using block");
+            }
+        }
+        int capacity = Math.max(1, parseIntOrDefault(
+                env.get("EVENT_DISPATCH_QUEUE_CAPACITY"), AsyncDispatchOptions.DEFAULT_QUEUE_CAPACITY));
+        LOGGER.info("Event dispatch: async overflow=" + overflow + " queueCapacity=" + capacity);
+        return AsyncDispatchOptions.of(overflow).withQueueCapacity(capacity);
+    }
+
+    /**
+     * {@code SSE_COALESCE_WINDOW_MS} (default 0, off) batches each SSE client's frames over that window and collapses
+     * superseded news/environment updates; {@code SSE_REPLAY_BUFFER_SIZE} sizes the {@code Last-Event-ID} replay ring.
+     */
+    static SseBroadcaster.Options resolveSseOptions(Map<String, String> env, Consumer<String> warn) {
+        SseBroadcaster.Options defaults = SseBroadcaster.Options.defaults();
+        long windowMillis = parseLongOrDefault(env.get("SSE_COALESCE_WINDOW_MS"), 0);
+        if (windowMillis < 0) {
+            warn.accept("Negative SSE_COALESCE_WINDOW_MS=" + windowMillis + ", coalescing disabled");
+            windowMillis = 0;
+        }
+        int replayBufferSize = parseIntOrDefault(env.get("SSE_REPLAY_BUFFER_SIZE"), defaults.replayBufferSize());
+        if (replayBufferSize < 0) {
+            warn.accept("Negative SSE_REPLAY_BUFFER_SIZE=" + replayBufferSize + ", using " + defaults.replayBufferSize());
+            replayBufferSize = defaults.replayBufferSize();
+        }
+        return defaults.withCoalesceWindow(Duration.ofMillis(windowMillis)).withReplayBufferSize(replayBufferSize);
+    }
+
+    /**
+     * {@code SIGNAL_STORE_FLUSH_INTERVAL_MS} (default 1000) bounds how often {@code signals.json} is rewritten;
+     * {@code 0} writes it synchronously on every put.
+     */
+    static Duration resolveSignalFlushInterval(Map<String, String> env, Consumer<String> warn) {
+        long intervalMillis = parseLongOrDefault(env.get("SIGNAL_STORE_FLUSH_INTERVAL_MS"), DEFAULT_SIGNAL_FLUSH_MILLIS);
+        if (intervalMillis < 0) {
+            warn.accept("Negative SIGNAL_STORE_FLUSH_INTERVAL_MS=" + intervalMillis + ", using " + DEFAULT_SIGNAL_FLUSH_MILLIS);
+            intervalMillis = DEFAULT_SIGNAL_FLUSH_MILLIS;
+        }
+        return Duration.ofMillis(intervalMillis);
+    }
+
+    /**
+     * {@code SIGNAL_STORE_PERSISTENCE=journal} appends changed signals to a journal next to {@code signals.json} and
+     * checkpoints the full snapshot once the journal reaches {@code SIGNAL_STORE_CHECKPOINT_BYTES}; unset or
+     * {@code snapshot} keeps rewriting the snapshot on every flush (returned as {@code 0}).
+     */
+    static long resolveSignalCheckpointBytes(Map<String, String> env, Consumer<String> warn) {
+        String mode = env.getOrDefault("SIGNAL_STORE_PERSISTENCE", "snapshot").trim();
+        if (!"journal".equalsIgnoreCase(mode)) {
+            if (!mode.isEmpty() && !"snapshot".equalsIgnoreCase(mode)) {
+                warn.accept("Unknown SIGNAL_STORE_PERSISTENCE=" + mode + ", using snapshot");
+            }
+            return 0;
+        }
+        long checkpointBytes = parseLongOrDefault(
+                env.get("SIGNAL_STORE_CHECKPOINT_BYTES"), JsonFileSignalStore.DEFAULT_CHECKPOINT_JOURNAL_BYTES);
+        if (checkpointBytes <= 0) {
+            warn.accept("Non-positive SIGNAL_STORE_CHECKPOINT_BYTES=" + checkpointBytes + ", using "
+                    + JsonFileSignalStore.DEFAULT_CHECKPOINT_JOURNAL_BYTES);
+            checkpointBytes = JsonFileSignalStore.DEFAULT_CHECKPOINT_JOURNAL_BYTES;
+        }
+        return checkpointBytes;
+    }
+
+    /**
+     * {@code AUTH_STORE_BACKEND=journal} keeps users, preferences and reset tokens indexed in memory with a change
+     * journal per file; unset or {@code file} re-reads the JSON files on every lookup.
+     */
+    static AuthStoreBackend resolveAuthStoreBackend(Map<String, String> env, Consumer<String> warn) {
+        String raw = env.getOrDefault("AUTH_STORE_BACKEND", "").trim();
+        if (raw.isEmpty()) {
+            return AuthStoreBackend.FILE;
+        }
+        try {
+            return AuthStoreBackend.parse(raw);
+        } catch (IllegalArgumentException e) {
+            warn.accept("Unknown AUTH_STORE_BACKEND=" + raw + ", using file");
+            return AuthStoreBackend.FILE;
+        }
+    }
+
+    /**
+     * Runs {@code hasher} on a bounded pool: {@code AUTH_HASH_CONCURRENCY} (default half the cores) hashes at once and
+     * {@code AUTH_HASH_QUEUE_DEPTH} (default {@value #DEFAULT_AUTH_HASH_QUEUE_DEPTH}) waiting; further signups, logins
+     * and resets get 503 with {@code Retry-After}.
+     */
+    static BoundedPasswordHashing resolvePasswordHashing(
+            PasswordHashing hasher, Map<String, String> env, Consumer<String> warn
+    ) {
+        int defaultConcurrency = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int concurrency = parseIntOrDefault(env.get("AUTH_HASH_CONCURRENCY"), defaultConcurrency);
+        if (concurrency <= 0) {
+            warn.accept("Non-positive AUTH_HASH_CONCURRENCY=" + concurrency + ", using " + defaultConcurrency);
+            concurrency = defaultConcurrency;
+        }
+        int queueDepth = parseIntOrDefault(env.get("AUTH_HASH_QUEUE_DEPTH"), DEFAULT_AUTH_HASH_QUEUE_DEPTH);
+        if (queueDepth <= 0) {
+            warn.accept("Non-positive AUTH_HASH_QUEUE_DEPTH=" + queueDepth + ", using " + DEFAULT_AUTH_HASH_QUEUE_DEPTH);
+            queueDepth = DEFAULT_AUTH_HASH_QUEUE_DEPTH;
+        }
+        LOGGER.info("Password hashing: concurrency=" + concurrency + " queueDepth=" + queueDepth);
+        return new BoundedPasswordHashing(hasher, concurrency, queueDepth);
+    }
+
+    /**
+     * Caps concurrent calls to one environment provider while ZIPs are polled in parallel
+     * ({@code ENV_NOAA_CONCURRENCY}, {@code ENV_AIRNOW_CONCURRENCY}).
+     */
+    static int resolveEnvProviderConcurrency(
+            Map<String, String> env, String variable, int fallback, Consumer<String> warn
+    ) {
+        int permits = parseIntOrDefault(env.get(variable), fallback);
+        if (permits <= 0) {
+            warn.accept("Non-positive " + variable + "=" + permits + ", using " + fallback);
+            return fallback;
+        }
+        return permits;
+    }
+
+    /**
+     * {@code ENV_TICK_DEADLINE_MS} bounds one environment poll; ZIPs still fetching then are reported unavailable.
+     * Defaults to 80% of the collector interval so a slow tick finishes before the next one is due.
+     */
+    static Duration resolveEnvTickDeadline(Map<String, String> env, Duration interval, Consumer<String> warn) {
+        Duration fallback = EnvCollector.defaultTickDeadline(interval);
+        long deadlineMillis = parseLongOrDefault(env.get("ENV_TICK_DEADLINE_MS"), fallback.toMillis());
+        if (deadlineMillis <= 0) {
+            warn.accept("Non-positive ENV_TICK_DEADLINE_MS=" + deadlineMillis + ", using " + fallback.toMillis());
+            deadlineMillis = fallback.toMillis();
+        }
+        return Duration.ofMillis(deadlineMillis);
+    }
+
+    /**
+     * {@code EVENT_LOG_FORMAT=jsonl|binary} picks the record encoding for new segments of the segmented store;
+     * unset keeps JSON lines.
+     */
+    static EventLogFormat resolveEventLogFormat(Map<String, String> env, Consumer<String> warn) {
+        String raw = env.getOrDefault("EVENT_LOG_FORMAT", "").trim();
+        if (raw.isEmpty()) {
+            return EventLogFormat.JSONL;
+        }
+        try {
+            return EventLogFormat.parse(raw);
+        } catch (IllegalArgumentException e) {
+            warn.accept("Unknown EVENT_LOG_FORMAT=" + raw + ", using jsonl");
+            return EventLogFormat.JSONL;
+        }
+    }
+
+    /**
+     * {@code EVENT_STORE_DURABILITY=none|batch|interval} switches the JSONL store to group commit with that fsync
+     * policy ({@code EVENT_STORE_FSYNC_INTERVAL_MS} tunes the interval); unset keeps synchronous appends.
+     */
+    static GroupCommitOptions resolveGroupCommit(Map<String, String> env, Consumer<String> warn) {
+        String raw = env.getOrDefault("EVENT_STORE_DURABILITY", "").trim();
+        if (raw.isBlank()) {
+            return null;
+        }
+        GroupCommitOptions.Durability durability;
+        try {
+            durability = GroupCommitOptions.Durability.parse(raw);
+        } catch (IllegalArgumentException unknown) {
+            warn.accept("Unknown EVENT_STORE_DURABILITY=" + raw + ", using synchronous appends");
+            return null;
+        }
+        long intervalMillis = Math.max(1, parseLongOrDefault(
+                env.get("EVENT_STORE_FSYNC_INTERVAL_MS"), GroupCommitOptions.DEFAULT_FSYNC_INTERVAL.toMillis()));
+        return GroupCommitOptions.of(durability).withFsyncInterval(Duration.ofMillis(intervalMillis));
+    }
+
+    private static void closeEventStore(EventStore eventStore) {
+        if (!(eventStore instanceof Closeable closeable)) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Failed closing event store: " + e.getMessage());
+        }
+    }
+
+    /** Compacts journaled auth stores into their list files; the file backend has nothing to flush. */
+    private static void closeAuthStores(List<Closeable> authStores) {
+        for (Closeable store : authStores) {
+            try {
+                store.close();
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warning("Failed closing auth store: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void closeSignalStore(JsonFileSignalStore signalStore) {
+        try {
+            signalStore.close();
+        } catch (RuntimeException e) {
+            LOGGER.warning("Failed flushing signal store: " + e.getMessage());
+        }
+    }
+
     static PasswordHasher selectPasswordHasher(boolean devMode, boolean allowInsecureAuthHasher) {
         PasswordHasher argon2 = PasswordHasher.defaultHasher();
         return selectPasswordHasher(argon2, devMode, allowInsecureAuthHasher);
@@ -494,6 +806,17 @@ public final class Main {
         }
     }
 
+    private static long parseLongOrDefault(String raw, long fallback) {
+        if (raw == null || raw.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(raw.trim());
+        } catch (NumberFormatException ignored) {
+            return fallback;
+        }
+    }
+
     private static void logCollectorConfigSummary(List<CollectorConfig> collectors) {
         LOGGER.info("Collector configuration summary (collectors.json):");
         for (CollectorConfig collector : collectors) {
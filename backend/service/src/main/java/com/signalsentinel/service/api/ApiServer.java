@@ -8,6 +8,7 @@ import com.signalsentinel.core.util.JsonUtils;
 import com.signalsentinel.service.auth.AuthMiddleware;
 import com.signalsentinel.service.auth.AuthService;
 import com.signalsentinel.service.auth.AuthUser;
+import com.signalsentinel.service.auth.HashingOverloadedException;
 import com.signalsentinel.service.auth.UserPreferences;
 import com.signalsentinel.service.email.DevOutboxEmailSender;
 import com.signalsentinel.service.email.EmailMessage;
@@ -15,6 +16,8 @@ import com.signalsentinel.service.env.EnvService;
 import com.signalsentinel.service.market.MarketDataService;
 import com.signalsentinel.service.store.EventStore;
 import com.signalsentinel.service.store.ServiceSignalStore;
+import com.signalsentinel.service.store.SignalDelta;
+import com.signalsentinel.service.store.SignalSnapshot;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpContext;
 import com.sun.net.httpserver.HttpHandler;
@@ -23,6 +26,7 @@ import com.sun.net.httpserver.Filter;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URLDecoder;
@@ -67,6 +71,10 @@ public class ApiServer {
     private final boolean devOutboxEnabled;
     private final DevOutboxEmailSender devOutboxEmailSender;
     private final Set<String> corsAllowedOrigins;
+    private final SignalSnapshotCache signalSnapshotCache = new SignalSnapshotCache(256);
+    private final EffectivePreferencesCache effectivePreferencesCache = new EffectivePreferencesCache();
+    // Catalog defaults are fixed for the server's lifetime, so the anonymous view is built once.
+    private final EffectivePreferencesCache.EffectivePreferences anonymousPreferences;
     private final boolean corsAllowCredentials;
     private final CorsFilter corsFilter;
     private volatile Consumer<List<String>> collectorRefreshHook;
@@ -164,6 +172,11 @@ public class ApiServer {
         this.marketDataService = marketDataService;
         this.authCookieSecure = authCookieSecure;
         this.authCookieSameSite = authCookieSameSite;
+        this.anonymousPreferences = new EffectivePreferencesCache.EffectivePreferences(
+                new LinkedHashSet<>(defaultSelectedNewsSources()), new LinkedHashSet<>(defaultZipCodes()));
+        if (authService != null) {
+            authService.onPreferencesChanged(effectivePreferencesCache::invalidate);
+        }
         this.devOutboxEnabled = devOutboxEnabled;
         this.devOutboxEmailSender = devOutboxEmailSender;
         this.corsAllowedOrigins = corsAllowedOrigins == null ? Set.of() : Set.copyOf(corsAllowedOrigins);
@@ -313,14 +326,104 @@ public class ApiServer {
         writeJson(exchange, 200, Map.of("status", "deleted"));
     }
 
+    /**
+     * Serves the signal snapshot filtered to the caller's news sources and ZIPs. Full responses are rendered once per
+     * store version and audience and then served from {@link SignalSnapshotCache} (gzipped when the client accepts
+     * it). They carry an {@code ETag} built from the version and audience, so a revalidating client gets a 304 while
+     * nothing changed; {@code ?sinceVersion=} returns only the entries changed after that version.
+     */
     private void handleSignals(HttpExchange exchange) throws IOException {
         if (!ensureGet(exchange)) {
             return;
         }
-        Map<String, Object> snapshot = new HashMap<>(signalStore.getAllSignals());
+        EffectivePreferencesCache.EffectivePreferences preferences = effectivePreferences(exchange);
+        Set<String> selectedSources = preferences.newsSourceIds();
+        Set<String> allowedZips = preferences.zipCodes();
+        String sinceRaw = queryParams(exchange.getRequestURI()).get("sinceVersion");
+        if (sinceRaw != null) {
+            long sinceVersion;
+            try {
+                sinceVersion = Long.parseLong(sinceRaw.trim());
+            } catch (NumberFormatException e) {
+                writeJson(exchange, 400, Map.of("error", "invalid_since_version"));
+                return;
+            }
+            SignalDelta delta = signalStore.signalsSince(sinceVersion);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("version", delta.version());
+            body.put("full", delta.full());
+            body.put("signals", filterSignalsForAudience(delta.signals(), selectedSources, allowedZips));
+            exchange.getResponseHeaders().set("X-Signals-Version", Long.toString(delta.version()));
+            writeJson(exchange, 200, body);
+            return;
+        }
+
+        // One store snapshot carries both the version and the entries, so the body always matches its ETag.
+        SignalSnapshot current = signalStore.snapshot();
+        long version = current.version();
+        // Read before rendering: a label resolved mid-render bumps the generation and forces one more render.
+        long labelGeneration = envService == null ? 0 : envService.labelGeneration();
+        SignalSnapshotCache.Snapshot snapshot = signalSnapshotCache.get(
+                selectedSources, allowedZips, version, labelGeneration, () -> {
+            try {
+                return JsonUtils.objectMapper().writeValueAsBytes(
+                        filterSignalsForAudience(current.signals(), selectedSources, allowedZips));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed serializing signals snapshot", e);
+            }
+        });
+        exchange.getResponseHeaders().set("ETag", snapshot.etag());
+        exchange.getResponseHeaders().set("Cache-Control", "private, no-cache");
+        exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        exchange.getResponseHeaders().set("X-Signals-Version", Long.toString(version));
+        if (etagMatches(exchange.getRequestHeaders().getFirst("If-None-Match"), snapshot.etag())) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        boolean gzip = acceptsGzip(exchange);
+        if (gzip) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        writeJsonBytes(exchange, 200, gzip ? snapshot.gzip() : snapshot.json());
+    }
+
+    private static boolean acceptsGzip(HttpExchange exchange) {
+        String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (accepted == null) {
+            return false;
+        }
+        for (String coding : accepted.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, Object> filterSignalsForAudience(
+            Map<String, Object> signals, Set<String> selected, Set<String> allowedZips
+    ) {
+        Map<String, Object> snapshot = new HashMap<>(signals);
         Object news = snapshot.get("news");
         if (news instanceof Map<?, ?> newsMap) {
-            Set<String> selected = effectiveSelectedNewsSources(exchange);
             if (isNewsDebugEnabled()) {
                 Set<String> available = availableNewsSourceIds();
                 List<String> snapshotIds = extractStringKeys(newsMap);
@@ -353,7 +456,6 @@ public class ApiServer {
         }
         Object localHappenings = snapshot.get("localHappenings");
         if (localHappenings instanceof Map<?, ?> happeningsMap) {
-            Set<String> allowedZips = effectiveZipCodes(exchange);
             Map<String, Object> filtered = new LinkedHashMap<>();
             for (Map.Entry<?, ?> entry : happeningsMap.entrySet()) {
                 if (!(entry.getKey() instanceof String zip)) {
@@ -372,15 +474,18 @@ public class ApiServer {
             }
             snapshot.put("localHappenings", filtered);
         }
-        writeJson(exchange, 200, snapshot);
+        return snapshot;
     }
 
     private void handleStream(HttpExchange exchange) throws IOException {
-        boolean authenticated = authService != null
-                && AuthMiddleware.readAuthCookie(exchange)
-                        .flatMap(authService::userForToken)
-                        .isPresent();
-        sseBroadcaster.handle(exchange, authenticated);
+        Optional<AuthUser> user = authService == null
+                ? Optional.empty()
+                : AuthMiddleware.currentUser(exchange, authService);
+        Map<String, String> query = queryParams(exchange.getRequestURI());
+        UserPreferences preferences = user.isPresent() && Boolean.parseBoolean(query.get("preferences"))
+                ? authService.getPreferences(user.get().id())
+                : null;
+        sseBroadcaster.handle(exchange, user.isPresent(), SseSubscription.fromQuery(query, preferences));
     }
 
     private void handleEvents(HttpExchange exchange) throws IOException {
@@ -392,12 +497,12 @@ public class ApiServer {
             return;
         }
 
-        Instant since;
+        Optional<Instant> since;
         Optional<String> type;
         int limit;
         try {
             Map<String, String> query = queryParams(exchange.getRequestURI());
-            since = query.containsKey("since") ? Instant.parse(query.get("since")) : Instant.EPOCH;
+            since = query.containsKey("since") ? Optional.of(Instant.parse(query.get("since"))) : Optional.empty();
             type = Optional.ofNullable(query.get("type")).filter(value -> !value.isBlank());
             limit = query.containsKey("limit") ? Integer.parseInt(query.get("limit")) : 200;
         } catch (RuntimeException invalidParamError) {
@@ -405,7 +510,10 @@ public class ApiServer {
             return;
         }
 
-        List<Event> events = eventStore.query(since, type, Math.max(1, limit));
+        // Without an explicit since only the recent in-memory tail is served, so a default query never scans the log.
+        List<Event> events = since.isPresent()
+                ? eventStore.query(since.get(), type, Math.max(1, limit))
+                : eventStore.recent(type, Math.max(1, limit));
         writeJson(exchange, 200, events);
     }
 
@@ -467,7 +575,17 @@ public class ApiServer {
         if (!ensureGet(exchange)) {
             return;
         }
-        writeJson(exchange, 200, diagnostics().metricsSnapshot());
+        Map<String, Object> metrics = new HashMap<>(diagnostics().metricsSnapshot());
+        metrics.put("sse", sseBroadcaster.metricsSnapshot());
+        metrics.put("signalsCache", signalSnapshotCache.metricsSnapshot());
+        metrics.put("signalStore", signalStore.metricsSnapshot());
+        if (authService != null) {
+            metrics.put("authTokenCache", authService.tokenCacheMetrics());
+            metrics.put("effectivePreferences", effectivePreferencesCache.metricsSnapshot());
+            metrics.put("passwordHashing", authService.hashingMetrics());
+            metrics.put("authRateLimits", authService.rateLimitMetrics());
+        }
+        writeJson(exchange, 200, metrics);
     }
 
     private void handleCatalogDefaults(HttpExchange exchange) throws IOException {
@@ -670,10 +788,11 @@ public class ApiServer {
             return;
         }
 
-        Map<String, Object> snapshot = new HashMap<>(signalStore.getAllSignals());
+        Map<String, Object> snapshot = signalStore.getAllSignals();
         int siteCount = countMapEntries(snapshot.get("sites"));
-        int newsStoryCount = countNewsStories(snapshot.get("news"), effectiveSelectedNewsSources(exchange));
-        int localEventsCount = countLocalEventItems(snapshot.get("localHappenings"), effectiveZipCodes(exchange));
+        EffectivePreferencesCache.EffectivePreferences preferences = effectivePreferences(user);
+        int newsStoryCount = countNewsStories(snapshot.get("news"), preferences.newsSourceIds());
+        int localEventsCount = countLocalEventItems(snapshot.get("localHappenings"), preferences.zipCodes());
         int weatherCount = countMapEntries(snapshot.get("weather"));
         int marketsCount = countMapEntries(snapshot.get("markets"));
         int totalIncluded = siteCount + newsStoryCount + localEventsCount + weatherCount + marketsCount;
@@ -748,6 +867,8 @@ public class ApiServer {
             AuthService.AuthResult result = authService.signup(email, password);
             exchange.getResponseHeaders().add("Set-Cookie", AuthMiddleware.buildAuthCookie(result.jwt(), authCookieSecure, authCookieSameSite));
             writeJson(exchange, 200, Map.of("id", result.userId(), "email", result.email()));
+        } catch (HashingOverloadedException busy) {
+            writeAuthBusy(exchange, busy);
         } catch (IllegalArgumentException badInput) {
             writeJson(exchange, 400, Map.of("error", badInput.getMessage()));
         }
@@ -769,11 +890,18 @@ public class ApiServer {
             exchange.getResponseHeaders().add("Set-Cookie", AuthMiddleware.buildAuthCookie(result.jwt(), authCookieSecure, authCookieSameSite));
             writeJson(exchange, 200, Map.of("id", result.userId(), "email", result.email()));
             triggerAuthTransitionRefresh();
+        } catch (HashingOverloadedException busy) {
+            writeAuthBusy(exchange, busy);
         } catch (IllegalArgumentException badInput) {
             writeJson(exchange, 401, Map.of("error", badInput.getMessage()));
         }
     }
 
+    private void writeAuthBusy(HttpExchange exchange, HashingOverloadedException busy) throws IOException {
+        exchange.getResponseHeaders().set("Retry-After", Long.toString(busy.retryAfterSeconds()));
+        writeJson(exchange, 503, Map.of("error", "auth_busy"));
+    }
+
     private void handleLogout(HttpExchange exchange) throws IOException {
         if (!ensurePost(exchange)) {
             return;
@@ -782,6 +910,7 @@ public class ApiServer {
             writeJson(exchange, 404, Map.of("error", "auth_disabled"));
             return;
         }
+        AuthMiddleware.readAuthCookie(exchange).ifPresent(authService::logout);
         exchange.getResponseHeaders().add("Set-Cookie", AuthMiddleware.buildClearCookie(authCookieSecure, authCookieSameSite));
         writeJson(exchange, 200, Map.of("status", "ok"));
         triggerAuthTransitionRefresh();
@@ -857,6 +986,8 @@ public class ApiServer {
             String newPassword = String.valueOf(body.getOrDefault("newPassword", ""));
             authService.resetPassword(token, newPassword);
             writeJson(exchange, 200, Map.of("status", "ok"));
+        } catch (HashingOverloadedException busy) {
+            writeAuthBusy(exchange, busy);
         } catch (IllegalArgumentException badInput) {
             writeJson(exchange, 400, Map.of("error", badInput.getMessage()));
         }
@@ -902,7 +1033,10 @@ public class ApiServer {
     }
 
     private void writeJson(HttpExchange exchange, int status, Object body) throws IOException {
-        byte[] payload = JsonUtils.objectMapper().writeValueAsBytes(body);
+        writeJsonBytes(exchange, status, JsonUtils.objectMapper().writeValueAsBytes(body));
+    }
+
+    private void writeJsonBytes(HttpExchange exchange, int status, byte[] payload) throws IOException {
         exchange.getResponseHeaders().set("Content-Type", "application/json");
         exchange.sendResponseHeaders(status, payload.length);
         try (OutputStream out = exchange.getResponseBody()) {
@@ -1136,64 +1270,64 @@ public class ApiServer {
     }
 
     private Set<String> effectiveSelectedNewsSources(HttpExchange exchange) {
-        List<String> defaults = defaultSelectedNewsSources();
+        return effectivePreferences(exchange).newsSourceIds();
+    }
+
+    private EffectivePreferencesCache.EffectivePreferences effectivePreferences(HttpExchange exchange) {
         if (authService == null) {
             if (isNewsDebugEnabled()) {
-                logNewsDebug("Effective news sources: auth disabled, using defaults=" + sampleList(defaults));
+                logNewsDebug("Effective news sources: auth disabled, using defaults="
+                        + sampleList(anonymousPreferences.newsSourceIds()));
             }
-            return new LinkedHashSet<>(defaults);
+            return anonymousPreferences;
         }
-        Optional<AuthUser> user = AuthMiddleware.readAuthCookie(exchange).flatMap(authService::userForToken);
+        return effectivePreferences(AuthMiddleware.currentUser(exchange, authService));
+    }
+
+    private EffectivePreferencesCache.EffectivePreferences effectivePreferences(Optional<AuthUser> user) {
         if (user.isEmpty()) {
             if (isNewsDebugEnabled()) {
-                logNewsDebug("Effective news sources: unauthenticated, using defaults=" + sampleList(defaults));
+                logNewsDebug("Effective news sources: unauthenticated, using defaults="
+                        + sampleList(anonymousPreferences.newsSourceIds()));
             }
-            return new LinkedHashSet<>(defaults);
+            return anonymousPreferences;
         }
-        UserPreferences preferences = authService.getPreferences(user.get().id());
-        List<String> selected = preferences.newsSourceIds().isEmpty() ? defaults : preferences.newsSourceIds();
+        return effectivePreferencesCache.get(user.get().id(), this::buildEffectivePreferences);
+    }
+
+    private EffectivePreferencesCache.EffectivePreferences buildEffectivePreferences(String userId) {
+        UserPreferences preferences = authService.getPreferences(userId);
+        List<String> defaultSources = defaultSelectedNewsSources();
+        List<String> selected = preferences.newsSourceIds().isEmpty() ? defaultSources : preferences.newsSourceIds();
         Set<String> available = availableNewsSourceIds();
-        LinkedHashSet<String> normalized = new LinkedHashSet<>();
+        LinkedHashSet<String> sources = new LinkedHashSet<>();
         for (String id : selected) {
             if (available.contains(id)) {
-                normalized.add(id);
+                sources.add(id);
             }
         }
-        if (normalized.isEmpty()) {
-            normalized.addAll(defaults);
+        if (sources.isEmpty()) {
+            sources.addAll(defaultSources);
         }
         if (isNewsDebugEnabled()) {
-            logNewsDebug("Effective news sources: user=" + user.get().id()
+            logNewsDebug("Effective news sources: user=" + userId
                     + " selected=" + sampleList(selected)
                     + " availableCount=" + available.size()
-                    + " normalized=" + sampleList(normalized));
+                    + " normalized=" + sampleList(sources));
         }
-        return normalized;
-    }
 
-    private Set<String> effectiveZipCodes(HttpExchange exchange) {
-        List<String> defaults = defaultZipCodes();
-        LinkedHashSet<String> normalized = new LinkedHashSet<>();
-        if (authService == null) {
-            normalized.addAll(defaults);
-            return normalized;
-        }
-        Optional<AuthUser> user = AuthMiddleware.readAuthCookie(exchange).flatMap(authService::userForToken);
-        if (user.isEmpty()) {
-            normalized.addAll(defaults);
-            return normalized;
-        }
-        UserPreferences preferences = authService.getPreferences(user.get().id());
-        List<String> requested = preferences.zipCodes().isEmpty() ? defaults : preferences.zipCodes();
+        List<String> defaultZips = defaultZipCodes();
+        List<String> requested = preferences.zipCodes().isEmpty() ? defaultZips : preferences.zipCodes();
+        LinkedHashSet<String> zips = new LinkedHashSet<>();
         for (String zip : requested) {
             if (zip != null && zip.matches("\\d{5}")) {
-                normalized.add(zip);
+                zips.add(zip);
             }
         }
-        if (normalized.isEmpty()) {
-            normalized.addAll(defaults);
+        if (zips.isEmpty()) {
+            zips.addAll(defaultZips);
         }
-        return normalized;
+        return new EffectivePreferencesCache.EffectivePreferences(sources, zips);
     }
 
     private List<Map<String, Object>> availableNewsSources() {
@@ -4,13 +4,14 @@ import com.signalsentinel.core.bus.EventBus;
 import com.signalsentinel.core.events.AlertRaised;
 import com.signalsentinel.core.events.CollectorTickCompleted;
 import com.signalsentinel.core.events.CollectorTickStarted;
-import com.signalsentinel.core.events.Event;
 import com.signalsentinel.core.events.LocalHappeningsIngested;
 import com.signalsentinel.core.events.NewsItemsIngested;
 import com.signalsentinel.core.events.NewsUpdated;
-import com.signalsentinel.service.store.EventCodec;
+import com.signalsentinel.service.store.EncodedEvent;
+import com.signalsentinel.service.store.EncodedEventFanout;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayDeque;
@@ -19,20 +20,29 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 
 public final class DiagnosticsTracker {
     private final Clock clock;
     private final IntSupplier sseClientCountSupplier;
+    private final LongSupplier droppedEventsSupplier;
     private final LongAdder eventsEmittedTotal = new LongAdder();
+    private final LongAdder eventBytesEmittedTotal = new LongAdder();
     private final ArrayDeque<Instant> recentEventTimestamps = new ArrayDeque<>();
     private final Object recentLock = new Object();
     private final ConcurrentHashMap<String, CollectorStatus> collectorStatuses = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, NewsSourceStatus> newsSourceStatuses = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> startupTimingsMillis = new ConcurrentHashMap<>();
     private final TrendStore trendStore;
 
     public DiagnosticsTracker(EventBus eventBus, Clock clock, IntSupplier sseClientCountSupplier) {
-        this(clock, sseClientCountSupplier);
-        EventCodec.subscribeAll(eventBus, this::onAnyEvent);
+        this(eventBus, new EncodedEventFanout(eventBus), clock, sseClientCountSupplier);
+    }
+
+    /** Counts events from a fan-out shared with the store and SSE, reusing their single serialization. */
+    public DiagnosticsTracker(EventBus eventBus, EncodedEventFanout fanout, Clock clock, IntSupplier sseClientCountSupplier) {
+        this(clock, sseClientCountSupplier, eventBus::droppedEventCount);
+        fanout.subscribe(this::onAnyEvent);
         eventBus.subscribe(CollectorTickStarted.class, this::onTickStarted);
         eventBus.subscribe(CollectorTickCompleted.class, this::onTickCompleted);
         eventBus.subscribe(AlertRaised.class, this::onAlertRaised);
@@ -41,26 +51,35 @@ public final class DiagnosticsTracker {
         eventBus.subscribe(LocalHappeningsIngested.class, this::onLocalHappeningsIngested);
     }
 
-    private DiagnosticsTracker(Clock clock, IntSupplier sseClientCountSupplier) {
+    private DiagnosticsTracker(Clock clock, IntSupplier sseClientCountSupplier, LongSupplier droppedEventsSupplier) {
         this.clock = clock;
         this.sseClientCountSupplier = sseClientCountSupplier;
+        this.droppedEventsSupplier = droppedEventsSupplier;
         this.trendStore = new TrendStore(clock, 24 * 60 * 60, 5 * 60);
     }
 
     public static DiagnosticsTracker empty() {
-        return new DiagnosticsTracker(Clock.systemUTC(), () -> 0);
+        return new DiagnosticsTracker(Clock.systemUTC(), () -> 0, () -> 0);
     }
 
     public Map<String, Object> metricsSnapshot() {
         Map<String, Object> metrics = new HashMap<>();
         metrics.put("sseClientsConnected", sseClientCountSupplier.getAsInt());
         metrics.put("eventsEmittedTotal", eventsEmittedTotal.longValue());
+        metrics.put("eventBytesEmittedTotal", eventBytesEmittedTotal.longValue());
+        metrics.put("eventsDroppedTotal", droppedEventsSupplier.getAsLong());
         metrics.put("recentEventsPerMinute", recentEventsPerMinute());
         metrics.put("collectors", collectorsSnapshot());
         metrics.put("newsSources", newsSourcesSnapshot());
+        metrics.put("startupTimingsMillis", new HashMap<>(startupTimingsMillis));
         return metrics;
     }
 
+    /** Records how long a startup phase (for example restoring the event store) took. */
+    public void recordStartupTiming(String phase, Duration elapsed) {
+        startupTimingsMillis.put(phase, elapsed.toMillis());
+    }
+
     public Map<String, Object> collectorsSnapshot() {
         Map<String, Object> collectors = new HashMap<>();
         for (Map.Entry<String, CollectorStatus> entry : collectorStatuses.entrySet()) {
@@ -81,8 +100,9 @@ public final class DiagnosticsTracker {
         return newsSources;
     }
 
-    private void onAnyEvent(Event event) {
+    private void onAnyEvent(EncodedEvent event) {
         eventsEmittedTotal.increment();
+        eventBytesEmittedTotal.add(event.jsonLine().length);
         Instant now = clock.instant();
         synchronized (recentLock) {
             recentEventTimestamps.addLast(now);
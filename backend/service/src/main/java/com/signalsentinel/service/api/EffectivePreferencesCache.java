@@ -0,0 +1,97 @@
+package com.signalsentinel.service.api;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Each signed-in user's effective signal filter (validated news source ids and ZIPs, with catalog defaults applied),
+ * built once from their stored preferences and reused until {@link #invalidate(String)} is called for that user.
+ * Least recently used views are evicted beyond {@code maxEntries}. Views are built outside the lock; an invalidation
+ * bumps a generation so a build that started before it is returned to its caller but not cached.
+ */
+final class EffectivePreferencesCache {
+    static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, EffectivePreferences> views = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    EffectivePreferencesCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    EffectivePreferencesCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    EffectivePreferences get(String userId, Function<String, EffectivePreferences> build) {
+        long observedGeneration;
+        lock.lock();
+        try {
+            EffectivePreferences cached = views.get(userId);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            observedGeneration = generation.get();
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        EffectivePreferences built = build.apply(userId);
+        lock.lock();
+        try {
+            if (generation.get() == observedGeneration) {
+                views.put(userId, built);
+                if (views.size() > maxEntries) {
+                    views.remove(views.keySet().iterator().next());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return built;
+    }
+
+    void invalidate(String userId) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            views.remove(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Map<String, Object> metricsSnapshot() {
+        int size;
+        lock.lock();
+        try {
+            size = views.size();
+        } finally {
+            lock.unlock();
+        }
+        return Map.of("entries", size, "hits", hits.longValue(), "misses", misses.longValue());
+    }
+
+    /** Immutable, insertion-ordered sets; safe to share between requests. */
+    record EffectivePreferences(Set<String> newsSourceIds, Set<String> zipCodes) {
+        EffectivePreferences {
+            newsSourceIds = Collections.unmodifiableSet(new LinkedHashSet<>(newsSourceIds));
+            zipCodes = Collections.unmodifiableSet(new LinkedHashSet<>(zipCodes));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.signalsentinel.service.api;
+
+import com.signalsentinel.core.util.HashingUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized {@code /api/signals} bodies per audience (effective news sources and ZIPs), valid for one store version.
+ * Anonymous callers all share the default audience, so after the first request per version they are served a copy
+ * of cached bytes with no filtering, enrichment or JSON work. The gzip form is produced on first use and kept with
+ * the entry. Least recently used audiences are evicted beyond {@code maxEntries}.
+ */
+final class SignalSnapshotCache {
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Audience, Snapshot> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    SignalSnapshotCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    Snapshot get(Set<String> newsSources, Set<String> zips, long version, Supplier<byte[]> render) {
+        return get(newsSources, zips, version, 0, render);
+    }
+
+    /**
+     * Returns the cached body for the audience at {@code version} and {@code labelGeneration} (the ZIP label state
+     * the body's enrichment was read from), rendering it with {@code render} when the entry is missing or was built
+     * for another version or generation. Rendering happens outside the lock.
+     */
+    Snapshot get(Set<String> newsSources, Set<String> zips, long version, long labelGeneration, Supplier<byte[]> render) {
+        Audience audience = new Audience(Set.copyOf(newsSources), Set.copyOf(zips));
+        Snapshot cached;
+        lock.lock();
+        try {
+            cached = entries.get(audience);
+        } finally {
+            lock.unlock();
+        }
+        if (cached != null && cached.version() == version && cached.labelGeneration() == labelGeneration) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        Snapshot rendered = new Snapshot(
+                version, labelGeneration, etag(audience, version, labelGeneration), render.get());
+        lock.lock();
+        try {
+            Snapshot current = entries.get(audience);
+            // A concurrent render for a newer version or label generation wins.
+            if (current == null || current.version() < version
+                    || (current.version() == version && current.labelGeneration() <= labelGeneration)) {
+                entries.put(audience, rendered);
+                if (entries.size() > maxEntries) {
+                    entries.remove(entries.keySet().iterator().next());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return rendered;
+    }
+
+    Map<String, Object> metricsSnapshot() {
+        int size;
+        lock.lock();
+        try {
+            size = entries.size();
+        } finally {
+            lock.unlock();
+        }
+        return Map.of("entries", size, "hits", hits.longValue(), "misses", misses.longValue());
+    }
+
+    /** Version, label generation and a digest of the sorted audience, so distinct audiences never share a tag. */
+    private static String etag(Audience audience, long version, long labelGeneration) {
+        String canonical = String.join(",", new TreeSet<>(audience.newsSources())) + "|"
+                + String.join(",", new TreeSet<>(audience.zips()));
+        return "\"" + version + "-" + labelGeneration + "-" + HashingUtils.sha256(canonical).substring(0, 32) + "\"";
+    }
+
+    private record Audience(Set<String> newsSources, Set<String> zips) {
+    }
+
+    /** One rendered body. {@link #gzip()} compresses on first call; racing callers may both compress, harmlessly. */
+    static final class Snapshot {
+        private final long version;
+        private final long labelGeneration;
+        private final String etag;
+        private final byte[] json;
+        private volatile byte[] gzip;
+
+        Snapshot(long version, long labelGeneration, String etag, byte[] json) {
+            this.version = version;
+            this.labelGeneration = labelGeneration;
+            this.etag = etag;
+            this.json = json;
+        }
+
+        long version() {
+            return version;
+        }
+
+        long labelGeneration() {
+            return labelGeneration;
+        }
+
+        String etag() {
+            return etag;
+        }
+
+        byte[] json() {
+            return json;
+        }
+
+        byte[] gzip() {
+            byte[] compressed = gzip;
+            if (compressed == null) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+                try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                    out.write(json);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed compressing signals snapshot", e);
+                }
+                compressed = buffer.toByteArray();
+                gzip = compressed;
+            }
+            return compressed;
+        }
+    }
+}
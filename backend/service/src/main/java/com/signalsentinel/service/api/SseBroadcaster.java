@@ -1,18 +1,65 @@
 package com.signalsentinel.service.api;
 
 import com.signalsentinel.core.bus.EventBus;
+import com.signalsentinel.core.events.EnvAqiUpdated;
+import com.signalsentinel.core.events.EnvWeatherUpdated;
 import com.signalsentinel.core.events.Event;
+import com.signalsentinel.core.events.NewsUpdated;
+import com.signalsentinel.service.store.EncodedEvent;
+import com.signalsentinel.service.store.EncodedEventFanout;
 import com.signalsentinel.service.store.EventCodec;
 import com.sun.net.httpserver.HttpExchange;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+/**
+ * Streams events to connected SSE clients. Broadcasting never writes to a socket: each client has a bounded
+ * outbound queue, drained by a short-lived virtual thread started only when frames are waiting, so a slow
+ * connection only ever delays itself. A client whose queue overflows is disconnected; the browser reconnects.
+ *
+ * <p>{@link #handle} registers the client and returns; the open exchange stays in the connection registry until the
+ * client disconnects or {@link #closeAll()} runs. One keepalive sweep, shared by all broadcasters in the process,
+ * queues a keepalive comment only for clients that have written nothing for a full {@link Options#keepaliveInterval()},
+ * so an idle dashboard costs no thread, stack or timer of its own.
+ *
+ * <p>Every frame carries an {@code id:} line. Ids increase by one per broadcast and are seeded from the wall clock
+ * at startup, so they keep increasing across restarts. The most recent frames are kept in a replay buffer: a client
+ * reconnecting with {@code Last-Event-ID} (or a {@code lastEventId} query parameter, for clients that open a fresh
+ * {@code EventSource}) receives only the frames it missed. When the gap is no longer buffered the client gets a
+ * {@code : replay unavailable} comment and should fall back to the snapshot endpoints.
+ *
+ * <p>Clients may narrow the stream with an {@link SseSubscription}. Clients are indexed by the event types they
+ * asked for, so a broadcast only visits the clients that want that type instead of every connected client.
+ *
+ * <p>With a non-zero {@link Options#coalesceWindow()}, a client's drain waits that long after the first queued event,
+ * writes everything that arrived in one flush, and drops state updates superseded within the batch (a later
+ * {@code NewsUpdated} for the same source, or {@code EnvWeatherUpdated}/{@code EnvAqiUpdated} for the same ZIP).
+ */
 public class SseBroadcaster {
+    private static final Logger LOGGER = Logger.getLogger(SseBroadcaster.class.getName());
 
     /**
      * Event types that carry PII (email addresses, auth state) and must not be
@@ -27,17 +74,55 @@ public class SseBroadcaster {
             "PasswordResetFailed"
     );
 
+    private static final byte[] CONNECTED = ": connected\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] KEEPALIVE = ": keepalive\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] REPLAY_UNAVAILABLE = ": replay unavailable\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final ScheduledExecutorService KEEPALIVE_SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("sse-keepalive").factory());
+
+    private final Options options;
     private final List<SseClient> clients = new CopyOnWriteArrayList<>();
+    // Clients without a type filter, and clients per requested type; each client is in exactly one of the two.
+    private final List<SseClient> allTypeClients = new CopyOnWriteArrayList<>();
+    private final Map<String, List<SseClient>> clientsByType = new ConcurrentHashMap<>();
+    private final LongAdder slowClientDisconnects = new LongAdder();
+    private final LongAdder slowWrites = new LongAdder();
+    private final LongAdder resumedClients = new LongAdder();
+    private final LongAdder replayedFrames = new LongAdder();
+    private final LongAdder replayMisses = new LongAdder();
+    private final LongAdder coalescedFrames = new LongAdder();
+    // Guards id assignment, the replay buffer and client registration so a resuming client sees no gap or duplicate.
+    private final ReentrantLock sequenceLock = new ReentrantLock();
+    private final SseReplayBuffer replayBuffer;
+    private long lastEventId = System.currentTimeMillis();
+    // Scheduled while at least one client has connected since the last closeAll(); guarded by sequenceLock.
+    private ScheduledFuture<?> keepaliveTask;
 
     public SseBroadcaster(EventBus eventBus) {
-        EventCodec.subscribeAll(eventBus, this::broadcast);
+        this(new EncodedEventFanout(eventBus));
+    }
+
+    /** Broadcasts frames from a fan-out shared with the other consumers, so each event is serialized once. */
+    public SseBroadcaster(EncodedEventFanout fanout) {
+        this(fanout, Options.defaults());
+    }
+
+    public SseBroadcaster(EncodedEventFanout fanout, Options options) {
+        this.options = options;
+        this.replayBuffer = new SseReplayBuffer(options.replayBufferSize());
+        fanout.subscribe(this::broadcast);
+    }
+
+    public void handle(HttpExchange exchange, boolean authenticated) throws IOException {
+        handle(exchange, authenticated, SseSubscription.ALL);
     }
 
     /**
-     * Registers an SSE client. {@code authenticated} controls whether
-     * restricted (PII-carrying) events are forwarded to this client.
+     * Registers an SSE client, starts its response and returns without waiting for the client to disconnect.
+     * {@code authenticated} controls whether restricted (PII-carrying) events are forwarded to this client, including
+     * frames replayed for a resuming client; {@code subscription} limits the stream to what the client asked for.
      */
-    public void handle(HttpExchange exchange, boolean authenticated) throws IOException {
+    public void handle(HttpExchange exchange, boolean authenticated, SseSubscription subscription) throws IOException {
         if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
             exchange.sendResponseHeaders(405, -1);
             exchange.close();
@@ -47,41 +132,80 @@ public class SseBroadcaster {
         exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
         exchange.getResponseHeaders().set("Cache-Control", "no-cache");
         exchange.getResponseHeaders().set("Connection", "keep-alive");
-        exchange.sendResponseHeaders(200, 0);
-
-        OutputStream out = exchange.getResponseBody();
-        SseClient client = new SseClient(exchange, out, authenticated, Thread.currentThread());
-        clients.add(client);
 
+        SseClient client = new SseClient(exchange, authenticated, subscription, options.clientQueueCapacity());
+        client.offer(Outbound.control(CONNECTED));
+        String resumeFrom = requestedLastEventId(exchange);
+        // Register before the response starts: a caller that sees the headers may publish right away.
+        sequenceLock.lock();
         try {
-            writeRaw(client, ": connected\n\n");
-            while (!Thread.currentThread().isInterrupted()) {
-                Thread.sleep(15_000);
-                writeRaw(client, ": keepalive\n\n");
+            if (resumeFrom != null) {
+                replayInto(client, resumeFrom);
+            }
+            addClient(client);
+            if (keepaliveTask == null) {
+                long intervalMillis = options.keepaliveInterval().toMillis();
+                keepaliveTask = KEEPALIVE_SCHEDULER.scheduleAtFixedRate(
+                        this::sweepKeepalives, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
             }
-        } catch (IOException ignored) {
-            // client disconnected
-        } catch (InterruptedException ignored) {
-            Thread.currentThread().interrupt();
         } finally {
+            sequenceLock.unlock();
+        }
+        try {
+            exchange.sendResponseHeaders(200, 0);
+        } catch (IOException e) {
+            // client disconnected
             removeClient(client);
+            return;
         }
+        client.start(exchange.getResponseBody());
+        scheduleDrain(client);
     }
 
     public void broadcast(Event event) {
-        String payload = "event: " + event.type() + "\n" +
-                "data: " + EventCodec.toSseData(event) + "\n\n";
+        broadcast(EventCodec.encode(event));
+    }
 
+    /**
+     * Assigns the next event id, records the frame for replay and queues it for every client subscribed to it; the
+     * same bytes are shared by all of them. Never blocks on a client: one whose queue is full is disconnected as a
+     * slow consumer.
+     */
+    public void broadcast(EncodedEvent event) {
         boolean isRestricted = RESTRICTED_EVENT_TYPES.contains(event.type());
+        List<SseClient> slowClients = new ArrayList<>(0);
 
-        for (SseClient client : clients) {
-            if (isRestricted && !client.authenticated()) {
+        sequenceLock.lock();
+        try {
+            long id = ++lastEventId;
+            byte[] bytes = withId(id, event.sseFrame());
+            replayBuffer.add(new SseReplayBuffer.Frame(id, event.event(), isRestricted, bytes));
+            Outbound payload = outbound(bytes, event.event());
+            offerToAll(allTypeClients, event.event(), isRestricted, payload, slowClients);
+            offerToAll(clientsByType.getOrDefault(event.type(), List.of()), event.event(), isRestricted, payload, slowClients);
+        } finally {
+            sequenceLock.unlock();
+        }
+
+        for (SseClient client : slowClients) {
+            slowClientDisconnects.increment();
+            LOGGER.warning("Disconnecting slow SSE client " + client.remoteAddress() + ": "
+                    + options.clientQueueCapacity() + " frames queued");
+            removeClient(client);
+        }
+    }
+
+    private void offerToAll(
+            List<SseClient> candidates, Event event, boolean isRestricted, Outbound payload, List<SseClient> slowClients
+    ) {
+        for (SseClient client : candidates) {
+            if (!client.wants(event, isRestricted)) {
                 continue;
             }
-            try {
-                writeRaw(client, payload);
-            } catch (Exception e) {
-                removeClient(client);
+            if (client.offer(payload)) {
+                scheduleDrain(client);
+            } else {
+                slowClients.add(client);
             }
         }
     }
@@ -90,34 +214,394 @@ public class SseBroadcaster {
         return clients.size();
     }
 
+    /** Connection health for {@code /api/metrics}: deepest client queue and slow-consumer counters. */
+    public Map<String, Object> metricsSnapshot() {
+        int deepestQueue = 0;
+        for (SseClient client : clients) {
+            deepestQueue = Math.max(deepestQueue, client.queuedFrames());
+        }
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("clientsConnected", clients.size());
+        metrics.put("deepestClientQueue", deepestQueue);
+        metrics.put("slowClientDisconnects", slowClientDisconnects.longValue());
+        metrics.put("slowWrites", slowWrites.longValue());
+        metrics.put("resumedClients", resumedClients.longValue());
+        metrics.put("replayedFrames", replayedFrames.longValue());
+        metrics.put("replayMisses", replayMisses.longValue());
+        metrics.put("coalescedFrames", coalescedFrames.longValue());
+        return metrics;
+    }
+
     /**
-     * Interrupts all active SSE handler threads so they exit their keepalive sleep promptly.
+     * Closes every open SSE connection and stops this broadcaster's keepalive sweep until the next client connects.
      * Call this before stopping the HTTP server to avoid waiting out the full stop grace period.
      */
     public void closeAll() {
+        sequenceLock.lock();
+        try {
+            if (keepaliveTask != null) {
+                keepaliveTask.cancel(false);
+                keepaliveTask = null;
+            }
+        } finally {
+            sequenceLock.unlock();
+        }
         for (SseClient client : clients) {
-            client.handlerThread().interrupt();
+            removeClient(client);
         }
     }
 
-    private void writeRaw(SseClient client, String data) throws IOException {
-        synchronized (client) {
-            client.outputStream().write(data.getBytes(StandardCharsets.UTF_8));
-            client.outputStream().flush();
+    /** Queues a keepalive for every client that has written nothing for a full keepalive interval. */
+    void sweepKeepalives() {
+        long idleNanos = options.keepaliveInterval().toNanos();
+        long now = System.nanoTime();
+        for (SseClient client : clients) {
+            if (now - client.lastWriteNanos() >= idleNanos && client.offer(Outbound.control(KEEPALIVE))) {
+                scheduleDrain(client);
+            }
+        }
+    }
+
+    /** Starts a drain for the client unless one is already running or its response has not started yet. */
+    private void scheduleDrain(SseClient client) {
+        if (client.isStarted() && !client.isClosed() && client.beginDrain()) {
+            Thread.ofVirtual().name("sse-drain").start(() -> drain(client));
+        }
+    }
+
+    /**
+     * Writes everything queued for the client in one flush and exits once the queue is empty. When coalescing and
+     * the next frame is an event, the drain first waits out the window so the rest of a burst joins the same write;
+     * a connect or keepalive at the head of the queue goes out straight away.
+     */
+    private void drain(SseClient client) {
+        client.drainThread(Thread.currentThread());
+        long slowWriteNanos = options.slowWriteThreshold().toNanos();
+        long coalesceNanos = options.coalesceWindow().toNanos();
+        List<Outbound> batch = new ArrayList<>();
+        try {
+            if (coalesceNanos > 0 && client.nextIsEvent()) {
+                TimeUnit.NANOSECONDS.sleep(coalesceNanos);
+            }
+            while (!client.isClosed()) {
+                for (Outbound next = client.poll(); next != null; next = client.poll()) {
+                    batch.add(next);
+                }
+                if (batch.isEmpty()) {
+                    break;
+                }
+                if (coalesceNanos > 0) {
+                    coalescedFrames.add(dropSuperseded(batch));
+                }
+
+                long started = System.nanoTime();
+                OutputStream out = client.out();
+                for (Outbound frame : batch) {
+                    out.write(frame.bytes());
+                }
+                out.flush();
+                client.markWritten();
+                batch.clear();
+                if (System.nanoTime() - started > slowWriteNanos) {
+                    slowWrites.increment();
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // client disconnected, or was closed while the drain waited or wrote
+            removeClient(client);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "SSE drain failed for " + client.remoteAddress(), e);
+            removeClient(client);
+        } finally {
+            client.drainThread(null);
+            client.endDrain();
+        }
+        // A frame queued after the last poll but before endDrain() found the drain still running; pick it up.
+        if (client.hasQueuedFrames()) {
+            scheduleDrain(client);
+        }
+    }
+
+    /** Removes frames followed by a later frame with the same supersede key; returns how many were removed. */
+    static int dropSuperseded(List<Outbound> batch) {
+        Set<String> newerKeys = new HashSet<>();
+        int dropped = 0;
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            String key = batch.get(i).supersedeKey();
+            if (key != null && !newerKeys.add(key)) {
+                batch.set(i, null);
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            batch.removeIf(frame -> frame == null);
+        }
+        return dropped;
+    }
+
+    /**
+     * Key under which a later event fully replaces an earlier one: the latest news count per source and the latest
+     * weather or air-quality reading per ZIP. Events that are deltas or alerts are never superseded.
+     */
+    static String supersedeKey(Event event) {
+        return switch (event) {
+            case NewsUpdated news -> "NewsUpdated/" + news.source();
+            case EnvWeatherUpdated weather -> "EnvWeatherUpdated/" + weather.zip();
+            case EnvAqiUpdated aqi -> "EnvAqiUpdated/" + aqi.zip();
+            default -> null;
+        };
+    }
+
+    private Outbound outbound(byte[] bytes, Event event) {
+        return new Outbound(bytes, options.coalesceWindow().isZero() ? null : supersedeKey(event));
+    }
+
+    /**
+     * Queues the frames a resuming client missed, or a {@code replay unavailable} comment when its last id is not
+     * covered by the buffer. Called with {@link #sequenceLock} held, before the client is registered.
+     */
+    private void replayInto(SseClient client, String resumeFrom) {
+        long lastSeen;
+        try {
+            lastSeen = Long.parseLong(resumeFrom.trim());
+        } catch (NumberFormatException e) {
+            lastSeen = Long.MIN_VALUE;
+        }
+        if (lastSeen == lastEventId) {
+            resumedClients.increment();
+            return;
+        }
+        // Leave room for CONNECTED and for frames broadcast while the replay is being written.
+        List<SseReplayBuffer.Frame> missed = replayBuffer.after(lastSeen, options.clientQueueCapacity() / 2);
+        if (missed == null) {
+            replayMisses.increment();
+            client.offer(Outbound.control(REPLAY_UNAVAILABLE));
+            return;
+        }
+        resumedClients.increment();
+        for (SseReplayBuffer.Frame frame : missed) {
+            if (!client.wants(frame.event(), frame.restricted())) {
+                continue;
+            }
+            client.offer(outbound(frame.bytes(), frame.event()));
+            replayedFrames.increment();
+        }
+    }
+
+    /** The id the client last saw: the standard header on an automatic reconnect, else the query parameter. */
+    private static String requestedLastEventId(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+        if (header != null && !header.isBlank()) {
+            return header;
+        }
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String entry : query.split("&")) {
+            String[] pair = entry.split("=", 2);
+            if (pair.length == 2 && pair[0].equals("lastEventId") && !pair[1].isBlank()) {
+                return URLDecoder.decode(pair[1], StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static byte[] withId(long id, byte[] frame) {
+        byte[] prefix = ("id: " + id + "\n").getBytes(StandardCharsets.UTF_8);
+        byte[] framed = new byte[prefix.length + frame.length];
+        System.arraycopy(prefix, 0, framed, 0, prefix.length);
+        System.arraycopy(frame, 0, framed, prefix.length, frame.length);
+        return framed;
+    }
+
+    private void addClient(SseClient client) {
+        clients.add(client);
+        if (client.subscription().acceptsAllTypes()) {
+            allTypeClients.add(client);
+        } else {
+            for (String type : client.subscription().types()) {
+                clientsByType.compute(type, (ignored, subscribers) -> {
+                    List<SseClient> next = subscribers == null ? new CopyOnWriteArrayList<>() : subscribers;
+                    next.add(client);
+                    return next;
+                });
+            }
         }
     }
 
     private void removeClient(SseClient client) {
-        clients.remove(client);
-        client.handlerThread().interrupt();
-        client.close();
+        if (clients.remove(client)) {
+            allTypeClients.remove(client);
+            // Drop emptied entries so arbitrary requested type names cannot accumulate.
+            for (String type : client.subscription().types()) {
+                clientsByType.computeIfPresent(type, (ignored, subscribers) -> {
+                    subscribers.remove(client);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+            }
+            client.close();
+        }
+    }
+
+    /**
+     * Tuning for SSE delivery. {@code clientQueueCapacity} bounds the frames buffered per client before it is
+     * treated as a slow consumer; writes (including the flush) slower than {@code slowWriteThreshold} are counted.
+     * {@code replayBufferSize} is how many recent frames are kept for {@code Last-Event-ID} resume; 0 disables it.
+     * {@code coalesceWindow} batches and collapses frames per client; {@link Duration#ZERO} writes them as they come.
+     */
+    public record Options(
+            int clientQueueCapacity,
+            Duration slowWriteThreshold,
+            Duration keepaliveInterval,
+            int replayBufferSize,
+            Duration coalesceWindow
+    ) {
+        public Options {
+            if (clientQueueCapacity <= 0) {
+                throw new IllegalArgumentException("clientQueueCapacity must be positive");
+            }
+            if (slowWriteThreshold == null || slowWriteThreshold.isNegative()) {
+                throw new IllegalArgumentException("slowWriteThreshold must not be negative");
+            }
+            if (keepaliveInterval == null || keepaliveInterval.isNegative() || keepaliveInterval.isZero()) {
+                throw new IllegalArgumentException("keepaliveInterval must be positive");
+            }
+            if (replayBufferSize < 0) {
+                throw new IllegalArgumentException("replayBufferSize must not be negative");
+            }
+            if (coalesceWindow == null || coalesceWindow.isNegative()) {
+                throw new IllegalArgumentException("coalesceWindow must not be negative");
+            }
+        }
+
+        public static Options defaults() {
+            return new Options(1_024, Duration.ofSeconds(2), Duration.ofSeconds(15), 512, Duration.ZERO);
+        }
+
+        public Options withClientQueueCapacity(int capacity) {
+            return new Options(capacity, slowWriteThreshold, keepaliveInterval, replayBufferSize, coalesceWindow);
+        }
+
+        public Options withKeepaliveInterval(Duration interval) {
+            return new Options(clientQueueCapacity, slowWriteThreshold, interval, replayBufferSize, coalesceWindow);
+        }
+
+        public Options withReplayBufferSize(int size) {
+            return new Options(clientQueueCapacity, slowWriteThreshold, keepaliveInterval, size, coalesceWindow);
+        }
+
+        public Options withCoalesceWindow(Duration window) {
+            return new Options(clientQueueCapacity, slowWriteThreshold, keepaliveInterval, replayBufferSize, window);
+        }
+    }
+
+    /** A queued frame; {@code supersedeKey} is set only when coalescing is enabled and the event is a state update. */
+    /** A queued frame; {@code control} frames (connect, keepalive, replay notices) never wait out the coalescing window. */
+    record Outbound(byte[] bytes, String supersedeKey, boolean control) {
+        Outbound(byte[] bytes, String supersedeKey) {
+            this(bytes, supersedeKey, false);
+        }
+
+        static Outbound control(byte[] bytes) {
+            return new Outbound(bytes, null, true);
+        }
     }
 
-    private record SseClient(HttpExchange exchange, OutputStream outputStream, boolean authenticated, Thread handlerThread) {
-        private void close() {
-            try {
-                outputStream.close();
-            } catch (IOException ignored) {
+    private static final class SseClient {
+        private final HttpExchange exchange;
+        private final boolean authenticated;
+        private final SseSubscription subscription;
+        private final BlockingQueue<Outbound> outbound;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile OutputStream out;
+        private volatile Thread drainThread;
+        private volatile long lastWriteNanos = System.nanoTime();
+        private volatile boolean closed;
+
+        SseClient(HttpExchange exchange, boolean authenticated, SseSubscription subscription, int queueCapacity) {
+            this.exchange = exchange;
+            this.authenticated = authenticated;
+            this.subscription = subscription;
+            this.outbound = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        /** Marks the response as started; frames queued before this are written by the first drain. */
+        void start(OutputStream responseBody) {
+            this.out = responseBody;
+        }
+
+        boolean isStarted() {
+            return out != null;
+        }
+
+        OutputStream out() {
+            return out;
+        }
+
+        boolean beginDrain() {
+            return draining.compareAndSet(false, true);
+        }
+
+        void endDrain() {
+            draining.set(false);
+        }
+
+        void drainThread(Thread thread) {
+            this.drainThread = thread;
+        }
+
+        long lastWriteNanos() {
+            return lastWriteNanos;
+        }
+
+        void markWritten() {
+            lastWriteNanos = System.nanoTime();
+        }
+
+        SseSubscription subscription() {
+            return subscription;
+        }
+
+        boolean wants(Event event, boolean restricted) {
+            return !closed && (authenticated || !restricted) && subscription.accepts(event);
+        }
+
+        Object remoteAddress() {
+            return exchange.getRemoteAddress();
+        }
+
+        boolean offer(Outbound frame) {
+            return !closed && outbound.offer(frame);
+        }
+
+        Outbound poll() {
+            return outbound.poll();
+        }
+
+        int queuedFrames() {
+            return outbound.size();
+        }
+
+        boolean hasQueuedFrames() {
+            return !outbound.isEmpty();
+        }
+
+        boolean nextIsEvent() {
+            Outbound next = outbound.peek();
+            return next != null && !next.control();
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        /** Marks the client closed, unblocks a drain that is waiting out the window or stuck writing, and ends the response. */
+        void close() {
+            closed = true;
+            Thread thread = drainThread;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
             }
             exchange.close();
         }
@@ -0,0 +1,64 @@
+package com.signalsentinel.service.api;
+
+import com.signalsentinel.core.events.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size ring of the most recently broadcast SSE frames, keyed by their consecutive event ids. Not
+ * thread-safe: {@link SseBroadcaster} guards it with the same lock that assigns ids.
+ */
+final class SseReplayBuffer {
+    private final Frame[] ring;
+    private int head;
+    private int size;
+
+    SseReplayBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        this.ring = new Frame[capacity];
+    }
+
+    /** Appends a frame, evicting the oldest once full. Ids must be added in increasing, consecutive order. */
+    void add(Frame frame) {
+        if (ring.length == 0) {
+            return;
+        }
+        ring[(head + size) % ring.length] = frame;
+        if (size < ring.length) {
+            size++;
+        } else {
+            head = (head + 1) % ring.length;
+        }
+    }
+
+    /**
+     * Returns the buffered frames with an id greater than {@code lastId}, oldest first, or {@code null} when the
+     * gap reaches back past the oldest buffered frame (or beyond {@code maxFrames}) and cannot be replayed.
+     */
+    List<Frame> after(long lastId, int maxFrames) {
+        if (size == 0) {
+            return null;
+        }
+        long oldestId = ring[head].id();
+        long newestId = ring[(head + size - 1) % ring.length].id();
+        if (lastId < oldestId - 1 || lastId > newestId || newestId - lastId > maxFrames) {
+            return null;
+        }
+        List<Frame> frames = new ArrayList<>((int) (newestId - lastId));
+        for (int offset = (int) (lastId - oldestId + 1); offset < size; offset++) {
+            frames.add(ring[(head + offset) % ring.length]);
+        }
+        return frames;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** A broadcast frame, already carrying its {@code id:} line, with the event it was encoded from. */
+    record Frame(long id, Event event, boolean restricted, byte[] bytes) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.signalsentinel.service.api;
+
+import com.signalsentinel.core.events.EnvAqiUpdated;
+import com.signalsentinel.core.events.EnvWeatherUpdated;
+import com.signalsentinel.core.events.Event;
+import com.signalsentinel.core.events.NewsItemsIngested;
+import com.signalsentinel.core.events.NewsUpdated;
+import com.signalsentinel.service.auth.UserPreferences;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * What one SSE client asked to receive. An empty set means "no restriction" for that dimension: {@code types}
+ * filters on {@link Event#type()}, {@code sources} applies to news events and {@code zips} to environment events.
+ * Other event types are only subject to the type filter.
+ */
+public record SseSubscription(Set<String> types, Set<String> sources, Set<String> zips) {
+    public static final SseSubscription ALL = new SseSubscription(Set.of(), Set.of(), Set.of());
+
+    public SseSubscription {
+        types = Set.copyOf(types);
+        sources = Set.copyOf(sources);
+        zips = Set.copyOf(zips);
+    }
+
+    /**
+     * Builds a subscription from the {@code /api/stream} query: comma-separated {@code types}, {@code sources} and
+     * {@code zips}. With {@code preferences=true} and a signed-in user, missing {@code sources} and {@code zips}
+     * default to the user's saved news sources and ZIP codes.
+     */
+    public static SseSubscription fromQuery(Map<String, String> query, UserPreferences preferences) {
+        Set<String> sources = csv(query.get("sources"));
+        Set<String> zips = csv(query.get("zips"));
+        if (preferences != null && Boolean.parseBoolean(query.get("preferences"))) {
+            if (!query.containsKey("sources")) {
+                sources = preferences.newsSourceIds() == null ? Set.of() : Set.copyOf(preferences.newsSourceIds());
+            }
+            if (!query.containsKey("zips")) {
+                zips = preferences.zipCodes() == null ? Set.of() : Set.copyOf(preferences.zipCodes());
+            }
+        }
+        return new SseSubscription(csv(query.get("types")), sources, zips);
+    }
+
+    public boolean acceptsAllTypes() {
+        return types.isEmpty();
+    }
+
+    public boolean accepts(Event event) {
+        if (!types.isEmpty() && !types.contains(event.type())) {
+            return false;
+        }
+        return switch (event) {
+            case NewsUpdated news -> matches(sources, news.source());
+            case NewsItemsIngested news -> matches(sources, news.sourceId());
+            case EnvWeatherUpdated weather -> matches(zips, weather.zip());
+            case EnvAqiUpdated aqi -> matches(zips, aqi.zip());
+            default -> true;
+        };
+    }
+
+    private static boolean matches(Set<String> allowed, String key) {
+        return allowed.isEmpty() || allowed.contains(key);
+    }
+
+    private static Set<String> csv(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(raw.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -25,13 +25,16 @@ public final class AuthMiddleware {
                 .map(cookie -> cookie.substring((AUTH_COOKIE_NAME + "=").length()));
     }
 
+    /**
+     * The user behind the request's auth cookie. Nothing is kept on the exchange: the JDK server backs exchange
+     * attributes with the route's shared context, so handlers resolve once and pass the result down instead.
+     */
+    public static Optional<AuthUser> currentUser(HttpExchange exchange, AuthService authService) {
+        return readAuthCookie(exchange).flatMap(authService::userForToken);
+    }
+
     public static Optional<AuthUser> requireUser(HttpExchange exchange, AuthService authService) throws IOException {
-        Optional<String> token = readAuthCookie(exchange);
-        if (token.isEmpty()) {
-            writeUnauthorized(exchange);
-            return Optional.empty();
-        }
-        Optional<AuthUser> user = authService.userForToken(token.get());
+        Optional<AuthUser> user = currentUser(exchange, authService);
         if (user.isEmpty()) {
             writeUnauthorized(exchange);
             return Optional.empty();
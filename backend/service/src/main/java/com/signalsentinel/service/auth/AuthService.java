@@ -15,9 +15,12 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public final class AuthService {
     private static final Set<String> ALLOWED_THEME_MODES = Set.of("light", "dark");
@@ -35,6 +38,8 @@ public final class AuthService {
     private final SimpleRateLimiter forgotByIpLimiter;
     private final SimpleRateLimiter forgotByEmailLimiter;
     private final Duration resetTokenTtl;
+    private final VerifiedTokenCache tokenCache;
+    private final List<Consumer<String>> preferencesListeners = new CopyOnWriteArrayList<>();
 
     public AuthService(
             UserStore userStore,
@@ -61,6 +66,8 @@ public final class AuthService {
         this.forgotByIpLimiter = new SimpleRateLimiter(clock, 10, 60);
         this.forgotByEmailLimiter = new SimpleRateLimiter(clock, 5, 60);
         this.resetTokenTtl = Duration.ofMinutes(15);
+        this.tokenCache = new VerifiedTokenCache(
+                clock, VerifiedTokenCache.DEFAULT_MAX_ENTRIES, VerifiedTokenCache.DEFAULT_MAX_AGE);
     }
 
     public AuthResult signup(String email, String password) {
@@ -98,13 +105,56 @@ public final class AuthService {
         Instant now = clock.instant();
         AuthUser updated = user.withLastLoginAt(now);
         userStore.save(updated);
+        tokenCache.invalidateUser(updated.id());
         eventBus.publish(new LoginSucceeded(now, updated.id(), updated.email()));
         return new AuthResult(updated.id(), updated.email(), jwtService.issue(updated.id(), updated.email()));
     }
 
+    /**
+     * Resolves the user behind an auth token. Verified tokens are cached (see {@link VerifiedTokenCache}), so repeat
+     * requests skip the HMAC check and the user lookup; deleting the account or resetting its password drops them.
+     */
     public Optional<AuthUser> userForToken(String token) {
-        return jwtService.verify(token)
-                .flatMap(claims -> userStore.findById(claims.userId()));
+        Optional<AuthUser> cached = tokenCache.get(token);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        long generation = tokenCache.generation();
+        Optional<JwtService.Claims> claims = jwtService.verify(token);
+        if (claims.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<AuthUser> user = userStore.findById(claims.get().userId());
+        user.ifPresent(value -> tokenCache.put(token, value, claims.get().expiresAt(), generation));
+        return user;
+    }
+
+    /** Forgets the cached verification of {@code token}; the cookie itself is cleared by the caller. */
+    public void logout(String token) {
+        tokenCache.invalidateToken(token);
+    }
+
+    /**
+     * Registers a callback invoked with the user id after that user's stored preferences change or the account is
+     * deleted; used to drop views derived from the preferences.
+     */
+    public void onPreferencesChanged(Consumer<String> listener) {
+        preferencesListeners.add(listener);
+    }
+
+    public Map<String, Object> tokenCacheMetrics() {
+        return tokenCache.metricsSnapshot();
+    }
+
+    public Map<String, Object> hashingMetrics() {
+        return passwordHasher.metricsSnapshot();
+    }
+
+    public Map<String, Object> rateLimitMetrics() {
+        return Map.of(
+                "forgotPasswordByIp", forgotByIpLimiter.metricsSnapshot(),
+                "forgotPasswordByEmail", forgotByEmailLimiter.metricsSnapshot()
+        );
     }
 
     public UserPreferences getPreferences(String userId) {
@@ -137,7 +187,9 @@ public final class AuthService {
                 normalizeChoice(incoming.themeMode(), ALLOWED_THEME_MODES, UserPreferences.DEFAULT_THEME_MODE),
                 normalizeChoice(incoming.accent(), ALLOWED_ACCENTS, UserPreferences.DEFAULT_ACCENT)
         );
-        return preferencesStore.putForUser(validated);
+        UserPreferences saved = preferencesStore.putForUser(validated);
+        notifyPreferencesChanged(userId);
+        return saved;
     }
 
     private static String normalizeChoice(String rawValue, Set<String> allowed, String fallback) {
@@ -198,6 +250,7 @@ public final class AuthService {
         AuthUser user = userStore.findById(value.userId())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid reset token"));
         userStore.save(user.withPasswordHash(passwordHasher.hash(newPassword)));
+        tokenCache.invalidateUser(user.id());
         passwordResetStore.replace(value.markUsed());
         eventBus.publish(new PasswordResetSucceeded(clock.instant(), user.id(), user.email()));
     }
@@ -210,11 +263,19 @@ public final class AuthService {
         if (!deleted) {
             return false;
         }
+        tokenCache.invalidateUser(userId);
         preferencesStore.deleteForUser(userId);
         passwordResetStore.deleteForUser(userId);
+        notifyPreferencesChanged(userId);
         return true;
     }
 
+    private void notifyPreferencesChanged(String userId) {
+        for (Consumer<String> listener : preferencesListeners) {
+            listener.accept(userId);
+        }
+    }
+
     private static String normalizeEmail(String value) {
         if (value == null) {
             throw new IllegalArgumentException("Email is required");
@@ -0,0 +1,29 @@
+package com.signalsentinel.service.auth;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/** Selects the {@link RecordRepository} implementation used by the auth stores. */
+public enum AuthStoreBackend {
+    /** Re-read and rewrite the whole JSON list file on every call ({@link FileRecordRepository}). */
+    FILE,
+    /** Keep records indexed in memory and journal changes next to the list file ({@link JournaledRecordRepository}). */
+    JOURNAL;
+
+    public static AuthStoreBackend parse(String raw) {
+        return AuthStoreBackend.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+    }
+
+    <T> RecordRepository<T> open(
+            Path path, TypeReference<List<T>> type, Function<T, String> idOf, Function<T, String> secondaryKeyOf
+    ) {
+        return switch (this) {
+            case FILE -> new FileRecordRepository<>(path, type, idOf, secondaryKeyOf);
+            case JOURNAL -> new JournaledRecordRepository<>(path, type, idOf, secondaryKeyOf);
+        };
+    }
+}
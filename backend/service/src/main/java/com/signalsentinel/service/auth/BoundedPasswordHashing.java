@@ -0,0 +1,122 @@
+package com.signalsentinel.service.auth;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs another {@link PasswordHashing} on a fixed pool of platform threads. At most {@code concurrency} hashes run at
+ * once and at most {@code maxQueued} wait; beyond that callers get a {@link HashingOverloadedException} instead of
+ * queueing. HTTP handlers (virtual threads) only park while their hash runs, so a signup or login burst cannot pin
+ * every carrier thread in native Argon2 and starve SSE and signal reads.
+ */
+public final class BoundedPasswordHashing implements PasswordHashing {
+    private final PasswordHashing delegate;
+    private final int concurrency;
+    private final int maxQueued;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitMicros = new LongAdder();
+    private final LongAdder hashMicros = new LongAdder();
+    private final AtomicLong maxQueueWaitMicros = new AtomicLong();
+
+    public BoundedPasswordHashing(PasswordHashing delegate, int concurrency, int maxQueued) {
+        if (concurrency <= 0 || maxQueued <= 0) {
+            throw new IllegalArgumentException("concurrency and maxQueued must be positive");
+        }
+        this.delegate = delegate;
+        this.concurrency = concurrency;
+        this.maxQueued = maxQueued;
+        this.executor = new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued),
+                Thread.ofPlatform().name("password-hash-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public String hash(String password) {
+        return run(() -> delegate.hash(password));
+    }
+
+    @Override
+    public boolean verify(String encodedHash, String password) {
+        return run(() -> delegate.verify(encodedHash, password));
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        long done = completed.longValue();
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("concurrency", concurrency);
+        metrics.put("maxQueued", maxQueued);
+        metrics.put("active", executor.getActiveCount());
+        metrics.put("queued", executor.getQueue().size());
+        metrics.put("completed", done);
+        metrics.put("rejected", rejected.longValue());
+        metrics.put("avgQueueWaitMicros", done == 0 ? 0 : queueWaitMicros.longValue() / done);
+        metrics.put("maxQueueWaitMicros", maxQueueWaitMicros.get());
+        metrics.put("avgHashMicros", done == 0 ? 0 : hashMicros.longValue() / done);
+        return metrics;
+    }
+
+    /** Stops the pool threads; hashes already queued still run. */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                long waited = TimeUnit.NANOSECONDS.toMicros(started - submitted);
+                queueWaitMicros.add(waited);
+                maxQueueWaitMicros.accumulateAndGet(waited, Math::max);
+                try {
+                    return task.call();
+                } finally {
+                    hashMicros.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException full) {
+            throw overloaded();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private HashingOverloadedException overloaded() {
+        rejected.increment();
+        long done = completed.longValue();
+        long avgHashMillis = done == 0 ? 1_000 : Math.max(1, hashMicros.longValue() / done / 1_000);
+        // Time for the pool to work through a full queue, rounded up to whole seconds.
+        long drainMillis = avgHashMillis * (maxQueued + concurrency) / concurrency;
+        return new HashingOverloadedException(Math.max(1, (drainMillis + 999) / 1_000));
+    }
+}
@@ -0,0 +1,114 @@
+package com.signalsentinel.service.auth;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Repository that re-reads its JSON list file on every call and rewrites it on every change. Cheap to reason about
+ * and tolerant of the file being edited by hand between calls, but every lookup costs a full parse.
+ */
+final class FileRecordRepository<T> implements RecordRepository<T> {
+    private final Path path;
+    private final TypeReference<List<T>> type;
+    private final Function<T, String> idOf;
+    private final Function<T, String> secondaryKeyOf;
+    private final Object lock = new Object();
+
+    FileRecordRepository(
+            Path path, TypeReference<List<T>> type, Function<T, String> idOf, Function<T, String> secondaryKeyOf
+    ) {
+        this.path = path;
+        this.type = type;
+        this.idOf = idOf;
+        this.secondaryKeyOf = secondaryKeyOf;
+        // Switched back from the journal backend: fold its leftover journal into the list file first.
+        JournaledRecordRepository.foldLeftoverJournal(path, type, idOf, secondaryKeyOf);
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        synchronized (lock) {
+            return load().stream()
+                    .filter(value -> idOf.apply(value).equals(id))
+                    .findFirst();
+        }
+    }
+
+    @Override
+    public Optional<T> findBySecondaryKey(String key) {
+        if (secondaryKeyOf == null) {
+            return Optional.empty();
+        }
+        synchronized (lock) {
+            return load().stream()
+                    .filter(value -> secondaryKeyOf.apply(value).equals(key))
+                    .findFirst();
+        }
+    }
+
+    @Override
+    public List<T> all() {
+        synchronized (lock) {
+            return List.copyOf(load());
+        }
+    }
+
+    @Override
+    public void save(T value) {
+        synchronized (lock) {
+            List<T> values = load();
+            int index = indexOf(values, idOf.apply(value));
+            if (index >= 0) {
+                values.set(index, value);
+            } else {
+                values.add(value);
+            }
+            FileStoreSupport.writeListAtomically(path, values);
+        }
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        synchronized (lock) {
+            List<T> values = load();
+            int index = indexOf(values, id);
+            if (index < 0) {
+                return false;
+            }
+            values.remove(index);
+            FileStoreSupport.writeListAtomically(path, values);
+            return true;
+        }
+    }
+
+    @Override
+    public int deleteWhere(Predicate<T> match) {
+        synchronized (lock) {
+            List<T> values = load();
+            int before = values.size();
+            values.removeIf(match);
+            if (values.size() != before) {
+                FileStoreSupport.writeListAtomically(path, values);
+            }
+            return before - values.size();
+        }
+    }
+
+    private int indexOf(List<T> values, String id) {
+        for (int i = 0; i < values.size(); i++) {
+            if (idOf.apply(values.get(i)).equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private List<T> load() {
+        return FileStoreSupport.readList(path, type);
+    }
+}
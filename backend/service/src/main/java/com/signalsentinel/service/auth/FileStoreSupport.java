@@ -2,6 +2,7 @@ package com.signalsentinel.service.auth;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.signalsentinel.core.util.JsonUtils;
+import com.signalsentinel.service.store.DurableFiles;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -39,4 +40,16 @@ final class FileStoreSupport {
             throw new IllegalStateException("Unable to write file store " + path, e);
         }
     }
+
+    /**
+     * Like {@link #writeListAtomically} but through {@link DurableFiles#replace}, so the new list is on disk before a
+     * caller drops a journal that the old list did not cover.
+     */
+    static void writeListDurably(Path path, List<?> values) {
+        try {
+            DurableFiles.replace(path, JsonUtils.objectMapper().writeValueAsBytes(values));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write file store " + path, e);
+        }
+    }
 }
@@ -0,0 +1,15 @@
+package com.signalsentinel.service.auth;
+
+/** Thrown when the password hashing pool is saturated; callers should answer 503 with {@code Retry-After}. */
+public final class HashingOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public HashingOverloadedException(long retryAfterSeconds) {
+        super("Password hashing is saturated, retry in " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,280 @@
+package com.signalsentinel.service.auth;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.signalsentinel.core.util.JsonUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Repository held in memory and indexed by id and secondary key, so lookups never touch the disk. The JSON list file
+ * is the compacted state; every change is appended (and forced) to a {@code .journal} sibling as one
+ * {@code {"op":"put","value":...}} or {@code {"op":"delete","id":...}} line. Opening loads the list, replays the
+ * journal (dropping a torn last line) and compacts; later compactions run once the journal holds more records than
+ * {@code max(MIN_COMPACT_RECORDS, live records)}.
+ */
+final class JournaledRecordRepository<T> implements RecordRepository<T> {
+    static final int MIN_COMPACT_RECORDS = 64;
+    private static final Logger LOGGER = Logger.getLogger(JournaledRecordRepository.class.getName());
+    private static final ObjectMapper MAPPER = JsonUtils.objectMapper();
+
+    private final Path path;
+    private final Path journalPath;
+    private final JavaType valueType;
+    private final Function<T, String> idOf;
+    private final Function<T, String> secondaryKeyOf;
+    private final Object lock = new Object();
+    private final Map<String, T> byId = new LinkedHashMap<>();
+    private final Map<String, String> idBySecondaryKey = new HashMap<>();
+    private FileChannel journal;
+    private int journalRecords;
+
+    JournaledRecordRepository(
+            Path path, TypeReference<List<T>> type, Function<T, String> idOf, Function<T, String> secondaryKeyOf
+    ) {
+        this.path = path;
+        this.journalPath = journalPathFor(path);
+        this.valueType = MAPPER.getTypeFactory().constructType(type).getContentType();
+        this.idOf = idOf;
+        this.secondaryKeyOf = secondaryKeyOf;
+        synchronized (lock) {
+            for (T value : FileStoreSupport.readList(path, type)) {
+                index(value);
+            }
+            if (replayJournal()) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Folds a journal left next to {@code path} by this backend into the list file and deletes it, so a switch to
+     * {@link FileRecordRepository} keeps every journaled change. Does nothing when there is no journal or it is empty.
+     */
+    static <T> void foldLeftoverJournal(
+            Path path, TypeReference<List<T>> type, Function<T, String> idOf, Function<T, String> secondaryKeyOf
+    ) {
+        Path journalPath = journalPathFor(path);
+        try {
+            if (!Files.exists(journalPath) || Files.size(journalPath) == 0) {
+                return;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to inspect file store journal " + journalPath, e);
+        }
+        // Opening replays and compacts the journal; no journal channel is opened, so there is nothing to close.
+        new JournaledRecordRepository<>(path, type, idOf, secondaryKeyOf);
+    }
+
+    static Path journalPathFor(Path path) {
+        return path.resolveSibling(path.getFileName() + ".journal");
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        synchronized (lock) {
+            return Optional.ofNullable(byId.get(id));
+        }
+    }
+
+    @Override
+    public Optional<T> findBySecondaryKey(String key) {
+        if (secondaryKeyOf == null) {
+            return Optional.empty();
+        }
+        synchronized (lock) {
+            String id = idBySecondaryKey.get(key);
+            return id == null ? Optional.empty() : Optional.ofNullable(byId.get(id));
+        }
+    }
+
+    @Override
+    public List<T> all() {
+        synchronized (lock) {
+            return List.copyOf(byId.values());
+        }
+    }
+
+    @Override
+    public void save(T value) {
+        synchronized (lock) {
+            ObjectNode record = MAPPER.createObjectNode().put("op", "put");
+            record.set("value", MAPPER.valueToTree(value));
+            append(record);
+            index(value);
+            compactIfDue();
+        }
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        synchronized (lock) {
+            if (!byId.containsKey(id)) {
+                return false;
+            }
+            append(MAPPER.createObjectNode().put("op", "delete").put("id", id));
+            unindex(id);
+            compactIfDue();
+            return true;
+        }
+    }
+
+    @Override
+    public int deleteWhere(Predicate<T> match) {
+        synchronized (lock) {
+            List<String> ids = new ArrayList<>();
+            for (T value : byId.values()) {
+                if (match.test(value)) {
+                    ids.add(idOf.apply(value));
+                }
+            }
+            for (String id : ids) {
+                append(MAPPER.createObjectNode().put("op", "delete").put("id", id));
+                unindex(id);
+            }
+            compactIfDue();
+            return ids.size();
+        }
+    }
+
+    /** Compacts whatever the journal still holds into the list file, then closes and deletes the empty journal. */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (journalRecords > 0) {
+                compact();
+            }
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+            Files.deleteIfExists(journalPath);
+        }
+    }
+
+    private void index(T value) {
+        String id = idOf.apply(value);
+        T previous = byId.put(id, value);
+        if (secondaryKeyOf == null) {
+            return;
+        }
+        if (previous != null) {
+            idBySecondaryKey.remove(secondaryKeyOf.apply(previous), id);
+        }
+        idBySecondaryKey.put(secondaryKeyOf.apply(value), id);
+    }
+
+    private void unindex(String id) {
+        T removed = byId.remove(id);
+        if (removed != null && secondaryKeyOf != null) {
+            idBySecondaryKey.remove(secondaryKeyOf.apply(removed), id);
+        }
+    }
+
+    /** Applies the journal left by the previous process; returns whether there was one to fold into the list. */
+    private boolean replayJournal() {
+        if (!Files.exists(journalPath)) {
+            return false;
+        }
+        try {
+            List<String> lines = new String(Files.readAllBytes(journalPath), StandardCharsets.UTF_8).lines().toList();
+            for (Iterator<String> it = lines.iterator(); it.hasNext(); ) {
+                String line = it.next();
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode record;
+                try {
+                    record = MAPPER.readTree(line);
+                } catch (IOException torn) {
+                    if (it.hasNext()) {
+                        throw torn;
+                    }
+                    LOGGER.warning("Dropping torn last record of " + journalPath);
+                    return true;
+                }
+                if ("delete".equals(record.path("op").asText())) {
+                    unindex(record.path("id").asText());
+                } else {
+                    index(MAPPER.convertValue(record.get("value"), valueType));
+                }
+            }
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Unable to replay file store journal " + journalPath, e);
+        }
+    }
+
+    private void append(JsonNode record) {
+        try {
+            if (journal == null) {
+                Path parent = journalPath.getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                journal = FileChannel.open(journalPath,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            byte[] line = (MAPPER.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            long start = journal.size();
+            try {
+                while (buffer.hasRemaining()) {
+                    journal.write(buffer);
+                }
+                journal.force(false);
+            } catch (IOException e) {
+                // Cut the partial line so later appends stay replayable.
+                journal.truncate(start);
+                throw e;
+            }
+            journalRecords++;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write file store journal " + journalPath, e);
+        }
+    }
+
+    private void compactIfDue() {
+        if (journalRecords > Math.max(MIN_COMPACT_RECORDS, byId.size())) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrites the list file from memory and empties the journal; the journal is only cut once the list and its
+     * rename have been forced to disk.
+     */
+    private void compact() {
+        FileStoreSupport.writeListDurably(path, new ArrayList<>(byId.values()));
+        try {
+            if (journal != null) {
+                journal.truncate(0);
+                journal.force(true);
+            } else {
+                Files.deleteIfExists(journalPath);
+            }
+            journalRecords = 0;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to reset file store journal " + journalPath, e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.signalsentinel.service.auth;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
 
@@ -12,11 +13,14 @@ import java.util.Optional;
 
 public final class JwtService {
     private final Algorithm algorithm;
+    // Immutable and thread-safe; built once instead of per request.
+    private final JWTVerifier verifier;
     private final Clock clock;
     private final Duration ttl;
 
     public JwtService(String secret, Clock clock, Duration ttl) {
         this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm).build();
         this.clock = clock;
         this.ttl = ttl;
     }
@@ -33,16 +37,18 @@ public final class JwtService {
 
     public Optional<Claims> verify(String token) {
         try {
-            DecodedJWT jwt = JWT.require(algorithm).build().verify(token);
-            if (jwt.getExpiresAt() != null && jwt.getExpiresAt().toInstant().isBefore(clock.instant())) {
+            DecodedJWT jwt = verifier.verify(token);
+            Instant expiresAt = jwt.getExpiresAt() == null ? null : jwt.getExpiresAt().toInstant();
+            if (expiresAt != null && expiresAt.isBefore(clock.instant())) {
                 return Optional.empty();
             }
-            return Optional.of(new Claims(jwt.getSubject(), jwt.getClaim("email").asString()));
+            return Optional.of(new Claims(jwt.getSubject(), jwt.getClaim("email").asString(), expiresAt));
         } catch (RuntimeException invalidToken) {
             return Optional.empty();
         }
     }
 
-    public record Claims(String userId, String email) {
+    /** {@code expiresAt} is null for tokens issued without an expiry. */
+    public record Claims(String userId, String email, Instant expiresAt) {
     }
 }
@@ -1,7 +1,13 @@
 package com.signalsentinel.service.auth;
 
+import java.util.Map;
+
 public interface PasswordHashing {
     String hash(String password);
 
     boolean verify(String encodedHash, String password);
+
+    default Map<String, Object> metricsSnapshot() {
+        return Map.of();
+    }
 }
@@ -2,66 +2,44 @@ package com.signalsentinel.service.auth;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 
-public final class PasswordResetStore {
+public final class PasswordResetStore implements Closeable {
     private static final TypeReference<List<PasswordResetTokenRecord>> TYPE = new TypeReference<>() {
     };
 
-    private final Path path;
-    private final Object lock = new Object();
+    private final RecordRepository<PasswordResetTokenRecord> repository;
 
     public PasswordResetStore(Path path) {
-        this.path = path;
+        this(path, AuthStoreBackend.FILE);
+    }
+
+    public PasswordResetStore(Path path, AuthStoreBackend backend) {
+        this.repository = backend.open(path, TYPE, PasswordResetTokenRecord::tokenHash, null);
     }
 
     public void save(PasswordResetTokenRecord record) {
-        synchronized (lock) {
-            List<PasswordResetTokenRecord> values = load();
-            values.add(record);
-            FileStoreSupport.writeListAtomically(path, values);
-        }
+        repository.save(record);
     }
 
     public Optional<PasswordResetTokenRecord> findByHash(String tokenHash) {
-        synchronized (lock) {
-            return load().stream()
-                    .filter(value -> value.tokenHash().equals(tokenHash))
-                    .findFirst();
-        }
+        return repository.findById(tokenHash);
     }
 
     public void replace(PasswordResetTokenRecord updated) {
-        synchronized (lock) {
-            List<PasswordResetTokenRecord> values = load();
-            for (int i = 0; i < values.size(); i++) {
-                PasswordResetTokenRecord existing = values.get(i);
-                if (existing.tokenHash().equals(updated.tokenHash())) {
-                    values.set(i, updated);
-                    FileStoreSupport.writeListAtomically(path, values);
-                    return;
-                }
-            }
-            values.add(updated);
-            FileStoreSupport.writeListAtomically(path, values);
-        }
+        repository.save(updated);
     }
 
     public int deleteForUser(String userId) {
-        synchronized (lock) {
-            List<PasswordResetTokenRecord> values = load();
-            int before = values.size();
-            values.removeIf(record -> record.userId().equals(userId));
-            if (values.size() != before) {
-                FileStoreSupport.writeListAtomically(path, values);
-            }
-            return before - values.size();
-        }
+        return repository.deleteWhere(record -> record.userId().equals(userId));
     }
 
-    private List<PasswordResetTokenRecord> load() {
-        return FileStoreSupport.readList(path, TYPE);
+    @Override
+    public void close() throws IOException {
+        repository.close();
     }
 }
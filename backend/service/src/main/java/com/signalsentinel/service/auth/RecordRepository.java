@@ -0,0 +1,35 @@
+package com.signalsentinel.service.auth;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Storage backend behind {@link UserStore}, {@link PreferencesStore} and {@link PasswordResetStore}: records of one
+ * type keyed by a string id, optionally with one secondary key (such as a lowercased email). Pick an implementation
+ * through {@link AuthStoreBackend}.
+ */
+public interface RecordRepository<T> extends Closeable {
+    Optional<T> findById(String id);
+
+    /** Looks a record up by its secondary key; always empty when the repository was built without one. */
+    Optional<T> findBySecondaryKey(String key);
+
+    /** Every record, in first-saved order. */
+    List<T> all();
+
+    /** Inserts the record, or replaces the one with the same id in place. */
+    void save(T value);
+
+    boolean deleteById(String id);
+
+    /** Deletes every matching record and returns how many were removed. */
+    int deleteWhere(Predicate<T> match);
+
+    /** Persists anything still held only in a journal; the default has nothing to persist. */
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -1,58 +1,235 @@
 package com.signalsentinel.service.auth;
 
 import java.time.Clock;
-import java.time.Instant;
-import java.util.ArrayDeque;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Sliding-window limiter allowing {@code limit} acquisitions per key within {@code windowSeconds}. All state lives in
+ * primitive arrays sized up front for {@code maxKeys} keys and split into lock stripes by key hash: each key owns a
+ * ring of {@code limit} epoch-milli timestamps, found through an open-addressed index. Once a stripe is full the
+ * least recently used key in it gives up its slot, so a flood of distinct keys costs old, idle keys their history
+ * rather than locking out new callers. Acquiring for a known key allocates nothing.
+ */
 public final class SimpleRateLimiter {
     private static final int DEFAULT_MAX_KEYS = 10_000;
+    private static final int MAX_STRIPES = 16;
+    private static final int MIN_KEYS_PER_STRIPE = 64;
+    private static final int NONE = -1;
 
     private final Clock clock;
     private final int limit;
-    private final long windowSeconds;
+    private final long windowMillis;
     private final int maxKeys;
-    private final Map<String, ArrayDeque<Instant>> buckets = new ConcurrentHashMap<>();
+    private final Stripe[] stripes;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
 
     public SimpleRateLimiter(Clock clock, int limit, long windowSeconds) {
         this(clock, limit, windowSeconds, DEFAULT_MAX_KEYS);
     }
 
     SimpleRateLimiter(Clock clock, int limit, long windowSeconds, int maxKeys) {
+        if (limit <= 0 || windowSeconds <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("limit, windowSeconds and maxKeys must be positive");
+        }
         this.clock = clock;
         this.limit = limit;
-        this.windowSeconds = windowSeconds;
+        this.windowMillis = windowSeconds * 1_000;
         this.maxKeys = maxKeys;
+        // Small tables keep a single stripe so eviction order stays exactly least recently used.
+        int stripeCount = 1;
+        while (stripeCount < MAX_STRIPES && maxKeys / (stripeCount * 2) >= MIN_KEYS_PER_STRIPE) {
+            stripeCount *= 2;
+        }
+        int keysPerStripe = (maxKeys + stripeCount - 1) / stripeCount;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
     }
 
     public boolean tryAcquire(String key) {
-        boolean[] result = {false};
-        buckets.compute(key, (k, existing) -> {
-            Instant now = clock.instant();
-            Instant threshold = now.minusSeconds(windowSeconds);
-
-            if (existing == null) {
-                // Reject new keys when the table is full to prevent unbounded growth.
-                if (buckets.size() >= maxKeys) {
-                    return null;
+        int hash = spread(key.hashCode());
+        boolean acquired = stripes[hash & (stripes.length - 1)].tryAcquire(key, hash, clock.millis());
+        (acquired ? allowed : rejected).increment();
+        return acquired;
+    }
+
+    public Map<String, Object> metricsSnapshot() {
+        int keys = 0;
+        for (Stripe stripe : stripes) {
+            keys += stripe.size();
+        }
+        return Map.of(
+                "limit", limit,
+                "windowSeconds", windowMillis / 1_000,
+                "maxKeys", maxKeys,
+                "keys", keys,
+                "allowed", allowed.longValue(),
+                "rejected", rejected.longValue(),
+                "evictions", evictions.longValue()
+        );
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** One lock's share of the keys; slots are linked from most to least recently used through {@code older}. */
+    private final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int capacity;
+        private final String[] keys;
+        private final int[] hashes;
+        private final long[] stamps;
+        private final int[] firstStamp;
+        private final int[] stampCount;
+        private final int[] newer;
+        private final int[] older;
+        // Slot + 1 per bucket; 0 marks an empty bucket.
+        private final int[] index;
+        private final int indexMask;
+        private int size;
+        private int mostRecent = NONE;
+        private int leastRecent = NONE;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+            this.keys = new String[capacity];
+            this.hashes = new int[capacity];
+            this.stamps = new long[Math.multiplyExact(capacity, limit)];
+            this.firstStamp = new int[capacity];
+            this.stampCount = new int[capacity];
+            this.newer = new int[capacity];
+            this.older = new int[capacity];
+            int buckets = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+            this.index = new int[buckets];
+            this.indexMask = buckets - 1;
+        }
+
+        boolean tryAcquire(String key, int hash, long now) {
+            lock.lock();
+            try {
+                int slot = find(key, hash);
+                if (slot == NONE) {
+                    slot = claim(key, hash);
+                } else if (slot != mostRecent) {
+                    unlink(slot);
+                    linkMostRecent(slot);
+                }
+                int base = slot * limit;
+                long threshold = now - windowMillis;
+                while (stampCount[slot] > 0 && stamps[base + firstStamp[slot]] < threshold) {
+                    firstStamp[slot] = (firstStamp[slot] + 1) % limit;
+                    stampCount[slot]--;
+                }
+                if (stampCount[slot] >= limit) {
+                    return false;
+                }
+                stamps[base + (firstStamp[slot] + stampCount[slot]) % limit] = now;
+                stampCount[slot]++;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int find(String key, int hash) {
+            for (int bucket = bucketOf(hash); index[bucket] != 0; bucket = (bucket + 1) & indexMask) {
+                int slot = index[bucket] - 1;
+                if (hashes[slot] == hash && keys[slot].equals(key)) {
+                    return slot;
                 }
-                existing = new ArrayDeque<>();
             }
+            return NONE;
+        }
+
+        /** Takes a free slot for {@code key}, or the least recently used one when the stripe is full. */
+        private int claim(String key, int hash) {
+            int slot;
+            if (size < capacity) {
+                slot = size++;
+            } else {
+                slot = leastRecent;
+                unlink(slot);
+                removeFromIndex(slot);
+                evictions.increment();
+            }
+            keys[slot] = key;
+            hashes[slot] = hash;
+            firstStamp[slot] = 0;
+            stampCount[slot] = 0;
+            int bucket = bucketOf(hash);
+            while (index[bucket] != 0) {
+                bucket = (bucket + 1) & indexMask;
+            }
+            index[bucket] = slot + 1;
+            linkMostRecent(slot);
+            return slot;
+        }
 
-            while (!existing.isEmpty() && existing.peekFirst().isBefore(threshold)) {
-                existing.removeFirst();
+        /** Linear-probing delete: shifts later entries of the probe run back so lookups never stop early. */
+        private void removeFromIndex(int slot) {
+            int hole = bucketOf(hashes[slot]);
+            while (index[hole] != slot + 1) {
+                hole = (hole + 1) & indexMask;
             }
+            index[hole] = 0;
+            for (int bucket = (hole + 1) & indexMask; index[bucket] != 0; bucket = (bucket + 1) & indexMask) {
+                int home = bucketOf(hashes[index[bucket] - 1]);
+                // Move the entry unless its home lies cyclically in (hole, bucket].
+                boolean reachable = hole <= bucket
+                        ? hole < home && home <= bucket
+                        : hole < home || home <= bucket;
+                if (!reachable) {
+                    index[hole] = index[bucket];
+                    index[bucket] = 0;
+                    hole = bucket;
+                }
+            }
+        }
+
+        private int bucketOf(int hash) {
+            // The low bits chose the stripe; use the high bits here.
+            return Integer.rotateRight(hash, 16) & indexMask;
+        }
 
-            if (existing.size() < limit) {
-                existing.addLast(now);
-                result[0] = true;
+        private void linkMostRecent(int slot) {
+            newer[slot] = NONE;
+            older[slot] = mostRecent;
+            if (mostRecent != NONE) {
+                newer[mostRecent] = slot;
             }
+            mostRecent = slot;
+            if (leastRecent == NONE) {
+                leastRecent = slot;
+            }
+        }
 
-            // Return null to remove the entry when the deque is empty (all timestamps expired
-            // and no new entry added), preventing stale buckets from lingering in the table.
-            return existing.isEmpty() ? null : existing;
-        });
-        return result[0];
+        private void unlink(int slot) {
+            if (older[slot] != NONE) {
+                newer[older[slot]] = newer[slot];
+            } else {
+                leastRecent = newer[slot];
+            }
+            if (newer[slot] != NONE) {
+                older[newer[slot]] = older[slot];
+            } else {
+                mostRecent = older[slot];
+            }
+        }
     }
 }
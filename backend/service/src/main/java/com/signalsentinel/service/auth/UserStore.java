@@ -2,80 +2,54 @@ package com.signalsentinel.service.auth;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
-public final class UserStore {
+public final class UserStore implements Closeable {
     private static final TypeReference<List<AuthUser>> TYPE = new TypeReference<>() {
     };
 
-    private final Path path;
-    private final Object lock = new Object();
+    private final RecordRepository<AuthUser> repository;
 
     public UserStore(Path path) {
-        this.path = path;
+        this(path, AuthStoreBackend.FILE);
+    }
+
+    public UserStore(Path path, AuthStoreBackend backend) {
+        this.repository = backend.open(path, TYPE, AuthUser::id, user -> normalizeEmail(user.email()));
     }
 
     public Optional<AuthUser> findByEmail(String email) {
-        synchronized (lock) {
-            return load().stream()
-                    .filter(user -> user.email().equalsIgnoreCase(email))
-                    .findFirst();
-        }
+        return repository.findBySecondaryKey(normalizeEmail(email));
     }
 
     public Optional<AuthUser> findById(String id) {
-        synchronized (lock) {
-            return load().stream()
-                    .filter(user -> user.id().equals(id))
-                    .findFirst();
-        }
+        return repository.findById(id);
     }
 
     public AuthUser save(AuthUser user) {
-        synchronized (lock) {
-            List<AuthUser> users = load();
-            int index = indexOf(users, user.id());
-            if (index >= 0) {
-                users.set(index, user);
-            } else {
-                users.add(user);
-            }
-            FileStoreSupport.writeListAtomically(path, users);
-            return user;
-        }
+        repository.save(user);
+        return user;
     }
 
     public List<AuthUser> all() {
-        synchronized (lock) {
-            return List.copyOf(load());
-        }
+        return repository.all();
     }
 
     public boolean deleteById(String id) {
-        synchronized (lock) {
-            List<AuthUser> users = load();
-            int index = indexOf(users, id);
-            if (index < 0) {
-                return false;
-            }
-            users.remove(index);
-            FileStoreSupport.writeListAtomically(path, users);
-            return true;
-        }
+        return repository.deleteById(id);
     }
 
-    private int indexOf(List<AuthUser> users, String id) {
-        for (int i = 0; i < users.size(); i++) {
-            if (users.get(i).id().equals(id)) {
-                return i;
-            }
-        }
-        return -1;
+    @Override
+    public void close() throws IOException {
+        repository.close();
     }
 
-    private List<AuthUser> load() {
-        return FileStoreSupport.readList(path, TYPE);
+    private static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,124 @@
+package com.signalsentinel.service.auth;
+
+import com.signalsentinel.core.util.HashingUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Users resolved from verified auth tokens, keyed by the token's SHA-256 so raw tokens are never retained. An entry
+ * is served until the token expires or {@code maxAge} passes, whichever comes first; least recently used entries are
+ * evicted beyond {@code maxEntries}. {@link #invalidateUser(String)} bumps a generation so a lookup that started
+ * before the invalidation cannot re-insert the stale user.
+ */
+final class VerifiedTokenCache {
+    static final int DEFAULT_MAX_ENTRIES = 10_000;
+    static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(5);
+
+    private final Clock clock;
+    private final int maxEntries;
+    private final Duration maxAge;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    VerifiedTokenCache(Clock clock, int maxEntries, Duration maxAge) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        if (maxAge == null || maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("maxAge must be positive");
+        }
+        this.clock = clock;
+        this.maxEntries = maxEntries;
+        this.maxAge = maxAge;
+    }
+
+    /** Generation to pass back to {@link #put}; read it before verifying the token and loading the user. */
+    long generation() {
+        return generation.get();
+    }
+
+    Optional<AuthUser> get(String token) {
+        String key = HashingUtils.sha256(token);
+        Instant now = clock.instant();
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.validUntil().isAfter(now)) {
+                hits.increment();
+                return Optional.of(entry.user());
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    void put(String token, AuthUser user, Instant tokenExpiresAt, long observedGeneration) {
+        Instant validUntil = clock.instant().plus(maxAge);
+        if (tokenExpiresAt != null && tokenExpiresAt.isBefore(validUntil)) {
+            validUntil = tokenExpiresAt;
+        }
+        String key = HashingUtils.sha256(token);
+        lock.lock();
+        try {
+            if (generation.get() != observedGeneration) {
+                return;
+            }
+            entries.put(key, new Entry(user, validUntil));
+            if (entries.size() > maxEntries) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidateToken(String token) {
+        String key = HashingUtils.sha256(token);
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidateUser(String userId) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> entry.user().id().equals(userId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Map<String, Object> metricsSnapshot() {
+        int size;
+        lock.lock();
+        try {
+            size = entries.size();
+        } finally {
+            lock.unlock();
+        }
+        return Map.of("entries", size, "hits", hits.longValue(), "misses", misses.longValue());
+    }
+
+    private record Entry(AuthUser user, Instant validUntil) {
+    }
+}
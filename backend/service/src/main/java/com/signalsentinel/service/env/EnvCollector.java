@@ -13,27 +13,62 @@ import com.signalsentinel.core.model.WeatherSignal;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 public final class EnvCollector implements Collector {
     private static final Logger LOGGER = Logger.getLogger(EnvCollector.class.getName());
+    private static final int DEFAULT_DEADLINE_PERCENT = 80;
+    // Share of the interval always left after the fetch cut-off for publishing results and unavailable events.
+    private static final int PUBLISH_RESERVE_DIVISOR = 10;
 
     private final EnvService envService;
     private final Supplier<List<String>> zipSupplier;
     private final Duration interval;
+    private final Duration fetchBudget;
     private final java.util.Set<String> weatherEmittedZips = ConcurrentHashMap.newKeySet();
 
     public EnvCollector(EnvService envService, Supplier<List<String>> zipSupplier, Duration interval) {
+        this(envService, zipSupplier, interval, defaultTickDeadline(interval));
+    }
+
+    /**
+     * ZIPs are fetched concurrently on virtual threads; any still outstanding {@code tickDeadline} after the poll
+     * starts are cancelled and reported unavailable, so a slow provider cannot push a tick past its interval. The
+     * cut-off never comes later than nine tenths of the interval, leaving the rest for publishing the results.
+     */
+    public EnvCollector(
+            EnvService envService, Supplier<List<String>> zipSupplier, Duration interval, Duration tickDeadline
+    ) {
         this.envService = Objects.requireNonNull(envService, "envService is required");
         this.zipSupplier = Objects.requireNonNull(zipSupplier, "zipSupplier is required");
         this.interval = Objects.requireNonNull(interval, "interval is required");
+        Objects.requireNonNull(tickDeadline, "tickDeadline is required");
+        if (tickDeadline.isNegative() || tickDeadline.isZero()) {
+            throw new IllegalArgumentException("tickDeadline must be positive");
+        }
+        Duration latestCutOff = interval.minus(interval.dividedBy(PUBLISH_RESERVE_DIVISOR));
+        this.fetchBudget = latestCutOff.isPositive() && latestCutOff.compareTo(tickDeadline) < 0
+                ? latestCutOff
+                : tickDeadline;
+    }
+
+    /** The deadline used when none is configured: {@value #DEFAULT_DEADLINE_PERCENT}% of the interval. */
+    public static Duration defaultTickDeadline(Duration interval) {
+        return interval.multipliedBy(DEFAULT_DEADLINE_PERCENT).dividedBy(100);
     }
 
     @Override
@@ -49,9 +84,11 @@ public final class EnvCollector implements Collector {
     @Override
     public CompletableFuture<CollectorResult> poll(CollectorContext ctx) {
         Instant startedAt = ctx.clock().instant();
+        // The deadline runs from here, so time spent waiting for a pool thread counts against it too.
+        long startedNanos = System.nanoTime();
         ctx.eventBus().publish(new CollectorTickStarted(startedAt, name()));
 
-        return CompletableFuture.supplyAsync(() -> runPoll(ctx))
+        return CompletableFuture.supplyAsync(() -> runPoll(ctx, startedNanos))
                 .handle((result, error) -> {
                     long durationMillis = Duration.between(startedAt, ctx.clock().instant()).toMillis();
                     if (error != null) {
@@ -75,11 +112,8 @@ public final class EnvCollector implements Collector {
                 });
     }
 
-    private CollectorResult runPoll(CollectorContext ctx) {
+    private CollectorResult runPoll(CollectorContext ctx, long pollStartedNanos) {
         Instant pollStartedAt = ctx.clock().instant();
-        boolean emittedWeather = false;
-        boolean emittedAqi = false;
-        int alertsRaised = 0;
         List<String> targetZips = normalize(zipSupplier.get());
         boolean airNowKeyPresent = envService.isAirNowConfigured();
         boolean noaaUserAgentPresent = envService.isNoaaUserAgentPresent();
@@ -104,78 +138,124 @@ public final class EnvCollector implements Collector {
             LOGGER.info("ENV_SKIP_AIRNOW reason=missing_airnow_key");
         }
 
-        int successCount = 0;
-        int failureCount = 0;
-
+        PollTally tally = new PollTally();
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
         try {
+            CompletionService<ZipFetch> completions = new ExecutorCompletionService<>(workers);
+            Map<String, Future<ZipFetch>> pending = new LinkedHashMap<>();
             for (String zip : targetZips) {
-                long zipFetchStartedAt = System.nanoTime();
                 LOGGER.info(() -> "ENV_FETCH provider=NOAA url=https://api.weather.gov/points/{lat},{lon} zip=" + zip);
                 if (airNowKeyPresent) {
                     LOGGER.info(() -> "ENV_FETCH provider=AIRNOW url=" + sanitizeSensitiveUrl("https://www.airnowapi.org/aq/observation/zipCode/current/?zipCode=" + zip) + " zip=" + zip);
                 }
+                pending.put(zip, completions.submit(() -> fetch(zip, airNowKeyPresent)));
+            }
+            // Results are published on this thread as they complete; ZIPs still running at the deadline are cut off.
+            long deadline = pollStartedNanos + fetchBudget.toNanos();
+            String cutOffReason = "Environment fetch exceeded tick deadline of " + fetchBudget.toMillis() + "ms";
+            while (!pending.isEmpty()) {
+                long remainingNanos = deadline - System.nanoTime();
+                Future<ZipFetch> done;
                 try {
-                    List<EnvStatus> statuses = envService.getStatuses(List.of(zip), airNowKeyPresent);
-                    if (statuses.isEmpty()) {
-                        LOGGER.info(() -> "ENV_SKIP reason=missing_location zip=" + zip);
-                        continue;
-                    }
-                    EnvStatus status = statuses.getFirst();
-                    LOGGER.info(() -> "ENV_LOCATION zip=" + zip + " lat=" + status.lat() + " lon=" + status.lon());
-                    long durationMillis = nanosToMillis(System.nanoTime() - zipFetchStartedAt);
-                    boolean[] emitted = publishStatus(ctx, status, airNowKeyPresent);
-                    emittedWeather = emittedWeather || emitted[0];
-                    emittedAqi = emittedAqi || emitted[1];
-                    successCount++;
-
-                    String noaaUrl = status.weather().requestUrl() == null ? "n/a" : status.weather().requestUrl();
-                    LOGGER.info(() -> "ENV_FETCH_OK provider=NOAA status=200 durationMs=" + durationMillis + " url=" + noaaUrl);
-                    if (airNowKeyPresent && status.aqi().requestUrl() != null) {
-                        String aqiUrl = sanitizeSensitiveUrl(status.aqi().requestUrl());
-                        LOGGER.info(() -> "ENV_FETCH_OK provider=AIRNOW status=200 durationMs=" + durationMillis + " url=" + aqiUrl);
-                    } else if (!airNowKeyPresent) {
-                        LOGGER.info(() -> "ENV_SKIP_AIRNOW reason=missing_airnow_key zip=" + zip);
-                    }
-                } catch (RuntimeException e) {
-                    failureCount++;
-                    String error = rootMessage(e);
-                    String provider = inferProvider(error);
-                    long durationMillis = nanosToMillis(System.nanoTime() - zipFetchStartedAt);
-                    LOGGER.warning(() -> "ENV_FETCH_FAIL provider=" + provider
-                            + " status=" + inferStatus(error)
-                            + " durationMs=" + durationMillis
-                            + " bodySnippet=" + snippet(error, 200));
-                    boolean[] emitted = publishUnavailableEvents(ctx, zip, error, airNowKeyPresent);
-                    emittedWeather = emittedWeather || emitted[0];
-                    emittedAqi = emittedAqi || emitted[1];
-                    alertsRaised++;
-                    ctx.eventBus().publish(new AlertRaised(
-                            ctx.clock().instant(),
-                            "collector",
-                            "Environment fetch failed for ZIP " + zip + ": " + error,
-                            Map.of("collector", name(), "zip", zip)
-                    ));
+                    done = remainingNanos > 0 ? completions.poll(remainingNanos, TimeUnit.NANOSECONDS) : null;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cutOffReason = "Environment poll interrupted";
+                    break;
+                }
+                if (done == null) {
+                    break;
                 }
+                ZipFetch fetched = done.resultNow();
+                pending.remove(fetched.zip());
+                if (fetched.error() != null) {
+                    recordFailure(ctx, fetched.zip(), fetched.error(), fetched.durationMillis(), airNowKeyPresent, tally);
+                } else if (fetched.status() == null) {
+                    LOGGER.info(() -> "ENV_SKIP reason=missing_location zip=" + fetched.zip());
+                } else {
+                    recordSuccess(ctx, fetched.status(), fetched.durationMillis(), airNowKeyPresent, tally);
+                }
+            }
+            long cutOffMillis = nanosToMillis(System.nanoTime() - pollStartedNanos);
+            for (Map.Entry<String, Future<ZipFetch>> unfinished : pending.entrySet()) {
+                unfinished.getValue().cancel(true);
+                recordFailure(ctx, unfinished.getKey(), new IllegalStateException(cutOffReason), cutOffMillis,
+                        airNowKeyPresent, tally);
             }
         } finally {
+            workers.shutdownNow();
             long durationMillis = Duration.between(pollStartedAt, ctx.clock().instant()).toMillis();
             LOGGER.info("ENV_END durationMs=" + durationMillis
-                    + " emittedWeather=" + emittedWeather
-                    + " emittedAqi=" + emittedAqi
-                    + " alertsRaised=" + alertsRaised);
+                    + " emittedWeather=" + tally.emittedWeather
+                    + " emittedAqi=" + tally.emittedAqi
+                    + " alertsRaised=" + tally.alertsRaised);
         }
 
         Map<String, Object> stats = Map.of(
                 "zips", targetZips,
-                "successes", successCount,
-                "failures", failureCount
+                "successes", tally.successCount,
+                "failures", tally.failureCount
         );
-        if (failureCount == 0) {
+        if (tally.failureCount == 0) {
             return CollectorResult.success("Environment polling completed", stats);
         }
         return CollectorResult.failure("Environment polling had failures", stats);
     }
 
+    private ZipFetch fetch(String zip, boolean includeAqi) {
+        long startedAt = System.nanoTime();
+        try {
+            List<EnvStatus> statuses = envService.getStatuses(List.of(zip), includeAqi);
+            EnvStatus status = statuses.isEmpty() ? null : statuses.getFirst();
+            return new ZipFetch(zip, status, null, nanosToMillis(System.nanoTime() - startedAt));
+        } catch (RuntimeException e) {
+            return new ZipFetch(zip, null, e, nanosToMillis(System.nanoTime() - startedAt));
+        }
+    }
+
+    private void recordSuccess(
+            CollectorContext ctx, EnvStatus status, long durationMillis, boolean airNowKeyPresent, PollTally tally
+    ) {
+        String zip = status.zip();
+        LOGGER.info(() -> "ENV_LOCATION zip=" + zip + " lat=" + status.lat() + " lon=" + status.lon());
+        boolean[] emitted = publishStatus(ctx, status, airNowKeyPresent);
+        tally.emittedWeather = tally.emittedWeather || emitted[0];
+        tally.emittedAqi = tally.emittedAqi || emitted[1];
+        tally.successCount++;
+
+        String noaaUrl = status.weather().requestUrl() == null ? "n/a" : status.weather().requestUrl();
+        LOGGER.info(() -> "ENV_FETCH_OK provider=NOAA status=200 durationMs=" + durationMillis + " url=" + noaaUrl);
+        if (airNowKeyPresent && status.aqi().requestUrl() != null) {
+            String aqiUrl = sanitizeSensitiveUrl(status.aqi().requestUrl());
+            LOGGER.info(() -> "ENV_FETCH_OK provider=AIRNOW status=200 durationMs=" + durationMillis + " url=" + aqiUrl);
+        } else if (!airNowKeyPresent) {
+            LOGGER.info(() -> "ENV_SKIP_AIRNOW reason=missing_airnow_key zip=" + zip);
+        }
+    }
+
+    private void recordFailure(
+            CollectorContext ctx, String zip, RuntimeException failure, long durationMillis, boolean airNowKeyPresent,
+            PollTally tally
+    ) {
+        tally.failureCount++;
+        String error = rootMessage(failure);
+        String provider = inferProvider(error);
+        LOGGER.warning(() -> "ENV_FETCH_FAIL provider=" + provider
+                + " status=" + inferStatus(error)
+                + " durationMs=" + durationMillis
+                + " bodySnippet=" + snippet(error, 200));
+        boolean[] emitted = publishUnavailableEvents(ctx, zip, error, airNowKeyPresent);
+        tally.emittedWeather = tally.emittedWeather || emitted[0];
+        tally.emittedAqi = tally.emittedAqi || emitted[1];
+        tally.alertsRaised++;
+        ctx.eventBus().publish(new AlertRaised(
+                ctx.clock().instant(),
+                "collector",
+                "Environment fetch failed for ZIP " + zip + ": " + error,
+                Map.of("collector", name(), "zip", zip)
+        ));
+    }
+
     private boolean[] publishStatus(CollectorContext ctx, EnvStatus status, boolean includeAqi) {
         String zip = status.zip();
         String label = status.locationLabel() == null || status.locationLabel().isBlank()
@@ -303,6 +383,18 @@ public final class EnvCollector implements Collector {
         return new boolean[]{emittedWeather, emittedAqi};
     }
 
+    private record ZipFetch(String zip, EnvStatus status, RuntimeException error, long durationMillis) {
+    }
+
+    /** Outcome counters for one poll; only touched by the polling thread. */
+    private static final class PollTally {
+        private boolean emittedWeather;
+        private boolean emittedAqi;
+        private int alertsRaised;
+        private int successCount;
+        private int failureCount;
+    }
+
     private static List<String> normalize(List<String> zips) {
         if (zips == null || zips.isEmpty()) {
             return List.of();
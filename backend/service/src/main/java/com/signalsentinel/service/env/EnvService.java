@@ -6,8 +6,10 @@ import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Semaphore;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public final class EnvService {
     private final ZipGeoStore zipGeoStore;
@@ -74,6 +76,29 @@ public final class EnvService {
         this.noaaFollowRedirects = noaaFollowRedirects;
     }
 
+    /**
+     * Returns a service sharing this one's geo cache whose NOAA and AirNow lookups each admit at most the given number
+     * of concurrent calls; extra callers wait for a permit, so parallel ZIP polling cannot flood either provider.
+     */
+    public EnvService withProviderConcurrency(int noaaPermits, int airNowPermits) {
+        if (noaaPermits <= 0 || airNowPermits <= 0) {
+            throw new IllegalArgumentException("Provider concurrency must be positive");
+        }
+        Semaphore noaa = new Semaphore(noaaPermits);
+        Semaphore airNow = new Semaphore(airNowPermits);
+        return new EnvService(
+                zipGeoStore,
+                zipGeoResolver,
+                (lat, lon) -> withPermit(noaa, "NOAA", () -> weatherLookup.apply(lat, lon)),
+                zip -> withPermit(airNow, "AirNow", () -> aqiLookup.apply(zip)),
+                clock,
+                defaultZips,
+                airNowConfigured,
+                noaaUserAgentPresent,
+                noaaFollowRedirects
+        );
+    }
+
     public List<EnvStatus> getStatuses(List<String> zips) {
         return getStatuses(zips, true);
     }
@@ -180,6 +205,11 @@ public final class EnvService {
         return buildLocationLabel(zip, geo.city(), geo.state(), null, null);
     }
 
+    /** Changes whenever a ZIP's geo record is stored, which may change {@link #labelForZip(String)}. */
+    public long labelGeneration() {
+        return zipGeoStore.generation();
+    }
+
     public boolean isAirNowConfigured() {
         return airNowConfigured;
     }
@@ -192,6 +222,20 @@ public final class EnvService {
         return noaaFollowRedirects;
     }
 
+    private static <T> T withPermit(Semaphore permits, String provider, Supplier<T> call) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(provider + " request interrupted while waiting for a slot", e);
+        }
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+
     private static List<String> normalizeZipList(List<String> zips) {
         LinkedHashSet<String> normalized = new LinkedHashSet<>();
         for (String zip : zips) {
@@ -13,12 +13,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 public final class ZipGeoStore {
     private final Path file;
     private final ReentrantLock lock = new ReentrantLock();
     private final Map<String, ZipGeoRecord> byZip = new HashMap<>();
+    private final AtomicLong generation = new AtomicLong();
 
     public ZipGeoStore(Path file) {
         this.file = file;
@@ -39,11 +41,17 @@ public final class ZipGeoStore {
         try {
             byZip.put(record.zip(), record);
             persist();
+            generation.incrementAndGet();
         } finally {
             lock.unlock();
         }
     }
 
+    /** Advances on every {@link #put}, so caches of rendered ZIP labels can tell when a label may have changed. */
+    public long generation() {
+        return generation.get();
+    }
+
     private void load() {
         lock.lock();
         try {
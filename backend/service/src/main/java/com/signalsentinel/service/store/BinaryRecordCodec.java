@@ -0,0 +1,507 @@
+package com.signalsentinel.service.store;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalsentinel.core.events.AlertRaised;
+import com.signalsentinel.core.events.CollectorTickCompleted;
+import com.signalsentinel.core.events.CollectorTickStarted;
+import com.signalsentinel.core.events.ContentChanged;
+import com.signalsentinel.core.events.EnvAqiUpdated;
+import com.signalsentinel.core.events.EnvWeatherUpdated;
+import com.signalsentinel.core.events.Event;
+import com.signalsentinel.core.events.LocalHappeningsIngested;
+import com.signalsentinel.core.events.LoginFailed;
+import com.signalsentinel.core.events.LoginSucceeded;
+import com.signalsentinel.core.events.NewsItemsIngested;
+import com.signalsentinel.core.events.NewsUpdated;
+import com.signalsentinel.core.events.PasswordResetFailed;
+import com.signalsentinel.core.events.PasswordResetRequested;
+import com.signalsentinel.core.events.PasswordResetSucceeded;
+import com.signalsentinel.core.events.SiteFetched;
+import com.signalsentinel.core.events.UserRegistered;
+import com.signalsentinel.core.events.WeatherUpdated;
+import com.signalsentinel.core.util.JsonUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary records. Each record is framed as {@code [int32 length][payload][int32 length]}; the trailing
+ * length lets the tail be read backwards without scanning the file. The payload is a type-id byte, the event
+ * timestamp as a zigzag varint of epoch seconds plus a varint of nanos, then every other record component in
+ * declaration order: varints for integral values, fixed eight bytes for doubles, length-prefixed UTF-8 for
+ * strings and length-prefixed JSON for free-form maps. The envelope's write-time fields are not stored.
+ */
+final class BinaryRecordCodec implements RecordCodec {
+    static final int FRAME_OVERHEAD = Integer.BYTES * 2;
+    static final int MAX_PAYLOAD_BYTES = 16 * 1024 * 1024;
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final ObjectMapper MAPPER = JsonUtils.objectMapper();
+
+    // Type ids are persisted: only ever append to this list.
+    private static final List<Class<? extends Event>> TYPE_IDS = List.of(
+            CollectorTickStarted.class,
+            CollectorTickCompleted.class,
+            SiteFetched.class,
+            ContentChanged.class,
+            NewsUpdated.class,
+            NewsItemsIngested.class,
+            LocalHappeningsIngested.class,
+            WeatherUpdated.class,
+            EnvWeatherUpdated.class,
+            EnvAqiUpdated.class,
+            AlertRaised.class,
+            UserRegistered.class,
+            LoginSucceeded.class,
+            LoginFailed.class,
+            PasswordResetRequested.class,
+            PasswordResetSucceeded.class,
+            PasswordResetFailed.class
+    );
+    // Declared after the tables its constructor reads.
+    static final BinaryRecordCodec INSTANCE = new BinaryRecordCodec();
+
+    private final Layout[] layoutsById;
+    private final Map<Class<?>, Layout> layoutsByClass;
+
+    private BinaryRecordCodec() {
+        layoutsById = new Layout[TYPE_IDS.size() + 1];
+        Map<Class<?>, Layout> byClass = new HashMap<>();
+        for (int i = 0; i < TYPE_IDS.size(); i++) {
+            Layout layout = new Layout(i + 1, TYPE_IDS.get(i));
+            layoutsById[i + 1] = layout;
+            byClass.put(layout.eventClass, layout);
+        }
+        layoutsByClass = Collections.unmodifiableMap(byClass);
+    }
+
+    @Override
+    public byte[] encode(Event event) {
+        Event sanitized = EventCodec.sanitize(event);
+        Layout layout = layoutsByClass.get(sanitized.getClass());
+        if (layout == null) {
+            throw new IllegalArgumentException("Unsupported event type: " + sanitized.type());
+        }
+        Writer writer = new Writer();
+        writer.out.write(0);
+        writer.out.write(0);
+        writer.out.write(0);
+        writer.out.write(0);
+        layout.write(sanitized, writer);
+        int payloadLength = writer.out.size() - Integer.BYTES;
+        writer.writeInt(payloadLength);
+        byte[] record = writer.out.toByteArray();
+        ByteBuffer.wrap(record).putInt(0, payloadLength);
+        return record;
+    }
+
+    @Override
+    public Event decode(byte[] payload) {
+        try {
+            Reader reader = new Reader(payload);
+            return layoutFor(reader.readByte()).read(reader);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Unable to decode binary event", e);
+        }
+    }
+
+    @Override
+    public EventCodec.RecordHeader readHeader(byte[] payload) {
+        try {
+            Reader reader = new Reader(payload);
+            Layout layout = layoutFor(reader.readByte());
+            return new EventCodec.RecordHeader(layout.typeName, reader.readInstant());
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Unable to read event header", e);
+        }
+    }
+
+    @Override
+    public boolean isEmpty(byte[] payload) {
+        return false;
+    }
+
+    /** Visits every complete frame; a torn trailing frame is not visited, a corrupt complete one fails the scan. */
+    @Override
+    public long scan(FileChannel channel, long fromOffset, long endOffset, RecordVisitor visitor) throws IOException {
+        Window window = new Window(channel, fromOffset, endOffset);
+        long recordStart = fromOffset;
+        while (window.ensure(Integer.BYTES)) {
+            int length = window.buffer.getInt(window.buffer.position());
+            if (length < 0 || length > MAX_PAYLOAD_BYTES) {
+                throw new IOException("Corrupt binary record length " + length + " at offset " + recordStart);
+            }
+            int frameLength = length + FRAME_OVERHEAD;
+            if (!window.ensure(frameLength)) {
+                break;
+            }
+            ByteBuffer buffer = window.buffer;
+            if (buffer.getInt(buffer.position() + Integer.BYTES + length) != length) {
+                throw new IOException("Corrupt binary record trailer at offset " + recordStart);
+            }
+            byte[] payload = new byte[length];
+            buffer.get(buffer.position() + Integer.BYTES, payload);
+            buffer.position(buffer.position() + frameLength);
+            long next = recordStart + frameLength;
+            if (!visitor.visit(recordStart, frameLength, payload)) {
+                return next;
+            }
+            recordStart = next;
+        }
+        return recordStart;
+    }
+
+    @Override
+    public List<Record> readLast(FileChannel channel, long endOffset, int maxRecords) throws IOException {
+        List<Record> newestFirst = new ArrayList<>();
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+        long position = endOffset;
+        while (position > 0 && newestFirst.size() < maxRecords) {
+            if (position < FRAME_OVERHEAD) {
+                throw new IOException("Corrupt binary record before offset " + position);
+            }
+            int length = readInt(channel, lengthBuffer, position - Integer.BYTES);
+            long start = position - FRAME_OVERHEAD - length;
+            if (length < 0 || length > MAX_PAYLOAD_BYTES || start < 0 || readInt(channel, lengthBuffer, start) != length) {
+                throw new IOException("Corrupt binary record before offset " + position);
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(channel, payload, start + Integer.BYTES);
+            newestFirst.add(new Record(start, payload.array()));
+            position = start;
+        }
+        Collections.reverse(newestFirst);
+        return newestFirst;
+    }
+
+    private Layout layoutFor(int typeId) {
+        if (typeId <= 0 || typeId >= layoutsById.length) {
+            throw new IllegalArgumentException("Unsupported binary event type id: " + typeId);
+        }
+        return layoutsById[typeId];
+    }
+
+    private static int readInt(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.clear();
+        readFully(channel, buffer, position);
+        return buffer.getInt(0);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file at offset " + (position + buffer.position()));
+            }
+        }
+    }
+
+    /** Encoding plan for one event record type, built once from its components and canonical constructor. */
+    private static final class Layout {
+        private final int typeId;
+        private final Class<? extends Event> eventClass;
+        private final String typeName;
+        private final Constructor<? extends Event> constructor;
+        private final Method[] accessors;
+        private final FieldKind[] kinds;
+        private final JavaType[] jsonTypes;
+        private final int timestampIndex;
+
+        Layout(int typeId, Class<? extends Event> eventClass) {
+            this.typeId = typeId;
+            this.eventClass = eventClass;
+            // Event types are named after their record class (see EventCodec's type table).
+            this.typeName = eventClass.getSimpleName();
+            RecordComponent[] components = eventClass.getRecordComponents();
+            Class<?>[] parameterTypes = new Class<?>[components.length];
+            accessors = new Method[components.length];
+            kinds = new FieldKind[components.length];
+            jsonTypes = new JavaType[components.length];
+            int timestamp = -1;
+            for (int i = 0; i < components.length; i++) {
+                parameterTypes[i] = components[i].getType();
+                accessors[i] = components[i].getAccessor();
+                kinds[i] = FieldKind.of(components[i].getType());
+                if (kinds[i] == FieldKind.JSON) {
+                    jsonTypes[i] = MAPPER.getTypeFactory().constructType(components[i].getGenericType());
+                }
+                if ("timestamp".equals(components[i].getName()) && components[i].getType() == Instant.class) {
+                    timestamp = i;
+                }
+            }
+            if (timestamp < 0) {
+                throw new IllegalStateException(eventClass.getSimpleName() + " has no Instant timestamp component");
+            }
+            this.timestampIndex = timestamp;
+            try {
+                this.constructor = eventClass.getDeclaredConstructor(parameterTypes);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Unable to build binary layout for " + eventClass.getSimpleName(), e);
+            }
+        }
+
+        void write(Event event, Writer writer) {
+            writer.out.write(typeId);
+            writer.writeInstant(event.timestamp());
+            for (int i = 0; i < accessors.length; i++) {
+                if (i == timestampIndex) {
+                    continue;
+                }
+                Object value;
+                try {
+                    value = accessors[i].invoke(event);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Unable to read " + accessors[i].getName() + " of " + typeName, e);
+                }
+                kinds[i].write(writer, value);
+            }
+        }
+
+        Event read(Reader reader) {
+            Object[] arguments = new Object[accessors.length];
+            arguments[timestampIndex] = reader.readInstant();
+            for (int i = 0; i < accessors.length; i++) {
+                if (i != timestampIndex) {
+                    arguments[i] = kinds[i] == FieldKind.JSON ? reader.readJson(jsonTypes[i]) : kinds[i].read(reader);
+                }
+            }
+            try {
+                return constructor.newInstance(arguments);
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException("Invalid " + typeName + " record", e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Unable to construct " + typeName, e);
+            }
+        }
+    }
+
+    private enum FieldKind {
+        STRING, INT, BOXED_INT, LONG, BOXED_LONG, DOUBLE, BOXED_DOUBLE, BOOLEAN, INSTANT, JSON;
+
+        static FieldKind of(Class<?> type) {
+            if (type == String.class) {
+                return STRING;
+            } else if (type == int.class) {
+                return INT;
+            } else if (type == Integer.class) {
+                return BOXED_INT;
+            } else if (type == long.class) {
+                return LONG;
+            } else if (type == Long.class) {
+                return BOXED_LONG;
+            } else if (type == double.class) {
+                return DOUBLE;
+            } else if (type == Double.class) {
+                return BOXED_DOUBLE;
+            } else if (type == boolean.class) {
+                return BOOLEAN;
+            } else if (type == Instant.class) {
+                return INSTANT;
+            }
+            return JSON;
+        }
+
+        void write(Writer writer, Object value) {
+            switch (this) {
+                case STRING -> writer.writeBytes(value == null ? null : ((String) value).getBytes(StandardCharsets.UTF_8));
+                case INT -> writer.writeVarLong(zigzag((Integer) value));
+                case LONG -> writer.writeVarLong(zigzag((Long) value));
+                case DOUBLE -> writer.writeLong(Double.doubleToLongBits((Double) value));
+                case BOOLEAN -> writer.out.write((Boolean) value ? 1 : 0);
+                case BOXED_INT, BOXED_LONG, BOXED_DOUBLE, INSTANT -> {
+                    writer.out.write(value == null ? 0 : 1);
+                    if (value != null) {
+                        switch (this) {
+                            case BOXED_INT -> writer.writeVarLong(zigzag((Integer) value));
+                            case BOXED_LONG -> writer.writeVarLong(zigzag((Long) value));
+                            case BOXED_DOUBLE -> writer.writeLong(Double.doubleToLongBits((Double) value));
+                            default -> writer.writeInstant((Instant) value);
+                        }
+                    }
+                }
+                case JSON -> writer.writeJson(value);
+            }
+        }
+
+        Object read(Reader reader) {
+            return switch (this) {
+                case STRING -> {
+                    byte[] bytes = reader.readBytes();
+                    yield bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+                }
+                case INT -> (int) unzigzag(reader.readVarLong());
+                case LONG -> unzigzag(reader.readVarLong());
+                case DOUBLE -> Double.longBitsToDouble(reader.readLong());
+                case BOOLEAN -> reader.readByte() != 0;
+                case BOXED_INT -> reader.readByte() == 0 ? null : (int) unzigzag(reader.readVarLong());
+                case BOXED_LONG -> reader.readByte() == 0 ? null : unzigzag(reader.readVarLong());
+                case BOXED_DOUBLE -> reader.readByte() == 0 ? null : Double.longBitsToDouble(reader.readLong());
+                case INSTANT -> reader.readByte() == 0 ? null : reader.readInstant();
+                case JSON -> throw new IllegalStateException("JSON fields are read with their declared type");
+            };
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        void writeInt(int value) {
+            out.write(value >>> 24);
+            out.write(value >>> 16);
+            out.write(value >>> 8);
+            out.write(value);
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void writeInstant(Instant value) {
+            writeVarLong(zigzag(value.getEpochSecond()));
+            writeVarLong(value.getNano());
+        }
+
+        /** Length-prefixed bytes; a prefix of zero encodes {@code null}, otherwise it is the length plus one. */
+        void writeBytes(byte[] bytes) {
+            if (bytes == null) {
+                writeVarLong(0);
+                return;
+            }
+            writeVarLong(bytes.length + 1L);
+            out.writeBytes(bytes);
+        }
+
+        void writeJson(Object value) {
+            try {
+                writeBytes(value == null ? null : MAPPER.writeValueAsBytes(value));
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to serialize event field", e);
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final ByteBuffer buffer;
+
+        Reader(byte[] payload) {
+            this.buffer = ByteBuffer.wrap(payload);
+        }
+
+        int readByte() {
+            return buffer.get() & 0xFF;
+        }
+
+        long readLong() {
+            return buffer.getLong();
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed varint");
+        }
+
+        Instant readInstant() {
+            long seconds = unzigzag(readVarLong());
+            return Instant.ofEpochSecond(seconds, readVarLong());
+        }
+
+        byte[] readBytes() {
+            long prefix = readVarLong();
+            if (prefix == 0) {
+                return null;
+            }
+            byte[] bytes = new byte[Math.toIntExact(prefix - 1)];
+            buffer.get(bytes);
+            return bytes;
+        }
+
+        Object readJson(JavaType type) {
+            byte[] bytes = readBytes();
+            if (bytes == null) {
+                return null;
+            }
+            try {
+                return MAPPER.readValue(bytes, type);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to deserialize event field", e);
+            }
+        }
+    }
+
+    /** Sliding read window over {@code [position, end)} that grows when a single frame exceeds its capacity. */
+    private static final class Window {
+        private final FileChannel channel;
+        private final long end;
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        private long bufferEnd;
+
+        Window(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.end = end;
+            this.bufferEnd = start;
+            buffer.limit(0);
+        }
+
+        /** Makes at least {@code bytes} bytes available at the buffer position; false when the range runs out. */
+        boolean ensure(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return true;
+            }
+            if (bytes > buffer.capacity()) {
+                ByteBuffer grown = ByteBuffer.allocate(bytes);
+                grown.put(buffer);
+                buffer = grown;
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < bytes && bufferEnd < end) {
+                int space = (int) Math.min(buffer.remaining(), end - bufferEnd);
+                ByteBuffer slice = buffer.slice(buffer.position(), space);
+                int read = channel.read(slice, bufferEnd);
+                if (read <= 0) {
+                    break;
+                }
+                buffer.position(buffer.position() + read);
+                bufferEnd += read;
+            }
+            buffer.flip();
+            return buffer.remaining() >= bytes;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.signalsentinel.service.store;
+
+import com.signalsentinel.core.events.Event;
+
+/**
+ * An event together with its wire encodings, serialized once per publish by {@link EventCodec#encode(Event)}
+ * and shared by every consumer. The byte arrays are handed out as-is and must be treated as read-only.
+ */
+public final class EncodedEvent {
+    private final Event event;
+    private final byte[] jsonLine;
+    private final byte[] sseFrame;
+
+    EncodedEvent(Event event, byte[] jsonLine, byte[] sseFrame) {
+        this.event = event;
+        this.jsonLine = jsonLine;
+        this.sseFrame = sseFrame;
+    }
+
+    public Event event() {
+        return event;
+    }
+
+    public String type() {
+        return event.type();
+    }
+
+    /** The JSONL store record as UTF-8, including the terminating newline. */
+    public byte[] jsonLine() {
+        return jsonLine;
+    }
+
+    /** The complete SSE frame ({@code event:} and {@code data:} lines plus the blank terminator) as UTF-8. */
+    public byte[] sseFrame() {
+        return sseFrame;
+    }
+}
@@ -0,0 +1,78 @@
+package com.signalsentinel.service.store;
+
+import com.signalsentinel.core.bus.AsyncDispatchOptions;
+import com.signalsentinel.core.bus.AsyncSubscriber;
+import com.signalsentinel.core.bus.EventBus;
+import com.signalsentinel.core.events.Event;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Subscribes to every event type once, encodes each published event a single time and hands the same
+ * {@link EncodedEvent} to all registered sinks in registration order. A failing sink is logged and does not stop
+ * delivery to the others, matching {@link EventBus} handler isolation.
+ */
+public final class EncodedEventFanout {
+    private static final Logger LOGGER = Logger.getLogger(EncodedEventFanout.class.getName());
+
+    private final EventBus eventBus;
+    private final AsyncDispatchOptions async;
+    private final List<Consumer<EncodedEvent>> sinks = new CopyOnWriteArrayList<>();
+
+    public EncodedEventFanout(EventBus eventBus) {
+        this(eventBus, null);
+    }
+
+    /**
+     * With {@code async} set, each sink gets its own bus queue and consumer thread: the publisher encodes once and
+     * only enqueues, and a slow sink delays neither the publisher nor the other sinks (until its queue fills under
+     * {@link AsyncDispatchOptions.Overflow#BLOCK}). {@code null} dispatches inline.
+     */
+    public EncodedEventFanout(EventBus eventBus, AsyncDispatchOptions async) {
+        this.eventBus = eventBus;
+        this.async = async;
+        eventBus.subscribe(Event.class, this::publish);
+    }
+
+    public void subscribe(Consumer<EncodedEvent> sink) {
+        if (async == null) {
+            sinks.add(sink);
+            return;
+        }
+        AsyncSubscriber<Queued> queue = eventBus.asyncSubscriber(
+                "event-fanout-" + sinks.size(), queued -> sink.accept(queued.encoded()), async);
+        sinks.add(encoded -> queue.accept(new Queued(encoded)));
+    }
+
+    void publish(Event event) {
+        if (sinks.isEmpty()) {
+            return;
+        }
+        EncodedEvent encoded = EventCodec.encode(event);
+        for (Consumer<EncodedEvent> sink : sinks) {
+            try {
+                sink.accept(encoded);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Event handler failed for type " + event.type(), e);
+            }
+        }
+    }
+
+    /** Carries the shared encoding through an {@link AsyncSubscriber} queue, which only holds events. */
+    private record Queued(EncodedEvent encoded) implements Event {
+        @Override
+        public Instant timestamp() {
+            return encoded.event().timestamp();
+        }
+
+        @Override
+        public String type() {
+            return encoded.type();
+        }
+    }
+}
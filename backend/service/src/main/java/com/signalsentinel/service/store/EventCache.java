@@ -0,0 +1,209 @@
+package com.signalsentinel.service.store;
+
+import com.signalsentinel.core.events.Event;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded in-memory tail of the event log: one time-ordered ring over every event plus a ring per event type.
+ * Each ring keeps a running maximum timestamp beside its events, which is non-decreasing even when events
+ * arrive slightly out of order, so {@code since} is resolved by binary search; matches are then collected
+ * newest-first and the walk stops as soon as {@code limit} is reached. Queries share a read lock and never wait
+ * on log file I/O.
+ */
+final class EventCache {
+    private final int capacity;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Ring all;
+    private final Map<String, Ring> byType = new HashMap<>();
+    private final Map<String, Long> evictedMaxByType = new HashMap<>();
+    // Highest timestamp among events that exist on disk but not here; queries reaching below it need the log.
+    private long evictedMaxTimestampMillis = Long.MIN_VALUE;
+    // Same, for events that were never decoded (so their type is unknown and they count against every type).
+    private long uncachedUnknownTypeMillis = Long.MIN_VALUE;
+
+    EventCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.all = new Ring(capacity);
+    }
+
+    void add(Event event) {
+        long timestampMillis = event.timestamp().toEpochMilli();
+        lock.writeLock().lock();
+        try {
+            if (all.size() >= capacity) {
+                Event evicted = all.removeFirst();
+                byType.get(evicted.type()).removeFirst();
+                long evictedMillis = evicted.timestamp().toEpochMilli();
+                evictedMaxTimestampMillis = Math.max(evictedMaxTimestampMillis, evictedMillis);
+                evictedMaxByType.merge(evicted.type(), evictedMillis, Math::max);
+            }
+            all.addLast(event, timestampMillis);
+            byType.computeIfAbsent(event.type(), ignored -> new Ring(Math.min(capacity, Ring.INITIAL_CAPACITY)))
+                    .addLast(event, timestampMillis);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Records that events up to {@code timestampMillis} exist on disk without ever having been cached. */
+    void markUncached(long timestampMillis) {
+        lock.writeLock().lock();
+        try {
+            evictedMaxTimestampMillis = Math.max(evictedMaxTimestampMillis, timestampMillis);
+            uncachedUnknownTypeMillis = Math.max(uncachedUnknownTypeMillis, timestampMillis);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the newest {@code limit} events at or after {@code since} (optionally of one type) in append order,
+     * or empty when older, uncached events could also match and the caller has to consult the log.
+     */
+    Optional<List<Event>> query(Instant since, Optional<String> type, int limit) {
+        if (limit <= 0) {
+            return Optional.of(List.of());
+        }
+        long sinceMillis = RangeScanCollector.sinceMillis(since);
+        lock.readLock().lock();
+        try {
+            List<Event> newestFirst = newestFirst(type, since, sinceMillis, limit);
+            if (newestFirst.size() < limit && uncachedMaxMillis(type) >= sinceMillis) {
+                return Optional.empty();
+            }
+            Collections.reverse(newestFirst);
+            return Optional.of(newestFirst);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the newest {@code limit} cached events (optionally of one type) in append order, whatever is on disk. */
+    List<Event> recent(Optional<String> type, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Event> newestFirst = newestFirst(type, Instant.EPOCH, Long.MIN_VALUE, limit);
+            Collections.reverse(newestFirst);
+            return newestFirst;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Event> newestFirst(Optional<String> type, Instant since, long sinceMillis, int limit) {
+        Ring ring = type.isPresent() ? byType.get(type.get()) : all;
+        List<Event> newestFirst = new ArrayList<>();
+        if (ring != null) {
+            int lowest = ring.firstReaching(sinceMillis);
+            for (int i = ring.size() - 1; i >= lowest && newestFirst.size() < limit; i--) {
+                Event event = ring.get(i);
+                if (!event.timestamp().isBefore(since)) {
+                    newestFirst.add(event);
+                }
+            }
+        }
+        return newestFirst;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return all.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long uncachedMaxMillis(Optional<String> type) {
+        if (type.isEmpty()) {
+            return evictedMaxTimestampMillis;
+        }
+        return Math.max(evictedMaxByType.getOrDefault(type.get(), Long.MIN_VALUE), uncachedUnknownTypeMillis);
+    }
+
+    /** Growable circular buffer of events with a running maximum timestamp per slot. */
+    private static final class Ring {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private Event[] events;
+        private long[] runningMax;
+        private int head;
+        private int size;
+
+        private Ring(int initialCapacity) {
+            this.events = new Event[initialCapacity];
+            this.runningMax = new long[initialCapacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        Event get(int i) {
+            return events[(head + i) % events.length];
+        }
+
+        void addLast(Event event, long timestampMillis) {
+            if (size == events.length) {
+                grow();
+            }
+            int slot = (head + size) % events.length;
+            long previous = size == 0 ? Long.MIN_VALUE : runningMax[(slot - 1 + events.length) % events.length];
+            events[slot] = event;
+            runningMax[slot] = Math.max(previous, timestampMillis);
+            size++;
+        }
+
+        Event removeFirst() {
+            Event event = events[head];
+            events[head] = null;
+            head = (head + 1) % events.length;
+            size--;
+            return event;
+        }
+
+        /** Index of the first event whose running maximum reaches {@code sinceMillis}; everything before is older. */
+        int firstReaching(long sinceMillis) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (runningMax[(head + mid) % events.length] < sinceMillis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void grow() {
+            int length = events.length;
+            Event[] grownEvents = new Event[length * 2];
+            long[] grownMax = new long[length * 2];
+            // Unwrap so the ring starts at slot 0 again.
+            for (int i = 0; i < size; i++) {
+                int from = (head + i) % length;
+                grownEvents[i] = events[from];
+                grownMax[i] = runningMax[from];
+            }
+            events = grownEvents;
+            runningMax = grownMax;
+            head = 0;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.signalsentinel.service.store;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalsentinel.core.bus.EventBus;
 import com.signalsentinel.core.events.AlertRaised;
 import com.signalsentinel.core.events.CollectorTickCompleted;
 import com.signalsentinel.core.events.CollectorTickStarted;
@@ -23,7 +26,9 @@ import com.signalsentinel.core.events.WeatherUpdated;
 import com.signalsentinel.core.util.JsonUtils;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -58,39 +63,105 @@ public final class EventCodec {
     }
 
     public static String toJsonLine(Event event) {
+        return new String(toJsonBytes(event, "Unable to serialize event"), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Serializes the event once and derives both the store line and the SSE frame from the same bytes, so a
+     * publish costs one serialization no matter how many stores and clients consume it.
+     */
+    public static EncodedEvent encode(Event event) {
+        byte[] json = toJsonBytes(event, "Unable to serialize event");
+        byte[] line = Arrays.copyOf(json, json.length + 1);
+        line[json.length] = '\n';
+        byte[] prefix = ("event: " + event.type() + "\ndata: ").getBytes(StandardCharsets.UTF_8);
+        byte[] frame = new byte[prefix.length + json.length + 2];
+        System.arraycopy(prefix, 0, frame, 0, prefix.length);
+        System.arraycopy(json, 0, frame, prefix.length, json.length);
+        frame[frame.length - 2] = '\n';
+        frame[frame.length - 1] = '\n';
+        return new EncodedEvent(event, line, frame);
+    }
+
+    public static Event fromJsonLine(String line) {
         try {
-            long nowMillis = Instant.now().toEpochMilli();
-            return MAPPER.writeValueAsString(new StoredEvent(event.type(), nowMillis, nowMillis, sanitize(event)));
+            return fromTree(MAPPER.readTree(line));
         } catch (IOException e) {
-            throw new IllegalStateException("Unable to serialize event", e);
+            throw new IllegalStateException("Unable to deserialize event", e);
         }
     }
 
-    public static Event fromJsonLine(String line) {
+    static Event fromJsonBytes(byte[] line) {
         try {
-            JsonNode node = MAPPER.readTree(line);
-            String type = node.path("type").asText();
-            Class<? extends Event> eventClass = TYPES.get(type);
-            if (eventClass == null) {
-                throw new IllegalArgumentException("Unsupported event type: " + type);
-            }
-            return MAPPER.treeToValue(node.path("event"), eventClass);
+            return fromTree(MAPPER.readTree(line));
         } catch (IOException e) {
             throw new IllegalStateException("Unable to deserialize event", e);
         }
     }
 
-    public static String toSseData(Event event) {
+    private static Event fromTree(JsonNode node) throws IOException {
+        String type = node.path("type").asText();
+        Class<? extends Event> eventClass = TYPES.get(type);
+        if (eventClass == null) {
+            throw new IllegalArgumentException("Unsupported event type: " + type);
+        }
+        return MAPPER.treeToValue(node.path("event"), eventClass);
+    }
+
+    /**
+     * Reads only the envelope {@code type} and the event's own {@code timestamp} from a stored line, skipping
+     * the rest of the payload, so range scans can filter records without fully decoding them.
+     */
+    static RecordHeader readHeader(byte[] line) {
+        try (JsonParser parser = MAPPER.createParser(line)) {
+            return readHeader(parser);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read event header", e);
+        }
+    }
+
+    private static RecordHeader readHeader(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalStateException("Unable to read event header");
+        }
+        String type = null;
+        Instant timestamp = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME && (type == null || timestamp == null)) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("type".equals(field)) {
+                type = parser.getValueAsString();
+            } else if ("event".equals(field) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String eventField = parser.currentName();
+                    parser.nextToken();
+                    if ("timestamp".equals(eventField)) {
+                        timestamp = MAPPER.readValue(parser, Instant.class);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (type == null || timestamp == null) {
+            throw new IllegalStateException("Event header is missing type or timestamp");
+        }
+        return new RecordHeader(type, timestamp);
+    }
+
+    private static byte[] toJsonBytes(Event event, String failure) {
         try {
             long nowMillis = Instant.now().toEpochMilli();
-            return MAPPER.writeValueAsString(new StoredEvent(event.type(), nowMillis, nowMillis, sanitize(event)));
+            return MAPPER.writeValueAsBytes(new StoredEvent(event.type(), nowMillis, nowMillis, sanitize(event)));
         } catch (IOException e) {
-            throw new IllegalStateException("Unable to serialize SSE event", e);
+            throw new IllegalStateException(failure, e);
         }
     }
 
     /** Returns a copy of the event with the email field masked, or the original event unchanged. */
-    private static Event sanitize(Event event) {
+    static Event sanitize(Event event) {
         return switch (event) {
             case UserRegistered e ->
                     new UserRegistered(e.timestamp(), e.userId(), maskEmail(e.email()));
@@ -126,24 +197,15 @@ public final class EventCodec {
         return local.charAt(0) + "***" + local.charAt(local.length() - 1) + rest;
     }
 
-    public static void subscribeAll(com.signalsentinel.core.bus.EventBus bus, Consumer<Event> consumer) {
-        bus.subscribe(CollectorTickStarted.class, consumer::accept);
-        bus.subscribe(CollectorTickCompleted.class, consumer::accept);
-        bus.subscribe(SiteFetched.class, consumer::accept);
-        bus.subscribe(ContentChanged.class, consumer::accept);
-        bus.subscribe(NewsUpdated.class, consumer::accept);
-        bus.subscribe(NewsItemsIngested.class, consumer::accept);
-        bus.subscribe(LocalHappeningsIngested.class, consumer::accept);
-        bus.subscribe(WeatherUpdated.class, consumer::accept);
-        bus.subscribe(EnvWeatherUpdated.class, consumer::accept);
-        bus.subscribe(EnvAqiUpdated.class, consumer::accept);
-        bus.subscribe(AlertRaised.class, consumer::accept);
-        bus.subscribe(UserRegistered.class, consumer::accept);
-        bus.subscribe(LoginSucceeded.class, consumer::accept);
-        bus.subscribe(LoginFailed.class, consumer::accept);
-        bus.subscribe(PasswordResetRequested.class, consumer::accept);
-        bus.subscribe(PasswordResetSucceeded.class, consumer::accept);
-        bus.subscribe(PasswordResetFailed.class, consumer::accept);
+    /**
+     * Subscribes {@code consumer} to every event with one registration on {@link Event}; the bus resolves it for
+     * each concrete type, so new event types are picked up without touching this method.
+     */
+    public static void subscribeAll(EventBus bus, Consumer<Event> consumer) {
+        bus.subscribe(Event.class, consumer);
+    }
+
+    record RecordHeader(String type, Instant timestamp) {
     }
 
     private record StoredEvent(String type, long timestampEpochMillis, long timestamp, Event event) {
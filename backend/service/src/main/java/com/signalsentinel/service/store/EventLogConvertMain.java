@@ -0,0 +1,75 @@
+package com.signalsentinel.service.store;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Converts an event log file between formats, streaming record by record. The formats are taken from the file
+ * suffixes ({@code .jsonl} or {@code .evb}); the output must not exist yet. When converting a segment in place,
+ * delete its {@code .idx} sidecar afterwards so the index is rebuilt for the new offsets.
+ */
+public final class EventLogConvertMain {
+    private EventLogConvertMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        if (args.length != 2) {
+            out.println("Usage: EventLogConvertMain <input.jsonl|input.evb> <output.jsonl|output.evb>");
+            return 1;
+        }
+        Path input = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        EventLogFormat from = EventLogFormat.fromFileName(input);
+        EventLogFormat to = EventLogFormat.fromFileName(output);
+        if (from == null || to == null) {
+            err.println("Both files must end in " + EventLogFormat.JSONL.fileSuffix() + " or " + EventLogFormat.BINARY.fileSuffix());
+            return 2;
+        }
+        if (Files.exists(output)) {
+            err.println("Output already exists: " + output);
+            return 2;
+        }
+        try {
+            long records = convert(input, from, output, to);
+            out.println("Converted " + records + " events from " + input + " (" + Files.size(input) + " bytes, " + from
+                    + ") to " + output + " (" + Files.size(output) + " bytes, " + to + ")");
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            err.println("Conversion failed: " + e.getMessage());
+            return 3;
+        }
+    }
+
+    static long convert(Path input, EventLogFormat from, Path output, EventLogFormat to) throws IOException {
+        RecordCodec reader = from.codec();
+        RecordCodec writer = to.codec();
+        long[] count = {0};
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+             OutputStream target = new BufferedOutputStream(
+                     Files.newOutputStream(output, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), 64 * 1024)) {
+            reader.scan(channel, 0, channel.size(), (offset, length, payload) -> {
+                if (reader.isEmpty(payload)) {
+                    return true;
+                }
+                try {
+                    target.write(writer.encode(reader.decode(payload)));
+                } catch (RuntimeException e) {
+                    throw new IOException("Invalid event record at offset " + offset, e);
+                }
+                count[0]++;
+                return true;
+            });
+        }
+        return count[0];
+    }
+}
@@ -0,0 +1,44 @@
+package com.signalsentinel.service.store;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * On-disk encoding of event log records. JSONL stays human-readable; BINARY is compact and cheaper to decode.
+ * The format is recorded in each file's suffix, so logs written in different formats can sit side by side.
+ */
+public enum EventLogFormat {
+    JSONL(".jsonl", JsonlRecordCodec.INSTANCE),
+    BINARY(".evb", BinaryRecordCodec.INSTANCE);
+
+    private final String fileSuffix;
+    private final RecordCodec codec;
+
+    EventLogFormat(String fileSuffix, RecordCodec codec) {
+        this.fileSuffix = fileSuffix;
+        this.codec = codec;
+    }
+
+    public String fileSuffix() {
+        return fileSuffix;
+    }
+
+    RecordCodec codec() {
+        return codec;
+    }
+
+    public static EventLogFormat parse(String raw) {
+        return EventLogFormat.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /** Returns the format whose suffix {@code file} carries, or {@code null} when it is not an event log file. */
+    public static EventLogFormat fromFileName(Path file) {
+        String name = file.getFileName().toString();
+        for (EventLogFormat format : values()) {
+            if (name.endsWith(format.fileSuffix)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
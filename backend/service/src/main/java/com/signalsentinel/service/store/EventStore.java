@@ -9,5 +9,22 @@ import java.util.Optional;
 public interface EventStore {
     void append(Event event);
 
+    /**
+     * Appends an event that was already serialized for fan-out. Stores whose on-disk record is the JSON line
+     * override this to write the shared bytes instead of encoding the event again.
+     */
+    default void append(EncodedEvent encoded) {
+        append(encoded.event());
+    }
+
     List<Event> query(Instant since, Optional<String> type, int limit);
+
+    /**
+     * Newest {@code limit} events (optionally of one type) with no lower time bound. Stores that keep an in-memory
+     * tail answer from it alone and never scan the log, so matches older than that tail are left out; pass an
+     * explicit {@code since} to {@link #query} to reach them.
+     */
+    default List<Event> recent(Optional<String> type, int limit) {
+        return query(Instant.EPOCH, type, limit);
+    }
 }
@@ -0,0 +1,47 @@
+package com.signalsentinel.service.store;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Settings for the group-commit write path of {@link JsonlEventStore}: appends are queued and a single writer
+ * thread turns each burst into one write, forced to disk according to {@link Durability}.
+ */
+public record GroupCommitOptions(int queueCapacity, int maxBatchSize, Durability durability, Duration fsyncInterval) {
+    public static final int DEFAULT_QUEUE_CAPACITY = 8_192;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 512;
+    public static final Duration DEFAULT_FSYNC_INTERVAL = Duration.ofSeconds(1);
+
+    public GroupCommitOptions {
+        if (queueCapacity <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("queueCapacity and maxBatchSize must be positive");
+        }
+        if (durability == null) {
+            throw new IllegalArgumentException("durability is required");
+        }
+        if (fsyncInterval == null || fsyncInterval.isNegative() || fsyncInterval.isZero()) {
+            throw new IllegalArgumentException("fsyncInterval must be positive");
+        }
+    }
+
+    public static GroupCommitOptions of(Durability durability) {
+        return new GroupCommitOptions(DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH_SIZE, durability, DEFAULT_FSYNC_INTERVAL);
+    }
+
+    public GroupCommitOptions withFsyncInterval(Duration interval) {
+        return new GroupCommitOptions(queueCapacity, maxBatchSize, durability, interval);
+    }
+
+    public enum Durability {
+        /** Leave flushing to the OS page cache. */
+        NONE,
+        /** {@code force()} after every batch write. */
+        BATCH,
+        /** {@code force()} at most once per {@link #fsyncInterval()}, and when the writer goes idle. */
+        INTERVAL;
+
+        public static Durability parse(String raw) {
+            return Durability.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+}
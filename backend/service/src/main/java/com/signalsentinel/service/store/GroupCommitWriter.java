@@ -0,0 +1,204 @@
+package com.signalsentinel.service.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single writer thread behind a bounded queue of already-encoded records. Each wake-up drains whatever has
+ * accumulated (up to {@code maxBatchSize}), copies it into one buffer, issues one write and then forces per the
+ * durability policy.
+ * A full queue blocks the appender, which is the intended back-pressure.
+ */
+final class GroupCommitWriter implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(GroupCommitWriter.class.getName());
+    private static final long IDLE_POLL_MILLIS = 200;
+
+    private final Path file;
+    private final GroupCommitOptions options;
+    private final BlockingQueue<byte[]> pending;
+    private final FileChannel channel;
+    private final Thread writer;
+    private final AtomicLong enqueued = new AtomicLong();
+    private final Object progress = new Object();
+    private long written;
+    private long batches;
+    private long failedBatches;
+    private volatile boolean closing;
+
+    GroupCommitWriter(Path file, GroupCommitOptions options) {
+        this.file = file;
+        this.options = options;
+        this.pending = new ArrayBlockingQueue<>(options.queueCapacity());
+        try {
+            Path parent = file.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed opening event log " + file, e);
+        }
+        this.writer = new Thread(this::run, "event-store-group-commit");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /** Queues one encoded record, newline included. */
+    void enqueue(byte[] record) {
+        if (closing) {
+            throw new IllegalStateException("Event store is closed");
+        }
+        enqueued.incrementAndGet();
+        try {
+            pending.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            markWritten(1, false);
+            throw new IllegalStateException("Interrupted while queueing event", e);
+        }
+    }
+
+    /** Blocks until every event enqueued before this call has been written (or its batch has failed). */
+    void flush() {
+        long target = enqueued.get();
+        synchronized (progress) {
+            while (written < target && writer.isAlive()) {
+                try {
+                    progress.wait(IDLE_POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    long batchCount() {
+        synchronized (progress) {
+            return batches;
+        }
+    }
+
+    long failedBatchCount() {
+        synchronized (progress) {
+            return failedBatches;
+        }
+    }
+
+    @Override
+    public void close() {
+        closing = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<byte[]> batch = new ArrayList<>(options.maxBatchSize());
+        long pollMillis = options.durability() == GroupCommitOptions.Durability.INTERVAL
+                ? Math.min(IDLE_POLL_MILLIS, options.fsyncInterval().toMillis())
+                : IDLE_POLL_MILLIS;
+        long lastForceNanos = System.nanoTime();
+        boolean unsynced = false;
+        try {
+            while (true) {
+                byte[] first = pending.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    pending.drainTo(batch, options.maxBatchSize() - 1);
+                    boolean ok = writeBatch(batch);
+                    unsynced |= ok;
+                    if (ok && options.durability() == GroupCommitOptions.Durability.BATCH) {
+                        unsynced = !force();
+                    }
+                    markWritten(batch.size(), ok);
+                    batch.clear();
+                } else if (closing) {
+                    break;
+                }
+                if (unsynced && options.durability() == GroupCommitOptions.Durability.INTERVAL
+                        && System.nanoTime() - lastForceNanos >= options.fsyncInterval().toNanos()) {
+                    unsynced = !force();
+                    lastForceNanos = System.nanoTime();
+                }
+            }
+            // Pick up anything that raced in between the closing flag and the last poll.
+            pending.drainTo(batch);
+            if (!batch.isEmpty()) {
+                boolean ok = writeBatch(batch);
+                unsynced |= ok;
+                markWritten(batch.size(), ok);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (unsynced && options.durability() != GroupCommitOptions.Durability.NONE) {
+                force();
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            synchronized (progress) {
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private boolean writeBatch(List<byte[]> batch) {
+        try {
+            int size = 0;
+            for (byte[] record : batch) {
+                size += record.length;
+            }
+            ByteBuffer bytes = ByteBuffer.allocate(size);
+            for (byte[] record : batch) {
+                bytes.put(record);
+            }
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Failed writing " + batch.size() + " events to " + file, e);
+            return false;
+        }
+    }
+
+    private boolean force() {
+        try {
+            channel.force(false);
+            return true;
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Failed syncing event log " + file, e);
+            return false;
+        }
+    }
+
+    private void markWritten(int count, boolean ok) {
+        synchronized (progress) {
+            written += count;
+            if (ok) {
+                batches++;
+            } else {
+                failedBatches++;
+            }
+            progress.notifyAll();
+        }
+    }
+}
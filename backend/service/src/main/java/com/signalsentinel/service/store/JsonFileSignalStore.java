@@ -1,5 +1,6 @@
 package com.signalsentinel.service.store;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.signalsentinel.core.model.LocalHappeningsSignal;
 import com.signalsentinel.core.model.NewsSignal;
@@ -7,71 +8,298 @@ import com.signalsentinel.core.model.SiteSignal;
 import com.signalsentinel.core.model.WeatherSignal;
 import com.signalsentinel.core.util.JsonUtils;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.logging.Logger;
 
-public class JsonFileSignalStore implements ServiceSignalStore {
+/**
+ * Signal store persisted as one JSON snapshot file. Readers get the current {@link SignalSnapshot}, published by a
+ * single volatile swap on every put, so they neither copy nor lock. Every put advances a store-wide version and
+ * stamps the entry with it, so {@link #signalsSince(long)} can answer with just the changed entries. Versions start from the wall
+ * clock at startup: entries loaded from disk carry that base version, and a client holding a version from an
+ * earlier process gets the full snapshot instead of a delta that would silently miss entries.
+ * <p>
+ * With a positive flush interval the store is write-behind: puts only mark their key dirty and the file is
+ * rewritten (as compact JSON) at most once per interval by a background flusher, and once more on {@link #close()}.
+ * A failed background flush is logged and retried after another interval. With {@link Duration#ZERO} every put
+ * rewrites the file before returning and write failures surface to the caller.
+ * <p>
+ * With a positive {@code checkpointJournalBytes} the snapshot file becomes a checkpoint: each flush appends just
+ * the dirty entries to a {@code .journal} sibling ({@link SignalJournal}) and the full snapshot is only rewritten
+ * once the journal reaches that size, after which the journal is emptied. Startup loads the checkpoint and replays
+ * the journal over it; {@link #close()} checkpoints and removes the journal. A journal left behind by journal mode
+ * is folded into the snapshot when the store is next opened without one.
+ */
+public class JsonFileSignalStore implements ServiceSignalStore, Closeable {
+    private static final Logger LOGGER = Logger.getLogger(JsonFileSignalStore.class.getName());
     private static final ObjectMapper MAPPER = JsonUtils.objectMapper();
+    private static final String SITES = SignalSnapshot.SITES;
+    private static final String NEWS = SignalSnapshot.NEWS;
+    private static final String WEATHER = SignalSnapshot.WEATHER;
+    private static final String LOCAL_HAPPENINGS = SignalSnapshot.LOCAL_HAPPENINGS;
+    public static final long DEFAULT_CHECKPOINT_JOURNAL_BYTES = 1024L * 1024;
 
     private final Path file;
+    private final Path journalFile;
+    private final Duration flushInterval;
+    private final long checkpointJournalBytes;
+    private final SnapshotWriter checkpointWriter;
+    // Serializes file writes.
     private final ReentrantLock lock = new ReentrantLock();
-    private final Map<String, SiteSignal> sites = new ConcurrentHashMap<>();
-    private final Map<String, NewsSignal> news = new ConcurrentHashMap<>();
-    private final Map<String, WeatherSignal> weather = new ConcurrentHashMap<>();
-    private final Map<String, LocalHappeningsSignal> localHappenings = new ConcurrentHashMap<>();
+    // Guarded by lock; null in snapshot mode and after close().
+    private SignalJournal journal;
+    // Serializes snapshot swaps together with the entry versions they stamp; never held for file I/O.
+    private final ReentrantLock versionLock = new ReentrantLock();
+    // Microsecond-scaled so a restart starts above every version the previous process could plausibly have issued.
+    private final long baseVersion = System.currentTimeMillis() * 1_000;
+    private volatile SignalSnapshot snapshot = SignalSnapshot.empty(baseVersion);
+    private final Map<String, Map<String, Long>> entryVersions = new HashMap<>();
+    // "category/key" of every entry put since the last successful flush.
+    private final Set<String> dirtyKeys = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile boolean closed;
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder flushedBytes = new LongAdder();
+    private final LongAdder checkpoints = new LongAdder();
+    private volatile long lastFlushBytes;
+    private volatile long lastFlushMicros;
 
     public JsonFileSignalStore(Path file) {
+        this(file, Duration.ZERO);
+    }
+
+    /** {@code flushInterval} of {@link Duration#ZERO} persists synchronously on every put. */
+    public JsonFileSignalStore(Path file, Duration flushInterval) {
+        this(file, flushInterval, 0);
+    }
+
+    /** {@code checkpointJournalBytes} of {@code 0} rewrites the whole snapshot on every flush instead of journaling. */
+    public JsonFileSignalStore(Path file, Duration flushInterval, long checkpointJournalBytes) {
+        this(file, flushInterval, checkpointJournalBytes, DurableFiles::replace);
+    }
+
+    JsonFileSignalStore(Path file, Duration flushInterval, long checkpointJournalBytes, SnapshotWriter checkpointWriter) {
+        if (flushInterval == null || flushInterval.isNegative()) {
+            throw new IllegalArgumentException("flushInterval must not be negative");
+        }
+        if (checkpointJournalBytes < 0) {
+            throw new IllegalArgumentException("checkpointJournalBytes must not be negative");
+        }
         this.file = file;
+        this.journalFile = file.resolveSibling(file.getFileName() + ".journal");
+        this.flushInterval = flushInterval;
+        this.checkpointJournalBytes = checkpointJournalBytes;
+        this.checkpointWriter = checkpointWriter;
         loadIfPresent();
+        openJournal();
+        if (flushInterval.isZero()) {
+            this.flusher = null;
+        } else {
+            ScheduledThreadPoolExecutor executor =
+                    new ScheduledThreadPoolExecutor(1, Thread.ofVirtual().name("signal-store-flush").factory());
+            // close() flushes itself; a pending delayed flush must not hold shutdown for a whole interval.
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            this.flusher = executor;
+        }
     }
 
     @Override
     public Optional<SiteSignal> getSite(String siteId) {
-        return Optional.ofNullable(sites.get(siteId));
+        return Optional.ofNullable(snapshot.sites().get(siteId));
     }
 
     @Override
     public void putSite(SiteSignal signal) {
-        sites.put(signal.siteId(), signal);
-        persist();
+        upsert(SITES, signal.siteId(), (current, next) -> current.withSite(signal.siteId(), signal, next));
+        markDirty(SITES, signal.siteId());
     }
 
     @Override
     public void putNews(NewsSignal signal) {
-        news.put(signal.source(), signal);
-        persist();
+        upsert(NEWS, signal.source(), (current, next) -> current.withNews(signal.source(), signal, next));
+        markDirty(NEWS, signal.source());
     }
 
     @Override
     public void putWeather(WeatherSignal signal) {
-        weather.put(signal.location(), signal);
-        persist();
+        upsert(WEATHER, signal.location(), (current, next) -> current.withWeather(signal.location(), signal, next));
+        markDirty(WEATHER, signal.location());
     }
 
     @Override
     public void putLocalHappenings(LocalHappeningsSignal signal) {
-        localHappenings.put(signal.location(), signal);
-        persist();
+        upsert(LOCAL_HAPPENINGS, signal.location(),
+                (current, next) -> current.withLocalHappenings(signal.location(), signal, next));
+        markDirty(LOCAL_HAPPENINGS, signal.location());
     }
 
     @Override
-    public Map<String, Object> getAllSignals() {
-        Map<String, Object> snapshot = new HashMap<>();
-        snapshot.put("sites", new HashMap<>(sites));
-        snapshot.put("news", new HashMap<>(news));
-        snapshot.put("weather", new HashMap<>(weather));
-        snapshot.put("localHappenings", new HashMap<>(localHappenings));
+    public SignalSnapshot snapshot() {
         return snapshot;
     }
 
+    @Override
+    public SignalDelta signalsSince(long sinceVersion) {
+        versionLock.lock();
+        try {
+            SignalSnapshot current = snapshot;
+            if (sinceVersion < baseVersion || sinceVersion > current.version()) {
+                return new SignalDelta(current.version(), true, current.signals());
+            }
+            Map<String, Object> changed = new HashMap<>();
+            changed.put(SITES, changedSince(SITES, current.sites(), sinceVersion));
+            changed.put(NEWS, changedSince(NEWS, current.news(), sinceVersion));
+            changed.put(WEATHER, changedSince(WEATHER, current.weather(), sinceVersion));
+            changed.put(LOCAL_HAPPENINGS, changedSince(LOCAL_HAPPENINGS, current.localHappenings(), sinceVersion));
+            return new SignalDelta(current.version(), false, changed);
+        } finally {
+            versionLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the current contents if anything changed since the last successful flush. Called by the background
+     * flusher in write-behind mode; safe to call directly at any time.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            if (dirtyKeys.isEmpty()) {
+                return;
+            }
+            // Claimed before the maps are read: a put racing with this flush either lands in this snapshot or
+            // re-marks its key for the next one.
+            Set<String> claimed = Set.copyOf(dirtyKeys);
+            dirtyKeys.removeAll(claimed);
+            long started = System.nanoTime();
+            long bytes;
+            try {
+                bytes = journal == null ? write(JsonFileSignalStore::replaceAtomically) : appendToJournal(claimed);
+            } catch (RuntimeException e) {
+                dirtyKeys.addAll(claimed);
+                failedFlushes.increment();
+                throw e;
+            }
+            if (journal != null && journal.sizeBytes() >= checkpointJournalBytes) {
+                bytes += checkpoint();
+            }
+            flushes.increment();
+            flushedBytes.add(bytes);
+            lastFlushBytes = bytes;
+            lastFlushMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the background flusher and writes any pending changes, checkpointing and removing the journal in
+     * journal mode. Later puts persist synchronously as full snapshots.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(flushInterval.toMillis() + 5_000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        closeJournal();
+    }
+
+    @Override
+    public Map<String, Object> metricsSnapshot() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("persistence", checkpointJournalBytes > 0 ? "journal" : "snapshot");
+        metrics.put("flushIntervalMillis", flushInterval.toMillis());
+        metrics.put("pendingKeys", dirtyKeys.size());
+        metrics.put("flushes", flushes.longValue());
+        metrics.put("failedFlushes", failedFlushes.longValue());
+        metrics.put("flushedBytes", flushedBytes.longValue());
+        metrics.put("lastFlushBytes", lastFlushBytes);
+        metrics.put("lastFlushMicros", lastFlushMicros);
+        metrics.put("journalBytes", journalBytes());
+        metrics.put("checkpoints", checkpoints.longValue());
+        return metrics;
+    }
+
+    private void markDirty(String category, String key) {
+        dirtyKeys.add(category + "/" + key);
+        if (flusher == null || closed) {
+            flush();
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        try {
+            flusher.schedule(this::backgroundFlush, flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException shutDown) {
+            // close() has started; it flushes whatever is still dirty.
+            flushScheduled.set(false);
+        }
+    }
+
+    private void backgroundFlush() {
+        flushScheduled.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOGGER.warning("Signal store flush failed, retrying in " + flushInterval.toMillis() + "ms: " + e.getMessage());
+            if (!closed && flushScheduled.compareAndSet(false, true)) {
+                scheduleFlush();
+            }
+        }
+    }
+
+    private void upsert(String category, String key, BiFunction<SignalSnapshot, Long, SignalSnapshot> apply) {
+        versionLock.lock();
+        try {
+            long next = snapshot.version() + 1;
+            snapshot = apply.apply(snapshot, next);
+            entryVersions.computeIfAbsent(category, ignored -> new HashMap<>()).put(key, next);
+        } finally {
+            versionLock.unlock();
+        }
+    }
+
+    private <T> Map<String, T> changedSince(String category, Map<String, T> entries, long sinceVersion) {
+        Map<String, T> changed = new HashMap<>();
+        for (Map.Entry<String, Long> stamped : entryVersions.getOrDefault(category, Map.of()).entrySet()) {
+            if (stamped.getValue() > sinceVersion) {
+                changed.put(stamped.getKey(), entries.get(stamped.getKey()));
+            }
+        }
+        return changed;
+    }
+
     private void loadIfPresent() {
         lock.lock();
         try {
@@ -80,18 +308,8 @@ public class JsonFileSignalStore implements ServiceSignalStore {
             }
             try (InputStream in = Files.newInputStream(file)) {
                 SignalSnapshotFile loaded = MAPPER.readValue(in, SignalSnapshotFile.class);
-                if (loaded.sites() != null) {
-                    sites.putAll(loaded.sites());
-                }
-                if (loaded.news() != null) {
-                    news.putAll(loaded.news());
-                }
-                if (loaded.weather() != null) {
-                    weather.putAll(loaded.weather());
-                }
-                if (loaded.localHappenings() != null) {
-                    localHappenings.putAll(loaded.localHappenings());
-                }
+                snapshot = SignalSnapshot.of(
+                        baseVersion, loaded.sites(), loaded.news(), loaded.weather(), loaded.localHappenings());
             }
         } catch (IOException e) {
             throw new IllegalStateException("Failed loading signals from " + file, e);
@@ -100,29 +318,131 @@ public class JsonFileSignalStore implements ServiceSignalStore {
         }
     }
 
-    private void persist() {
+    private void openJournal() {
         lock.lock();
         try {
-            Path parent = file.getParent();
-            if (parent != null) {
-                Files.createDirectories(parent);
+            if (checkpointJournalBytes > 0) {
+                journal = SignalJournal.open(journalFile, this::replay);
+            } else if (Files.exists(journalFile)) {
+                // Switched back from journal mode after a crash: fold the leftover journal into the snapshot.
+                if (SignalJournal.replayOnly(journalFile, this::replay) > 0) {
+                    write(checkpointWriter);
+                }
+                Files.delete(journalFile);
             }
-            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
-            MAPPER.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(),
-                    new SignalSnapshotFile(
-                            new HashMap<>(sites),
-                            new HashMap<>(news),
-                            new HashMap<>(weather),
-                            new HashMap<>(localHappenings)
-                    ));
-            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (IOException e) {
-            throw new IllegalStateException("Failed writing signals to " + file, e);
+            throw new IllegalStateException("Failed replaying signal journal " + journalFile, e);
         } finally {
             lock.unlock();
         }
     }
 
+    // Replayed entries keep the base version, like entries loaded from the checkpoint.
+    private void replay(String category, String key, JsonNode signal) throws IOException {
+        switch (category) {
+            case SITES -> snapshot = snapshot.withSite(key, MAPPER.treeToValue(signal, SiteSignal.class), baseVersion);
+            case NEWS -> snapshot = snapshot.withNews(key, MAPPER.treeToValue(signal, NewsSignal.class), baseVersion);
+            case WEATHER -> snapshot = snapshot.withWeather(
+                    key, MAPPER.treeToValue(signal, WeatherSignal.class), baseVersion);
+            case LOCAL_HAPPENINGS -> snapshot = snapshot.withLocalHappenings(
+                    key, MAPPER.treeToValue(signal, LocalHappeningsSignal.class), baseVersion);
+            default -> LOGGER.warning("Skipping journaled signal with unknown category " + category);
+        }
+    }
+
+    private long appendToJournal(Set<String> dirty) {
+        SignalSnapshot current = snapshot;
+        List<SignalJournal.Upsert> upserts = new ArrayList<>(dirty.size());
+        for (String dirtyKey : dirty) {
+            int separator = dirtyKey.indexOf('/');
+            String category = dirtyKey.substring(0, separator);
+            String key = dirtyKey.substring(separator + 1);
+            upserts.add(new SignalJournal.Upsert(category, key, current.category(category).get(key)));
+        }
+        try {
+            return journal.append(upserts);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed journaling signals to " + journalFile, e);
+        }
+    }
+
+    /**
+     * Rewrites the snapshot and empties the journal. A failure leaves the journal in place, so nothing is lost and
+     * the next flush retries; returns the bytes written.
+     */
+    private long checkpoint() {
+        try {
+            long bytes = write(checkpointWriter);
+            journal.reset();
+            checkpoints.increment();
+            return bytes;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Signal store checkpoint failed, keeping journal " + journalFile + ": " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private void closeJournal() {
+        lock.lock();
+        try {
+            if (journal == null) {
+                return;
+            }
+            SignalJournal closing = journal;
+            journal = null;
+            try {
+                closing.close();
+                write(checkpointWriter);
+                Files.deleteIfExists(journalFile);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed checkpointing signal journal " + journalFile, e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long journalBytes() {
+        lock.lock();
+        try {
+            return journal == null ? 0 : journal.sizeBytes();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the snapshot file through {@code writer}: {@link #checkpointWriter} when the journal is emptied or
+     * deleted afterwards, so the snapshot must reach disk first, and a plain atomic replace otherwise.
+     */
+    private long write(SnapshotWriter writer) {
+        try {
+            SignalSnapshot current = snapshot;
+            byte[] json = MAPPER.writeValueAsBytes(new SignalSnapshotFile(
+                    current.sites(), current.news(), current.weather(), current.localHappenings()));
+            writer.replace(file, json);
+            return json.length;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed writing signals to " + file, e);
+        }
+    }
+
+    private static void replaceAtomically(Path target, byte[] json) throws IOException {
+        Path parent = target.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(tmp, json);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Persists a full checkpoint snapshot; must have forced the file and its rename to disk before returning. */
+    @FunctionalInterface
+    interface SnapshotWriter {
+        void replace(Path file, byte[] json) throws IOException;
+    }
+
     private record SignalSnapshotFile(
             Map<String, SiteSignal> sites,
             Map<String, NewsSignal> news,
@@ -2,55 +2,80 @@ package com.signalsentinel.service.store;
 
 import com.signalsentinel.core.events.Event;
 
-import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
 
-public class JsonlEventStore implements EventStore {
+public class JsonlEventStore implements EventStore, Closeable {
     static final int DEFAULT_CACHE_CAPACITY = 1_000;
+    private static final Logger LOGGER = Logger.getLogger(JsonlEventStore.class.getName());
+    private static final RecordCodec CODEC = JsonlRecordCodec.INSTANCE;
 
     private final Path file;
     private final int cacheCapacity;
     private final ReentrantLock lock = new ReentrantLock();
-    private final ArrayDeque<Event> cache = new ArrayDeque<>();
+    private final EventCache cache;
+    private final GroupCommitWriter groupCommit;
+    private final ReentrantLock diskIndexLock = new ReentrantLock();
+    // Built on the first query that reaches past the cache, then extended incrementally by later ones.
+    private SparseTimestampIndex diskIndex;
+    private Duration startupLoadDuration = Duration.ZERO;
 
     public JsonlEventStore(Path file) {
         this(file, DEFAULT_CACHE_CAPACITY);
     }
 
+    /**
+     * Creates a store whose appends are queued and written in batches by a background writer, so a burst of
+     * events costs one write (and at most one fsync) instead of one file open per event.
+     */
+    public JsonlEventStore(Path file, GroupCommitOptions groupCommitOptions) {
+        this(file, DEFAULT_CACHE_CAPACITY, groupCommitOptions);
+    }
+
     JsonlEventStore(Path file, int cacheCapacity) {
+        this(file, cacheCapacity, null);
+    }
+
+    JsonlEventStore(Path file, int cacheCapacity, GroupCommitOptions groupCommitOptions) {
         this.file = file;
         this.cacheCapacity = cacheCapacity;
+        this.cache = new EventCache(cacheCapacity);
         loadCacheIfPresent();
+        this.groupCommit = groupCommitOptions == null ? null : new GroupCommitWriter(file, groupCommitOptions);
     }
 
     @Override
     public void append(Event event) {
+        append(EventCodec.encode(event));
+    }
+
+    @Override
+    public void append(EncodedEvent encoded) {
+        Event event = encoded.event();
+        if (groupCommit != null) {
+            groupCommit.enqueue(encoded.jsonLine());
+            cache.add(event);
+            return;
+        }
         lock.lock();
         try {
             Files.createDirectories(file.getParent());
-            try (BufferedWriter writer = Files.newBufferedWriter(
-                    file,
-                    StandardCharsets.UTF_8,
-                    StandardOpenOption.CREATE,
-                    StandardOpenOption.APPEND
-            )) {
-                writer.write(EventCodec.toJsonLine(event));
-                writer.newLine();
-            }
-            if (cache.size() >= cacheCapacity) {
-                cache.removeFirst();
+            try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                out.write(encoded.jsonLine());
             }
-            cache.addLast(event);
+            cache.add(event);
         } catch (IOException e) {
             throw new IllegalStateException("Failed appending event", e);
         } finally {
@@ -58,51 +83,123 @@ public class JsonlEventStore implements EventStore {
         }
     }
 
+    /**
+     * Answers from the cache when it provably holds every match. Otherwise seeks into the log with a sparse
+     * timestamp index and streams the newest {@code limit} matches from there, without loading the file.
+     */
     @Override
     public List<Event> query(Instant since, Optional<String> type, int limit) {
-        lock.lock();
-        try {
-            List<Event> events = new ArrayList<>();
-            for (Event event : cache) {
-                if (event.timestamp().isBefore(since)) {
-                    continue;
-                }
-                if (type.isPresent() && !type.get().equals(event.type())) {
-                    continue;
-                }
-                events.add(event);
-            }
-            if (events.size() <= limit) {
-                return events;
+        return cache.query(since, type, limit).orElseGet(() -> queryDisk(since, type, limit));
+    }
+
+    /** Served from the in-memory tail only; the log is never read. */
+    @Override
+    public List<Event> recent(Optional<String> type, int limit) {
+        return cache.recent(type, limit);
+    }
+
+    /** Waits until every event appended so far has reached the file. A no-op for synchronous stores. */
+    public void flush() {
+        if (groupCommit != null) {
+            groupCommit.flush();
+        }
+    }
+
+    /** Drains queued group-commit writes, applies the final fsync and stops the writer thread. */
+    @Override
+    public void close() {
+        if (groupCommit != null) {
+            groupCommit.close();
+        }
+    }
+
+    /** Time spent restoring the cache from the log when this store was opened. */
+    public Duration startupLoadDuration() {
+        return startupLoadDuration;
+    }
+
+    long groupCommitBatchCount() {
+        return groupCommit == null ? 0 : groupCommit.batchCount();
+    }
+
+    private List<Event> queryDisk(Instant since, Optional<String> type, int limit) {
+        flush();
+        try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+            long seekOffset;
+            long endOffset;
+            diskIndexLock.lock();
+            try {
+                endOffset = catchUpDiskIndex(reader);
+                seekOffset = diskIndex.seekOffset(RangeScanCollector.sinceMillis(since));
+            } finally {
+                diskIndexLock.unlock();
             }
-            return events.subList(events.size() - limit, events.size());
-        } finally {
-            lock.unlock();
+            RangeScanCollector collector = new RangeScanCollector(since, type, limit);
+            CODEC.scan(reader, seekOffset, endOffset, collector.visitor(CODEC));
+            return collector.events();
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed reading events from " + file, e);
         }
     }
 
+    /** Indexes records appended since the last disk query. Returns the end of the last complete record. */
+    private long catchUpDiskIndex(FileChannel reader) throws IOException {
+        long size = reader.size();
+        if (diskIndex == null || size < diskIndex.endOffset()) {
+            diskIndex = new SparseTimestampIndex(SparseTimestampIndex.DEFAULT_INTERVAL_BYTES);
+        }
+        SparseTimestampIndex index = diskIndex;
+        CODEC.scan(reader, index.endOffset(), size, (offset, length, payload) -> {
+            long timestamp = index.maxTimestampMillis();
+            if (!CODEC.isEmpty(payload)) {
+                try {
+                    timestamp = CODEC.readHeader(payload).timestamp().toEpochMilli();
+                } catch (RuntimeException decodeError) {
+                    throw new IllegalStateException("Invalid JSONL event at offset " + offset, decodeError);
+                }
+            }
+            index.onRecord(offset, length, timestamp);
+            return true;
+        });
+        return index.endOffset();
+    }
+
     private void loadCacheIfPresent() {
+        long started = System.nanoTime();
+        if (!Files.exists(file)) {
+            return;
+        }
         lock.lock();
-        try {
-            if (!Files.exists(file)) {
-                return;
-            }
-            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
-            // Only load the most recent cacheCapacity lines to bound startup time.
-            int start = Math.max(0, lines.size() - cacheCapacity);
-            for (int i = start; i < lines.size(); i++) {
-                String line = lines.get(i);
-                if (line.isBlank()) {
-                    continue;
+        try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Walk the log backwards and decode only the newest cacheCapacity records, so startup time and heap
+            // stay flat however large the log has grown.
+            List<RecordCodec.Record> records = CODEC.readLast(reader, reader.size(), cacheCapacity + 1);
+            if (records.size() > cacheCapacity) {
+                // One record past the cache: events are appended in publish order, so the newest skipped record
+                // bounds every uncached timestamp and only queries reaching back that far go to disk.
+                RecordCodec.Record newestSkipped = records.removeFirst();
+                long skippedMillis;
+                try {
+                    skippedMillis = CODEC.readHeader(newestSkipped.payload()).timestamp().toEpochMilli();
+                } catch (RuntimeException decodeError) {
+                    throw new IllegalStateException("Invalid JSONL event at offset " + newestSkipped.offset(), decodeError);
                 }
+                cache.markUncached(skippedMillis);
+            }
+            for (RecordCodec.Record record : records) {
                 Event event;
                 try {
-                    event = EventCodec.fromJsonLine(line);
+                    event = CODEC.decode(record.payload());
                 } catch (RuntimeException decodeError) {
-                    throw new IllegalStateException("Invalid JSONL event at line " + (i + 1), decodeError);
+                    throw new IllegalStateException("Invalid JSONL event at offset " + record.offset(), decodeError);
                 }
-                cache.addLast(event);
+                cache.add(event);
             }
+            startupLoadDuration = Duration.ofNanos(System.nanoTime() - started);
+            LOGGER.info("Loaded " + records.size() + " events from " + file + " in " + startupLoadDuration.toMillis()
+                    + " ms (log size " + reader.size() + " bytes)");
         } catch (IOException e) {
             throw new IllegalStateException("Failed loading events from " + file, e);
         } finally {
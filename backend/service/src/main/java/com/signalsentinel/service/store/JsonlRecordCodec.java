@@ -0,0 +1,163 @@
+package com.signalsentinel.service.store;
+
+import com.signalsentinel.core.events.Event;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Newline-delimited JSON records ({@link EventCodec#toJsonLine}). Streams records out of a log file with their
+ * byte offsets, without loading the file, and reads the newest records from the tail backwards for startup.
+ */
+final class JsonlRecordCodec implements RecordCodec {
+    static final JsonlRecordCodec INSTANCE = new JsonlRecordCodec();
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private JsonlRecordCodec() {
+    }
+
+    @Override
+    public byte[] encode(Event event) {
+        return EventCodec.encode(event).jsonLine();
+    }
+
+    @Override
+    public byte[] encode(EncodedEvent encoded) {
+        return encoded.jsonLine();
+    }
+
+    @Override
+    public Event decode(byte[] payload) {
+        return EventCodec.fromJsonBytes(payload);
+    }
+
+    @Override
+    public EventCodec.RecordHeader readHeader(byte[] payload) {
+        return EventCodec.readHeader(payload);
+    }
+
+    @Override
+    public boolean isEmpty(byte[] payload) {
+        for (byte b : payload) {
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Visits every newline-terminated record; a trailing record with no terminating newline is not visited. */
+    @Override
+    public long scan(FileChannel channel, long fromOffset, long endOffset, RecordVisitor visitor) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        long position = fromOffset;
+        long recordStart = fromOffset;
+        while (position < endOffset) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), endOffset - position));
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            byte[] bytes = buffer.array();
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] != '\n') {
+                    continue;
+                }
+                pending.write(bytes, start, i - start);
+                long next = position + i + 1;
+                byte[] payload = stripCarriageReturn(pending.toByteArray());
+                pending.reset();
+                if (!visitor.visit(recordStart, (int) (next - recordStart), payload)) {
+                    return next;
+                }
+                recordStart = next;
+                start = i + 1;
+            }
+            pending.write(bytes, start, read - start);
+            position += read;
+        }
+        return recordStart;
+    }
+
+    /**
+     * The file is walked backwards in chunks to find where the last records start, so only the tail is ever read.
+     * An unterminated trailing record is included, matching line-oriented readers.
+     */
+    @Override
+    public List<Record> readLast(FileChannel channel, long endOffset, int maxRecords) throws IOException {
+        if (maxRecords <= 0 || endOffset <= 0) {
+            return List.of();
+        }
+        long start = startOfLastRecords(channel, endOffset, maxRecords);
+        ByteBuffer tail = ByteBuffer.allocate(Math.toIntExact(endOffset - start));
+        while (tail.hasRemaining()) {
+            if (channel.read(tail, start + tail.position()) < 0) {
+                break;
+            }
+        }
+        byte[] bytes = tail.array();
+        int length = tail.position();
+        List<Record> records = new ArrayList<>();
+        int lineStart = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i < length && bytes[i] != '\n') {
+                continue;
+            }
+            byte[] payload = stripCarriageReturn(Arrays.copyOfRange(bytes, lineStart, i));
+            if (!isEmpty(payload)) {
+                records.add(new Record(start + lineStart, payload));
+            }
+            lineStart = i + 1;
+        }
+        return records;
+    }
+
+    private long startOfLastRecords(FileChannel channel, long endOffset, int maxRecords) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        byte[] bytes = buffer.array();
+        int found = 0;
+        boolean hasContent = false;
+        long position = endOffset;
+        while (position > 0) {
+            int chunk = (int) Math.min(BUFFER_BYTES, position);
+            long chunkStart = position - chunk;
+            buffer.clear();
+            buffer.limit(chunk);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, chunkStart + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of file while reading backwards");
+                }
+            }
+            for (int i = chunk - 1; i >= 0; i--) {
+                byte b = bytes[i];
+                long offset = chunkStart + i;
+                if (b == '\n' && offset != endOffset - 1) {
+                    // Boundary between two records: the one after it is complete.
+                    if (hasContent && ++found == maxRecords) {
+                        return offset + 1;
+                    }
+                    hasContent = false;
+                } else if (b != '\n' && b != '\r' && b != ' ' && b != '\t') {
+                    hasContent = true;
+                }
+            }
+            position = chunkStart;
+        }
+        return 0;
+    }
+
+    private static byte[] stripCarriageReturn(byte[] line) {
+        if (line.length > 0 && line[line.length - 1] == '\r') {
+            return Arrays.copyOf(line, line.length - 1);
+        }
+        return line;
+    }
+}
@@ -0,0 +1,278 @@
+package com.signalsentinel.service.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * One file of a {@link SegmentedEventStore}: event records in the segment's {@link EventLogFormat} plus a sidecar
+ * sparse timestamp index. Only the active segment holds open channels; sealed segments are read on demand.
+ */
+final class LogSegment implements Closeable {
+    static final String INDEX_SUFFIX = ".idx";
+    private static final Logger LOGGER = Logger.getLogger(LogSegment.class.getName());
+
+    private final long id;
+    private final EventLogFormat format;
+    private final RecordCodec codec;
+    private final Path logFile;
+    private final Path indexFile;
+    private final SparseTimestampIndex index;
+    private FileChannel channel;
+    private FileChannel indexChannel;
+    private long firstTimestampMillis = Long.MIN_VALUE;
+
+    private LogSegment(Path directory, long id, EventLogFormat format, int indexIntervalBytes) {
+        this.id = id;
+        this.format = format;
+        this.codec = format.codec();
+        this.logFile = directory.resolve(logFileName(id, format));
+        this.indexFile = directory.resolve(fileStem(id) + INDEX_SUFFIX);
+        this.index = new SparseTimestampIndex(indexIntervalBytes);
+    }
+
+    static LogSegment create(Path directory, long id, EventLogFormat format, int indexIntervalBytes) throws IOException {
+        LogSegment segment = new LogSegment(directory, id, format, indexIntervalBytes);
+        Files.deleteIfExists(segment.indexFile);
+        segment.openForAppend();
+        return segment;
+    }
+
+    /**
+     * Opens an existing segment, restoring its index from disk and re-scanning only the records written after
+     * the last persisted index entry. When {@code active}, a torn trailing record is truncated away and the
+     * segment is reopened for appends.
+     */
+    static LogSegment open(Path logFile, int indexIntervalBytes, boolean active) throws IOException {
+        LogSegment segment = new LogSegment(
+                logFile.getParent(), parseId(logFile), EventLogFormat.fromFileName(logFile), indexIntervalBytes);
+        segment.recover(active);
+        if (active) {
+            segment.openForAppend();
+        }
+        return segment;
+    }
+
+    static boolean isSegmentFile(Path path) {
+        EventLogFormat format = EventLogFormat.fromFileName(path);
+        if (format == null) {
+            return false;
+        }
+        String stem = stem(path, format);
+        return !stem.isEmpty() && stem.chars().allMatch(Character::isDigit);
+    }
+
+    static String logFileName(long id) {
+        return logFileName(id, EventLogFormat.JSONL);
+    }
+
+    static String logFileName(long id, EventLogFormat format) {
+        return fileStem(id) + format.fileSuffix();
+    }
+
+    static long parseId(Path logFile) {
+        return Long.parseLong(stem(logFile, EventLogFormat.fromFileName(logFile)));
+    }
+
+    void append(byte[] record, long timestampMillis) throws IOException {
+        if (channel == null) {
+            throw new IllegalStateException("Segment " + logFile + " is sealed");
+        }
+        long offset = index.endOffset();
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (firstTimestampMillis == Long.MIN_VALUE) {
+            firstTimestampMillis = timestampMillis;
+        }
+        if (index.onRecord(offset, record.length, timestampMillis)) {
+            writeIndexEntry(index.size() - 1);
+        }
+    }
+
+    /** Streams records from {@code fromOffset} to the current end of the segment. */
+    void scan(long fromOffset, RecordCodec.RecordVisitor visitor) throws IOException {
+        scan(fromOffset, index.endOffset(), visitor);
+    }
+
+    /** Streams records in {@code [fromOffset, end)}; callers snapshot {@code end} while holding the store lock. */
+    void scan(long fromOffset, long end, RecordCodec.RecordVisitor visitor) throws IOException {
+        if (fromOffset >= end) {
+            return;
+        }
+        try (FileChannel reader = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            codec.scan(reader, fromOffset, end, visitor);
+        }
+    }
+
+    /** Returns the newest {@code maxRecords} records of the segment, reading it backwards from the end. */
+    List<RecordCodec.Record> readLast(int maxRecords) throws IOException {
+        long end = index.endOffset();
+        if (end == 0) {
+            return List.of();
+        }
+        try (FileChannel reader = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            return codec.readLast(reader, end, maxRecords);
+        }
+    }
+
+    /** Closes the write channels; the segment stays readable. */
+    void seal() throws IOException {
+        close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(logFile);
+        Files.deleteIfExists(indexFile);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            channel = null;
+            if (indexChannel != null) {
+                indexChannel.close();
+            }
+            indexChannel = null;
+        }
+    }
+
+    long id() {
+        return id;
+    }
+
+    EventLogFormat format() {
+        return format;
+    }
+
+    RecordCodec codec() {
+        return codec;
+    }
+
+    Path logFile() {
+        return logFile;
+    }
+
+    SparseTimestampIndex index() {
+        return index;
+    }
+
+    long sizeBytes() {
+        return index.endOffset();
+    }
+
+    boolean isEmpty() {
+        return firstTimestampMillis == Long.MIN_VALUE;
+    }
+
+    long firstTimestampMillis() {
+        return firstTimestampMillis;
+    }
+
+    long maxTimestampMillis() {
+        return index.maxTimestampMillis();
+    }
+
+    private void openForAppend() throws IOException {
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        indexChannel = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void recover(boolean active) throws IOException {
+        long fileSize = Files.size(logFile);
+        loadIndex(fileSize);
+        try (FileChannel reader = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            codec.scan(reader, 0, fileSize, (offset, length, payload) -> {
+                if (codec.isEmpty(payload)) {
+                    return true;
+                }
+                firstTimestampMillis = decodeTimestamp(payload, offset);
+                return false;
+            });
+            long end = codec.scan(reader, index.lastEntryOffset(), fileSize, (offset, length, payload) -> {
+                long timestamp = codec.isEmpty(payload) ? index.maxTimestampMillis() : decodeTimestamp(payload, offset);
+                index.onRecord(offset, length, timestamp);
+                return true;
+            });
+            if (end < fileSize && active) {
+                LOGGER.warning("Truncating torn record at end of " + logFile + " (" + (fileSize - end) + " bytes)");
+                try (FileChannel writer = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+                    writer.truncate(end);
+                }
+            }
+        }
+        if (!Files.exists(indexFile) || Files.size(indexFile) != (long) index.size() * SparseTimestampIndex.ENTRY_BYTES) {
+            rewriteIndex();
+        }
+    }
+
+    private long decodeTimestamp(byte[] payload, long offset) {
+        try {
+            return codec.readHeader(payload).timestamp().toEpochMilli();
+        } catch (RuntimeException decodeError) {
+            throw new IllegalStateException("Invalid event record in " + logFile + " at offset " + offset, decodeError);
+        }
+    }
+
+    private void loadIndex(long logSize) throws IOException {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        ByteBuffer entries = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+        while (entries.remaining() >= SparseTimestampIndex.ENTRY_BYTES) {
+            long watermark = entries.getLong();
+            long offset = entries.getLong();
+            if (offset >= logSize) {
+                break;
+            }
+            try {
+                index.restore(watermark, offset);
+            } catch (IllegalArgumentException corrupt) {
+                break;
+            }
+        }
+    }
+
+    private void rewriteIndex() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(index.size() * SparseTimestampIndex.ENTRY_BYTES);
+        for (int i = 0; i < index.size(); i++) {
+            buffer.putLong(index.watermarkAt(i));
+            buffer.putLong(index.offsetAt(i));
+        }
+        Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        Files.write(tmp, buffer.array());
+        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeIndexEntry(int i) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SparseTimestampIndex.ENTRY_BYTES);
+        buffer.putLong(index.watermarkAt(i));
+        buffer.putLong(index.offsetAt(i));
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            indexChannel.write(buffer);
+        }
+    }
+
+    private static String stem(Path logFile, EventLogFormat format) {
+        String name = logFile.getFileName().toString();
+        return name.substring(0, name.length() - format.fileSuffix().length());
+    }
+
+    private static String fileStem(long id) {
+        return String.format("%020d", id);
+    }
+}
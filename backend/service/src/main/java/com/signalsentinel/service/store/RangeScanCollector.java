@@ -0,0 +1,72 @@
+package com.signalsentinel.service.store;
+
+import com.signalsentinel.core.events.Event;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Collects the result of an on-disk range query. Records are filtered on their header alone and only the newest
+ * {@code limit} matching records are kept, so memory stays bounded by the limit rather than the scanned range;
+ * full decoding is deferred until {@link #events()}.
+ */
+final class RangeScanCollector {
+    private final Instant since;
+    private final Optional<String> type;
+    private final int limit;
+    private final ArrayDeque<Match> newest = new ArrayDeque<>();
+
+    RangeScanCollector(Instant since, Optional<String> type, int limit) {
+        this.since = since;
+        this.type = type;
+        this.limit = limit;
+    }
+
+    /** {@code since} as epoch millis, clamped so extreme query parameters cannot overflow. */
+    static long sinceMillis(Instant since) {
+        try {
+            return since.toEpochMilli();
+        } catch (ArithmeticException overflow) {
+            return since.isBefore(Instant.EPOCH) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /** Returns a visitor that feeds records encoded with {@code codec} into this collector. */
+    RecordCodec.RecordVisitor visitor(RecordCodec codec) {
+        return (offset, length, payload) -> {
+            accept(codec, payload);
+            return true;
+        };
+    }
+
+    List<Event> events() {
+        List<Event> events = new ArrayList<>(newest.size());
+        for (Match match : newest) {
+            events.add(match.codec().decode(match.payload()));
+        }
+        return events;
+    }
+
+    private void accept(RecordCodec codec, byte[] payload) {
+        if (limit <= 0 || codec.isEmpty(payload)) {
+            return;
+        }
+        EventCodec.RecordHeader header = codec.readHeader(payload);
+        if (header.timestamp().isBefore(since)) {
+            return;
+        }
+        if (type.isPresent() && !type.get().equals(header.type())) {
+            return;
+        }
+        if (newest.size() >= limit) {
+            newest.removeFirst();
+        }
+        newest.addLast(new Match(codec, payload));
+    }
+
+    private record Match(RecordCodec codec, byte[] payload) {
+    }
+}
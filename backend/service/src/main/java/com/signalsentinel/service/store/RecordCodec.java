@@ -0,0 +1,48 @@
+package com.signalsentinel.service.store;
+
+import com.signalsentinel.core.events.Event;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+/**
+ * On-disk representation of event records: how one event is encoded and framed, and how framed records are
+ * streamed forwards or read back from the tail of a file. Offsets handed to visitors are record boundaries, so
+ * the sparse timestamp index works the same for every codec.
+ */
+interface RecordCodec {
+    /** Encodes one event into a complete framed record, ready to append. */
+    byte[] encode(Event event);
+
+    /** Encodes an event that was already serialized for fan-out, reusing its bytes where the formats agree. */
+    default byte[] encode(EncodedEvent encoded) {
+        return encode(encoded.event());
+    }
+
+    Event decode(byte[] payload);
+
+    /** Reads the type and event timestamp of a record without decoding the rest of it. */
+    EventCodec.RecordHeader readHeader(byte[] payload);
+
+    /** Whether a record carries no event at all (blank JSONL lines); such records are skipped by readers. */
+    boolean isEmpty(byte[] payload);
+
+    /**
+     * Visits every complete record between {@code fromOffset} and {@code endOffset}. A torn trailing record is not
+     * visited. Returns the offset just past the last record that was visited.
+     */
+    long scan(FileChannel channel, long fromOffset, long endOffset, RecordVisitor visitor) throws IOException;
+
+    /** Returns the last {@code maxRecords} non-empty records ending at {@code endOffset}, oldest first. */
+    List<Record> readLast(FileChannel channel, long endOffset, int maxRecords) throws IOException;
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        /** Receives one record payload (without framing). Return {@code false} to stop scanning. */
+        boolean visit(long offset, int length, byte[] payload) throws IOException;
+    }
+
+    record Record(long offset, byte[] payload) {
+    }
+}
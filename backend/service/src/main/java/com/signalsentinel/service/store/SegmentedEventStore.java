@@ -0,0 +1,376 @@
+package com.signalsentinel.service.store;
+
+import com.signalsentinel.core.events.Event;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Append-only event log split into size/time bounded segments under one directory. The active segment keeps a
+ * long-lived {@link java.nio.channels.FileChannel}; each segment carries a sparse timestamp index; sealed
+ * segments are deleted once they fall outside the retention window.
+ */
+public class SegmentedEventStore implements EventStore, Closeable {
+    private static final Logger LOGGER = Logger.getLogger(SegmentedEventStore.class.getName());
+
+    private final Path directory;
+    private final Options options;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<LogSegment> segments = new ArrayList<>();
+    private final EventCache cache;
+    private LogSegment active;
+
+    public SegmentedEventStore(Path directory, Options options, Clock clock) {
+        this.directory = directory;
+        this.options = options;
+        this.clock = clock;
+        this.cache = new EventCache(options.cacheCapacity());
+        open();
+    }
+
+    /**
+     * Adopts a legacy single-file JSONL log as the first segment of {@code directory}, so switching engines keeps
+     * history. Does nothing when the legacy file is absent or the directory already holds segments.
+     */
+    public static void migrateLegacyLog(Path legacyFile, Path directory) {
+        try {
+            if (!Files.exists(legacyFile)) {
+                return;
+            }
+            Files.createDirectories(directory);
+            try (Stream<Path> existing = Files.list(directory)) {
+                if (existing.anyMatch(LogSegment::isSegmentFile)) {
+                    return;
+                }
+            }
+            Path target = directory.resolve(LogSegment.logFileName(1));
+            Files.move(legacyFile, target);
+            LOGGER.info("Migrated legacy event log " + legacyFile + " to " + target);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed migrating legacy event log " + legacyFile, e);
+        }
+    }
+
+    @Override
+    public void append(Event event) {
+        append(event, options.format().codec().encode(event));
+    }
+
+    @Override
+    public void append(EncodedEvent encoded) {
+        append(encoded.event(), options.format().codec().encode(encoded));
+    }
+
+    private void append(Event event, byte[] record) {
+        long timestampMillis = event.timestamp().toEpochMilli();
+        lock.lock();
+        try {
+            if (shouldRoll(timestampMillis)) {
+                roll();
+            }
+            active.append(record, timestampMillis);
+            cache.add(event);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed appending event", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Answers from the cache when it provably holds every match; otherwise skips segments whose newest event is
+     * older than {@code since}, seeks inside the rest with their sparse indexes and streams the tail from disk.
+     */
+    @Override
+    public List<Event> query(Instant since, Optional<String> type, int limit) {
+        Optional<List<Event>> cached = cache.query(since, type, limit);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long sinceMillis = RangeScanCollector.sinceMillis(since);
+        List<SegmentRange> ranges = new ArrayList<>();
+        lock.lock();
+        try {
+            for (LogSegment segment : segments) {
+                if (segment.isEmpty() || segment.maxTimestampMillis() < sinceMillis) {
+                    continue;
+                }
+                ranges.add(new SegmentRange(segment, segment.index().seekOffset(sinceMillis), segment.sizeBytes()));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return scanSegments(ranges, since, type, limit);
+    }
+
+    /** Served from the in-memory tail only; the log is never read. */
+    @Override
+    public List<Event> recent(Optional<String> type, int limit) {
+        return cache.recent(type, limit);
+    }
+
+    /** Applies the retention policy immediately; it otherwise runs at startup and whenever a segment rolls. */
+    public void enforceRetention() {
+        lock.lock();
+        try {
+            applyRetention();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed applying event log retention in " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long totalBytes() {
+        lock.lock();
+        try {
+            long total = 0;
+            for (LogSegment segment : segments) {
+                total += segment.sizeBytes();
+            }
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (active != null) {
+                active.close();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed closing event log in " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Runs without the store lock so appends are not stalled by long look-backs; the ranges were captured under it.
+    private List<Event> scanSegments(List<SegmentRange> ranges, Instant since, Optional<String> type, int limit) {
+        RangeScanCollector collector = new RangeScanCollector(since, type, limit);
+        for (SegmentRange range : ranges) {
+            try {
+                range.segment().scan(range.fromOffset(), range.endOffset(), collector.visitor(range.segment().codec()));
+            } catch (NoSuchFileException deletedByRetention) {
+                LOGGER.fine("Skipping segment removed during query: " + range.segment().logFile());
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed reading events from " + range.segment().logFile(), e);
+            }
+        }
+        return collector.events();
+    }
+
+    private void open() {
+        lock.lock();
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(LogSegment::isSegmentFile)
+                        .sorted(Comparator.comparingLong(LogSegment::parseId))
+                        .toList();
+            }
+            for (int i = 0; i < files.size(); i++) {
+                boolean last = i == files.size() - 1;
+                segments.add(LogSegment.open(files.get(i), options.indexIntervalBytes(), last));
+            }
+            if (segments.isEmpty()) {
+                segments.add(LogSegment.create(directory, 1, options.format(), options.indexIntervalBytes()));
+            }
+            active = segments.getLast();
+            if (active.format() != options.format()) {
+                // Switching formats: older segments stay readable in their own format and age out via retention.
+                if (active.isEmpty()) {
+                    segments.removeLast();
+                    active.delete();
+                } else {
+                    active.seal();
+                }
+                active = LogSegment.create(directory, active.id() + 1, options.format(), options.indexIntervalBytes());
+                segments.add(active);
+                LOGGER.info("Event log format is now " + options.format() + "; new segment " + active.logFile());
+            }
+            applyRetention();
+            loadCache();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed opening event log in " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean shouldRoll(long timestampMillis) {
+        if (active.isEmpty()) {
+            return false;
+        }
+        if (active.sizeBytes() >= options.segmentMaxBytes()) {
+            return true;
+        }
+        return timestampMillis - active.firstTimestampMillis() >= options.segmentMaxAge().toMillis();
+    }
+
+    private void roll() throws IOException {
+        active.seal();
+        active = LogSegment.create(directory, active.id() + 1, options.format(), options.indexIntervalBytes());
+        segments.add(active);
+        applyRetention();
+    }
+
+    private void applyRetention() throws IOException {
+        long total = 0;
+        for (LogSegment segment : segments) {
+            total += segment.sizeBytes();
+        }
+        long cutoffMillis = clock.millis() - options.retentionMaxAge().toMillis();
+        while (segments.size() > 1) {
+            LogSegment oldest = segments.getFirst();
+            boolean overBytes = total > options.retentionMaxBytes();
+            boolean expired = !oldest.isEmpty() && oldest.maxTimestampMillis() < cutoffMillis;
+            if (!overBytes && !expired) {
+                break;
+            }
+            segments.removeFirst();
+            total -= oldest.sizeBytes();
+            oldest.delete();
+            LOGGER.info("Deleted event log segment " + oldest.logFile()
+                    + " reason=" + (expired ? "age" : "size"));
+        }
+    }
+
+    private void loadCache() throws IOException {
+        List<List<Event>> newestFirst = new ArrayList<>();
+        int remaining = options.cacheCapacity();
+        int i = segments.size() - 1;
+        for (; i >= 0 && remaining > 0; i--) {
+            LogSegment segment = segments.get(i);
+            List<RecordCodec.Record> records = segment.readLast(remaining);
+            List<Event> events = new ArrayList<>(records.size());
+            for (RecordCodec.Record record : records) {
+                events.add(decode(segment, record.offset(), record.payload()));
+            }
+            if (!records.isEmpty() && records.getFirst().offset() > 0) {
+                cache.markUncached(segment.index().maxTimestampBefore(records.getFirst().offset()));
+            }
+            newestFirst.add(events);
+            remaining -= events.size();
+        }
+        for (; i >= 0; i--) {
+            LogSegment skipped = segments.get(i);
+            if (!skipped.isEmpty()) {
+                cache.markUncached(skipped.maxTimestampMillis());
+            }
+        }
+        for (int j = newestFirst.size() - 1; j >= 0; j--) {
+            for (Event event : newestFirst.get(j)) {
+                cache.add(event);
+            }
+        }
+    }
+
+    private static Event decode(LogSegment segment, long offset, byte[] payload) {
+        try {
+            return segment.codec().decode(payload);
+        } catch (RuntimeException decodeError) {
+            throw new IllegalStateException("Invalid event record in " + segment.logFile() + " at offset " + offset, decodeError);
+        }
+    }
+
+    private record SegmentRange(LogSegment segment, long fromOffset, long endOffset) {
+    }
+
+    public record Options(
+            long segmentMaxBytes,
+            Duration segmentMaxAge,
+            Duration retentionMaxAge,
+            long retentionMaxBytes,
+            int indexIntervalBytes,
+            int cacheCapacity,
+            EventLogFormat format
+    ) {
+        public static final long DEFAULT_SEGMENT_MAX_BYTES = 16L * 1024 * 1024;
+        public static final Duration DEFAULT_SEGMENT_MAX_AGE = Duration.ofHours(6);
+        public static final Duration DEFAULT_RETENTION_MAX_AGE = Duration.ofDays(7);
+        public static final long DEFAULT_RETENTION_MAX_BYTES = 512L * 1024 * 1024;
+
+        public Options {
+            if (segmentMaxBytes <= 0 || retentionMaxBytes <= 0) {
+                throw new IllegalArgumentException("segment and retention byte limits must be positive");
+            }
+            if (segmentMaxAge == null || segmentMaxAge.isNegative() || segmentMaxAge.isZero()) {
+                throw new IllegalArgumentException("segmentMaxAge must be positive");
+            }
+            if (retentionMaxAge == null || retentionMaxAge.isNegative() || retentionMaxAge.isZero()) {
+                throw new IllegalArgumentException("retentionMaxAge must be positive");
+            }
+            if (indexIntervalBytes <= 0 || cacheCapacity <= 0) {
+                throw new IllegalArgumentException("indexIntervalBytes and cacheCapacity must be positive");
+            }
+            if (format == null) {
+                throw new IllegalArgumentException("format is required");
+            }
+        }
+
+        public static Options defaults() {
+            return new Options(
+                    DEFAULT_SEGMENT_MAX_BYTES,
+                    DEFAULT_SEGMENT_MAX_AGE,
+                    DEFAULT_RETENTION_MAX_AGE,
+                    DEFAULT_RETENTION_MAX_BYTES,
+                    SparseTimestampIndex.DEFAULT_INTERVAL_BYTES,
+                    JsonlEventStore.DEFAULT_CACHE_CAPACITY,
+                    EventLogFormat.JSONL
+            );
+        }
+
+        public Options withSegmentMaxBytes(long value) {
+            return new Options(value, segmentMaxAge, retentionMaxAge, retentionMaxBytes, indexIntervalBytes, cacheCapacity, format);
+        }
+
+        public Options withSegmentMaxAge(Duration value) {
+            return new Options(segmentMaxBytes, value, retentionMaxAge, retentionMaxBytes, indexIntervalBytes, cacheCapacity, format);
+        }
+
+        public Options withRetention(Duration maxAge, long maxBytes) {
+            return new Options(segmentMaxBytes, segmentMaxAge, maxAge, maxBytes, indexIntervalBytes, cacheCapacity, format);
+        }
+
+        /** Encoding for new segments; existing segments keep the format their file suffix records. */
+        public Options withFormat(EventLogFormat value) {
+            return new Options(segmentMaxBytes, segmentMaxAge, retentionMaxAge, retentionMaxBytes, indexIntervalBytes, cacheCapacity, value);
+        }
+
+        Options withIndexIntervalBytes(int value) {
+            return new Options(segmentMaxBytes, segmentMaxAge, retentionMaxAge, retentionMaxBytes, value, cacheCapacity, format);
+        }
+
+        Options withCacheCapacity(int value) {
+            return new Options(segmentMaxBytes, segmentMaxAge, retentionMaxAge, retentionMaxBytes, indexIntervalBytes, value, format);
+        }
+    }
+}
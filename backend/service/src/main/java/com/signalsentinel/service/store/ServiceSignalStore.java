@@ -5,5 +5,24 @@ import com.signalsentinel.collectors.api.SignalStore;
 import java.util.Map;
 
 public interface ServiceSignalStore extends SignalStore {
-    Map<String, Object> getAllSignals();
+    /** Current immutable view of the store; callers may hold it as long as they like. */
+    SignalSnapshot snapshot();
+
+    /** Unmodifiable category-to-entries map of the current {@link #snapshot()}. */
+    default Map<String, Object> getAllSignals() {
+        return snapshot().signals();
+    }
+
+    /** Monotonic version of the store contents; advances on every put. */
+    default long version() {
+        return snapshot().version();
+    }
+
+    /** Entries changed after {@code sinceVersion}, together with the version the delta is complete up to. */
+    SignalDelta signalsSince(long sinceVersion);
+
+    /** Persistence counters for {@code /api/metrics}; empty for stores that keep nothing on disk. */
+    default Map<String, Object> metricsSnapshot() {
+        return Map.of();
+    }
 }
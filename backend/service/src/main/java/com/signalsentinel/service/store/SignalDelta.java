@@ -0,0 +1,11 @@
+package com.signalsentinel.service.store;
+
+import java.util.Map;
+
+/**
+ * Signals changed after a client's last seen version, in the same category-to-entries shape as
+ * {@link ServiceSignalStore#getAllSignals()}. {@code full} means the requested version was unknown to this store
+ * (older than its startup, or ahead of it) and {@code signals} is the whole snapshot the client should replace.
+ */
+public record SignalDelta(long version, boolean full, Map<String, Object> signals) {
+}
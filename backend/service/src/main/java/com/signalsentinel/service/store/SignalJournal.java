@@ -0,0 +1,139 @@
+package com.signalsentinel.service.store;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signalsentinel.core.util.JsonUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Append-only JSON lines journal of signal upserts, one {@code {"category","key","signal"}} object per line.
+ * Replaying it over the last checkpoint of {@link JsonFileSignalStore} restores every journaled put. A torn or
+ * unreadable tail (a crash mid-append) ends the replay and is truncated away before new appends.
+ */
+final class SignalJournal implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(SignalJournal.class.getName());
+    private static final ObjectMapper MAPPER = JsonUtils.objectMapper();
+
+    private final FileChannel channel;
+    private long size;
+
+    private SignalJournal(FileChannel channel, long size) {
+        this.channel = channel;
+        this.size = size;
+    }
+
+    /** Replays {@code file} (when present) into {@code visitor}, then opens it for appends. */
+    static SignalJournal open(Path file, Visitor visitor) throws IOException {
+        long validEnd = replay(file, visitor);
+        Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (channel.size() > validEnd) {
+            LOGGER.warning("Truncating torn signal journal tail of " + file + " at byte " + validEnd);
+            channel.truncate(validEnd);
+        }
+        channel.position(validEnd);
+        return new SignalJournal(channel, validEnd);
+    }
+
+    /** Replays {@code file} without opening it for appends; returns the number of records applied. */
+    static int replayOnly(Path file, Visitor visitor) throws IOException {
+        int[] applied = {0};
+        replay(file, (category, key, signal) -> {
+            visitor.apply(category, key, signal);
+            applied[0]++;
+        });
+        return applied[0];
+    }
+
+    /** Appends {@code upserts} in one write and forces them to disk; returns the bytes written. */
+    long append(List<Upsert> upserts) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Upsert upsert : upserts) {
+            out.write(MAPPER.writeValueAsBytes(upsert));
+            out.write('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        long start = size;
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            // Drop the partial write so the next append does not land behind a torn line.
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            } catch (IOException ignored) {
+                // Recovery truncates the torn tail at the next startup.
+            }
+            throw e;
+        }
+        size = start + buffer.limit();
+        return buffer.limit();
+    }
+
+    /** Empties the journal once its records are covered by a checkpoint. */
+    void reset() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+        size = 0;
+    }
+
+    long sizeBytes() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static long replay(Path file, Visitor visitor) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        int lineStart = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            JsonNode record;
+            try {
+                record = MAPPER.readTree(bytes, lineStart, i - lineStart);
+            } catch (IOException corrupt) {
+                return lineStart;
+            }
+            if (record == null || !record.hasNonNull("category") || !record.hasNonNull("key")
+                    || !record.hasNonNull("signal")) {
+                return lineStart;
+            }
+            visitor.apply(record.get("category").asText(), record.get("key").asText(), record.get("signal"));
+            lineStart = i + 1;
+        }
+        return lineStart;
+    }
+
+    record Upsert(String category, String key, Object signal) {
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        void apply(String category, String key, JsonNode signal) throws IOException;
+    }
+}
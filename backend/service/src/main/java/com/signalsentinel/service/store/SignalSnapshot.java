@@ -0,0 +1,119 @@
+package com.signalsentinel.service.store;
+
+import com.signalsentinel.core.model.LocalHappeningsSignal;
+import com.signalsentinel.core.model.NewsSignal;
+import com.signalsentinel.core.model.SiteSignal;
+import com.signalsentinel.core.model.WeatherSignal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of every signal at one store version. A put derives the next view by copying only the category it
+ * touches; the other categories are shared with the previous view, so readers never copy and never see a put half
+ * applied.
+ */
+public final class SignalSnapshot {
+    static final String SITES = "sites";
+    static final String NEWS = "news";
+    static final String WEATHER = "weather";
+    static final String LOCAL_HAPPENINGS = "localHappenings";
+
+    private final long version;
+    private final Map<String, SiteSignal> sites;
+    private final Map<String, NewsSignal> news;
+    private final Map<String, WeatherSignal> weather;
+    private final Map<String, LocalHappeningsSignal> localHappenings;
+    private final Map<String, Object> signals;
+
+    private SignalSnapshot(
+            long version,
+            Map<String, SiteSignal> sites,
+            Map<String, NewsSignal> news,
+            Map<String, WeatherSignal> weather,
+            Map<String, LocalHappeningsSignal> localHappenings
+    ) {
+        this.version = version;
+        this.sites = sites;
+        this.news = news;
+        this.weather = weather;
+        this.localHappenings = localHappenings;
+        this.signals = Map.of(SITES, sites, NEWS, news, WEATHER, weather, LOCAL_HAPPENINGS, localHappenings);
+    }
+
+    static SignalSnapshot empty(long version) {
+        return new SignalSnapshot(version, Map.of(), Map.of(), Map.of(), Map.of());
+    }
+
+    static SignalSnapshot of(
+            long version,
+            Map<String, SiteSignal> sites,
+            Map<String, NewsSignal> news,
+            Map<String, WeatherSignal> weather,
+            Map<String, LocalHappeningsSignal> localHappenings
+    ) {
+        return new SignalSnapshot(version, frozen(sites), frozen(news), frozen(weather), frozen(localHappenings));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /** Category-to-entries map in the shape served by {@code /api/signals}; unmodifiable. */
+    public Map<String, Object> signals() {
+        return signals;
+    }
+
+    public Map<String, SiteSignal> sites() {
+        return sites;
+    }
+
+    public Map<String, NewsSignal> news() {
+        return news;
+    }
+
+    public Map<String, WeatherSignal> weather() {
+        return weather;
+    }
+
+    public Map<String, LocalHappeningsSignal> localHappenings() {
+        return localHappenings;
+    }
+
+    Map<String, ?> category(String category) {
+        return switch (category) {
+            case SITES -> sites;
+            case NEWS -> news;
+            case WEATHER -> weather;
+            case LOCAL_HAPPENINGS -> localHappenings;
+            default -> throw new IllegalArgumentException("Unknown signal category " + category);
+        };
+    }
+
+    SignalSnapshot withSite(String key, SiteSignal signal, long nextVersion) {
+        return new SignalSnapshot(nextVersion, with(sites, key, signal), news, weather, localHappenings);
+    }
+
+    SignalSnapshot withNews(String key, NewsSignal signal, long nextVersion) {
+        return new SignalSnapshot(nextVersion, sites, with(news, key, signal), weather, localHappenings);
+    }
+
+    SignalSnapshot withWeather(String key, WeatherSignal signal, long nextVersion) {
+        return new SignalSnapshot(nextVersion, sites, news, with(weather, key, signal), localHappenings);
+    }
+
+    SignalSnapshot withLocalHappenings(String key, LocalHappeningsSignal signal, long nextVersion) {
+        return new SignalSnapshot(nextVersion, sites, news, weather, with(localHappenings, key, signal));
+    }
+
+    private static <T> Map<String, T> with(Map<String, T> entries, String key, T signal) {
+        Map<String, T> next = new HashMap<>(entries);
+        next.put(key, signal);
+        return Collections.unmodifiableMap(next);
+    }
+
+    private static <T> Map<String, T> frozen(Map<String, T> entries) {
+        return entries == null ? Map.of() : Collections.unmodifiableMap(new HashMap<>(entries));
+    }
+}
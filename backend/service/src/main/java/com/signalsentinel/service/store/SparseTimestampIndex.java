@@ -0,0 +1,126 @@
+package com.signalsentinel.service.store;
+
+import java.util.Arrays;
+
+/**
+ * Sparse offset index over an append-only log. An entry is taken roughly every {@code intervalBytes} and pairs a
+ * record boundary with the highest event timestamp seen before it. Because that watermark never decreases, a
+ * binary search stays exact even when events are appended slightly out of timestamp order.
+ */
+final class SparseTimestampIndex {
+    static final int DEFAULT_INTERVAL_BYTES = 4 * 1024;
+    static final int ENTRY_BYTES = Long.BYTES * 2;
+
+    private final int intervalBytes;
+    private long[] watermarks = new long[16];
+    private long[] offsets = new long[16];
+    private int size;
+    private long lastEntryOffset;
+    private long maxTimestampMillis = Long.MIN_VALUE;
+    private long endOffset;
+
+    SparseTimestampIndex(int intervalBytes) {
+        if (intervalBytes <= 0) {
+            throw new IllegalArgumentException("intervalBytes must be positive");
+        }
+        this.intervalBytes = intervalBytes;
+    }
+
+    /**
+     * Accounts for a record of {@code length} bytes starting at {@code offset}.
+     * Returns {@code true} when a new index entry was added for it.
+     */
+    boolean onRecord(long offset, int length, long timestampMillis) {
+        boolean added = false;
+        if (offset > 0 && offset - lastEntryOffset >= intervalBytes) {
+            addEntry(maxTimestampMillis, offset);
+            added = true;
+        }
+        maxTimestampMillis = Math.max(maxTimestampMillis, timestampMillis);
+        endOffset = offset + length;
+        return added;
+    }
+
+    /** Restores an entry read back from a persisted index file. Entries must arrive in offset order. */
+    void restore(long watermarkMillis, long offset) {
+        if (offset <= lastEntryOffset || (size > 0 && watermarkMillis < watermarks[size - 1])) {
+            throw new IllegalArgumentException("Index entries must be strictly increasing");
+        }
+        addEntry(watermarkMillis, offset);
+        maxTimestampMillis = Math.max(maxTimestampMillis, watermarkMillis);
+        endOffset = offset;
+    }
+
+    /**
+     * Returns the furthest byte offset such that every record before it is strictly older than
+     * {@code sinceMillis}. Scanning from there and filtering finds every record at or after {@code sinceMillis}.
+     */
+    long seekOffset(long sinceMillis) {
+        int low = 0;
+        int high = size - 1;
+        int match = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (watermarks[mid] < sinceMillis) {
+                match = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return match < 0 ? 0 : offsets[match];
+    }
+
+    /**
+     * Upper bound on the timestamps of every record before {@code offset}: the watermark of the first entry at or
+     * after it, or the overall maximum when no such entry exists.
+     */
+    long maxTimestampBefore(long offset) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (offsets[mid] < offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < size ? watermarks[low] : maxTimestampMillis;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long watermarkAt(int i) {
+        return watermarks[i];
+    }
+
+    long offsetAt(int i) {
+        return offsets[i];
+    }
+
+    long lastEntryOffset() {
+        return lastEntryOffset;
+    }
+
+    long maxTimestampMillis() {
+        return maxTimestampMillis;
+    }
+
+    long endOffset() {
+        return endOffset;
+    }
+
+    private void addEntry(long watermarkMillis, long offset) {
+        if (size == offsets.length) {
+            watermarks = Arrays.copyOf(watermarks, size * 2);
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        watermarks[size] = watermarkMillis;
+        offsets[size] = offset;
+        size++;
+        lastEntryOffset = offset;
+    }
+}
@@ -1,13 +1,32 @@
 package com.signalsentinel.service;
 
+import com.signalsentinel.core.bus.AsyncDispatchOptions;
+import com.signalsentinel.core.events.AlertRaised;
+import com.signalsentinel.service.api.SseBroadcaster;
+import com.signalsentinel.service.auth.AuthStoreBackend;
+import com.signalsentinel.service.auth.BoundedPasswordHashing;
+import com.signalsentinel.service.auth.PasswordHasher;
+import com.signalsentinel.service.store.EventLogFormat;
+import com.signalsentinel.service.store.EventStore;
+import com.signalsentinel.service.store.GroupCommitOptions;
+import com.signalsentinel.service.store.JsonFileSignalStore;
+import com.signalsentinel.service.store.JsonlEventStore;
+import com.signalsentinel.service.store.SegmentedEventStore;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -117,4 +136,189 @@ class MainRuntimeFlagsTest {
         assertNull(cfg);
         assertTrue(warnings.stream().anyMatch(w -> w.contains("TICKETMASTER_API_KEY is missing")));
     }
+
+    @Test
+    void eventStoreDefaultsToJsonlAndWarnsOnUnknownEngine() throws Exception {
+        Path logFile = Files.createTempDirectory("main-event-store-").resolve("logs/events.jsonl");
+        List<String> warnings = new ArrayList<>();
+
+        EventStore store = Main.createEventStore(Map.of("EVENT_STORE", "rocks"), logFile, Clock.systemUTC(), warnings::add);
+
+        assertInstanceOf(JsonlEventStore.class, store);
+        assertTrue(warnings.stream().anyMatch(w -> w.contains("Unknown EVENT_STORE=rocks")));
+    }
+
+    @Test
+    void segmentedEventStoreAdoptsLegacyLogAndHonorsLimits() throws Exception {
+        Path logFile = Files.createTempDirectory("main-event-store-").resolve("logs/events.jsonl");
+        new JsonlEventStore(logFile).append(new AlertRaised(Instant.parse("2026-02-12T20:00:00Z"), "collector", "legacy", Map.of()));
+
+        EventStore store = Main.createEventStore(
+                Map.of("EVENT_STORE", "segmented", "EVENT_SEGMENT_MAX_BYTES", "2048", "EVENT_RETENTION_HOURS", "not-a-number"),
+                logFile,
+                Clock.systemUTC(),
+                ignored -> { }
+        );
+
+        SegmentedEventStore segmented = assertInstanceOf(SegmentedEventStore.class, store);
+        try (segmented) {
+            assertFalse(Files.exists(logFile));
+            assertTrue(Files.isDirectory(logFile.resolveSibling("events")));
+            assertEquals(1, segmented.query(Instant.EPOCH, Optional.empty(), 10).size());
+        }
+    }
+
+    @Test
+    void eventStoreDurabilityEnablesGroupCommitAndRejectsUnknownPolicies() {
+        List<String> warnings = new ArrayList<>();
+
+        assertNull(Main.resolveGroupCommit(Map.of(), warnings::add));
+        GroupCommitOptions interval = Main.resolveGroupCommit(
+                Map.of("EVENT_STORE_DURABILITY", "Interval", "EVENT_STORE_FSYNC_INTERVAL_MS", "250"),
+                warnings::add
+        );
+        assertEquals(GroupCommitOptions.Durability.INTERVAL, interval.durability());
+        assertEquals(250, interval.fsyncInterval().toMillis());
+        assertTrue(warnings.isEmpty());
+
+        assertNull(Main.resolveGroupCommit(Map.of("EVENT_STORE_DURABILITY", "always"), warnings::add));
+        assertTrue(warnings.stream().anyMatch(w -> w.contains("Unknown EVENT_STORE_DURABILITY=always")));
+    }
+
+    @Test
+    void eventLogFormatDefaultsToJsonlAndWarnsOnUnknownValues() {
+        List<String> warnings = new ArrayList<>();
+
+        assertEquals(EventLogFormat.JSONL, Main.resolveEventLogFormat(Map.of(), warnings::add));
+        assertEquals(EventLogFormat.BINARY, Main.resolveEventLogFormat(Map.of("EVENT_LOG_FORMAT", " Binary "), warnings::add));
+        assertTrue(warnings.isEmpty());
+
+        assertEquals(EventLogFormat.JSONL, Main.resolveEventLogFormat(Map.of("EVENT_LOG_FORMAT", "avro"), warnings::add));
+        assertTrue(warnings.stream().anyMatch(w -> w.contains("Unknown EVENT_LOG_FORMAT=avro")));
+    }
+
+    @Test
+    void eventDispatchDefaultsToInlineAndAsyncIsOptIn() {
+        List<String> warnings = new ArrayList<>();
+
+        assertNull(Main.resolveEventDispatch(Map.of(), warnings::add));
+        assertNull(Main.resolveEventDispatch(Map.of("EVENT_DISPATCH", "inline"), warnings::add));
+        AsyncDispatchOptions defaults = Main.resolveEventDispatch(Map.of("EVENT_DISPATCH", "async"), warnings::add);
+        assertEquals(AsyncDispatchOptions.Overflow.BLOCK, defaults.overflow());
+        assertEquals(AsyncDispatchOptions.DEFAULT_QUEUE_CAPACITY, defaults.queueCapacity());
+        AsyncDispatchOptions tuned = Main.resolveEventDispatch(
+                Map.of("EVENT_DISPATCH", "async", "EVENT_DISPATCH_OVERFLOW", "drop-oldest", "EVENT_DISPATCH_QUEUE_CAPACITY", "64"),
+                warnings::add
+        );
+        assertEquals(AsyncDispatchOptions.Overflow.DROP_OLDEST, tuned.overflow());
+        assertEquals(64, tuned.queueCapacity());
+        assertTrue(warnings.isEmpty());
+
+        assertNull(Main.resolveEventDispatch(Map.of("EVENT_DISPATCH", "parallel"), warnings::add));
+        assertTrue(warnings.stream().anyMatch(w -> w.contains("Unknown EVENT_DISPATCH=parallel")));
+        Main.resolveEventDispatch(Map.of("EVENT_DISPATCH", "async", "EVENT_DISPATCH_OVERFLOW", "spill"), warnings::add);
+        assertTrue(warnings.stream().anyMatch(w -> w.contains("Unknown EVENT_DISPATCH_OVERFLOW=spill")));
+    }
+
+    @Test
+    void sseOptionsReadCoalesceWindowAndReplayBufferSize() {
+        List<String> warnings = new ArrayList<>();
+
+        SseBroadcaster.Options defaults = Main.resolveSseOptions(Map.of(), warnings::add);
+        assertEquals(Duration.ZERO, defaults.coalesceWindow());
+        assertEquals(SseBroadcaster.Options.defaults().replayBufferSize(), defaults.replayBufferSize());
+        SseBroadcaster.Options tuned = Main.resolveSseOptions(
+                Map.of("SSE_COALESCE_WINDOW_MS", "100", "SSE_REPLAY_BUFFER_SIZE", "64"), warnings::add);
+        assertEquals(Duration.ofMillis(100), tuned.coalesceWindow());
+        assertEquals(64, tuned.replayBufferSize());
+        assertTrue(warnings.isEmpty());
+
+        SseBroadcaster.Options invalid = Main.resolveSseOptions(
+                Map.of("SSE_COALESCE_WINDOW_MS", "-5", "SSE_REPLAY_BUFFER_SIZE", "-1"), warnings::add);
+        assertEquals(Duration.ZERO, invalid.coalesceWindow());
+        assertEquals(SseBroadcaster.Options.defaults().replayBufferSize(), invalid.replayBufferSize());
+        assertEquals(2, warnings.size());
+    }
+
+    @Test
+    void signalFlushIntervalDefaultsToOneSecondAndAllowsSynchronousWrites() {
+        List<String> warnings = new ArrayList<>();
+
+        assertEquals(Duration.ofSeconds(1), Main.resolveSignalFlushInterval(Map.of(), warnings::add));
+        assertEquals(Duration.ZERO, Main.resolveSignalFlushInterval(
+                Map.of("SIGNAL_STORE_FLUSH_INTERVAL_MS", "0"), warnings::add));
+        assertTrue(warnings.isEmpty());
+        assertEquals(Duration.ofSeconds(1), Main.resolveSignalFlushInterval(
+                Map.of("SIGNAL_STORE_FLUSH_INTERVAL_MS", "-10"), warnings::add));
+        assertEquals(1, warnings.size());
+    }
+
+    @Test
+    void signalCheckpointBytesOnlyApplyInJournalMode() {
+        List<String> warnings = new ArrayList<>();
+
+        assertEquals(0L, Main.resolveSignalCheckpointBytes(Map.of(), warnings::add));
+        assertEquals(0L, Main.resolveSignalCheckpointBytes(
+                Map.of("SIGNAL_STORE_PERSISTENCE", "snapshot", "SIGNAL_STORE_CHECKPOINT_BYTES", "4096"), warnings::add));
+        assertEquals(JsonFileSignalStore.DEFAULT_CHECKPOINT_JOURNAL_BYTES, Main.resolveSignalCheckpointBytes(
+                Map.of("SIGNAL_STORE_PERSISTENCE", "journal"), warnings::add));
+        assertEquals(4096L, Main.resolveSignalCheckpointBytes(
+                Map.of("SIGNAL_STORE_PERSISTENCE", "JOURNAL", "SIGNAL_STORE_CHECKPOINT_BYTES", "4096"), warnings::add));
+        assertTrue(warnings.isEmpty());
+
+        assertEquals(0L, Main.resolveSignalCheckpointBytes(Map.of("SIGNAL_STORE_PERSISTENCE", "wal"), warnings::add));
+        assertEquals(JsonFileSignalStore.DEFAULT_CHECKPOINT_JOURNAL_BYTES, Main.resolveSignalCheckpointBytes(
+                Map.of("SIGNAL_STORE_PERSISTENCE", "journal", "SIGNAL_STORE_CHECKPOINT_BYTES", "0"), warnings::add));
+        assertEquals(2, warnings.size());
+    }
+
+    @Test
+    void authStoreBackendDefaultsToFileAndAcceptsJournal() {
+        List<String> warnings = new ArrayList<>();
+
+        assertEquals(AuthStoreBackend.FILE, Main.resolveAuthStoreBackend(Map.of(), warnings::add));
+        assertEquals(AuthStoreBackend.JOURNAL,
+                Main.resolveAuthStoreBackend(Map.of("AUTH_STORE_BACKEND", " Journal "), warnings::add));
+        assertTrue(warnings.isEmpty());
+        assertEquals(AuthStoreBackend.FILE,
+                Main.resolveAuthStoreBackend(Map.of("AUTH_STORE_BACKEND", "sqlite"), warnings::add));
+        assertEquals(1, warnings.size());
+    }
+
+    @Test
+    void passwordHashingPoolReadsConcurrencyAndQueueDepth() {
+        List<String> warnings = new ArrayList<>();
+
+        BoundedPasswordHashing configured = Main.resolvePasswordHashing(PasswordHasher.portablePbkdf2(),
+                Map.of("AUTH_HASH_CONCURRENCY", "3", "AUTH_HASH_QUEUE_DEPTH", "7"), warnings::add);
+        assertEquals(3, configured.metricsSnapshot().get("concurrency"));
+        assertEquals(7, configured.metricsSnapshot().get("maxQueued"));
+        assertTrue(warnings.isEmpty());
+        configured.shutdown();
+
+        BoundedPasswordHashing fallback = Main.resolvePasswordHashing(PasswordHasher.portablePbkdf2(),
+                Map.of("AUTH_HASH_CONCURRENCY", "0", "AUTH_HASH_QUEUE_DEPTH", "-1"), warnings::add);
+        assertEquals(32, fallback.metricsSnapshot().get("maxQueued"));
+        assertEquals(2, warnings.size());
+        fallback.shutdown();
+    }
+
+    @Test
+    void envPollingCapsAndDeadlineFallBackOnBadValues() {
+        List<String> warnings = new ArrayList<>();
+
+        assertEquals(3, Main.resolveEnvProviderConcurrency(
+                Map.of("ENV_NOAA_CONCURRENCY", "3"), "ENV_NOAA_CONCURRENCY", 4, warnings::add));
+        assertEquals(4, Main.resolveEnvProviderConcurrency(Map.of(), "ENV_NOAA_CONCURRENCY", 4, warnings::add));
+        assertEquals(Duration.ofSeconds(240), Main.resolveEnvTickDeadline(Map.of(), Duration.ofSeconds(300), warnings::add));
+        assertEquals(Duration.ofSeconds(120), Main.resolveEnvTickDeadline(
+                Map.of("ENV_TICK_DEADLINE_MS", "120000"), Duration.ofSeconds(300), warnings::add));
+        assertTrue(warnings.isEmpty());
+
+        assertEquals(2, Main.resolveEnvProviderConcurrency(
+                Map.of("ENV_AIRNOW_CONCURRENCY", "0"), "ENV_AIRNOW_CONCURRENCY", 2, warnings::add));
+        assertEquals(Duration.ofSeconds(240), Main.resolveEnvTickDeadline(
+                Map.of("ENV_TICK_DEADLINE_MS", "-5"), Duration.ofSeconds(300), warnings::add));
+        assertEquals(2, warnings.size());
+    }
 }
@@ -34,6 +34,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -56,6 +57,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
 import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -191,6 +193,91 @@ class ApiServerIntegrationTest {
         assertTrue(response.body().contains("site-a"));
     }
 
+    @Test
+    void signalsEndpointRevalidatesWithEtagAndServesDeltasSinceAVersion() throws Exception {
+        TestRuntime runtime = startRuntime();
+        runtime.signalStore().putSite(new SiteSignal(
+                "site-a", "https://a.example.com", "hash-a", "A", 1,
+                Instant.parse("2026-02-12T20:00:00Z"), Instant.parse("2026-02-12T20:00:00Z")));
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpResponse<String> first = client.send(
+                HttpRequest.newBuilder(runtime.uri("/api/signals")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        long version = Long.parseLong(first.headers().firstValue("X-Signals-Version").orElseThrow());
+
+        HttpResponse<String> unchanged = client.send(
+                HttpRequest.newBuilder(runtime.uri("/api/signals")).header("If-None-Match", etag).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(304, unchanged.statusCode());
+        assertEquals("", unchanged.body());
+
+        runtime.signalStore().putSite(new SiteSignal(
+                "site-b", "https://b.example.com", "hash-b", "B", 1,
+                Instant.parse("2026-02-12T20:01:00Z"), Instant.parse("2026-02-12T20:01:00Z")));
+        HttpResponse<String> changed = client.send(
+                HttpRequest.newBuilder(runtime.uri("/api/signals")).header("If-None-Match", etag).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, changed.statusCode());
+        assertTrue(changed.body().contains("site-b"));
+
+        HttpResponse<String> delta = client.send(
+                HttpRequest.newBuilder(runtime.uri("/api/signals?sinceVersion=" + version)).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, delta.statusCode());
+        JsonNode deltaBody = JsonUtils.objectMapper().readTree(delta.body());
+        assertEquals(version + 1, deltaBody.get("version").asLong());
+        assertFalse(deltaBody.get("full").asBoolean());
+        assertTrue(deltaBody.get("signals").get("sites").has("site-b"));
+        assertFalse(deltaBody.get("signals").get("sites").has("site-a"));
+
+        HttpResponse<String> stale = client.send(
+                HttpRequest.newBuilder(runtime.uri("/api/signals?sinceVersion=1")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertTrue(JsonUtils.objectMapper().readTree(stale.body()).get("full").asBoolean());
+        HttpResponse<String> invalid = client.send(
+                HttpRequest.newBuilder(runtime.uri("/api/signals?sinceVersion=abc")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(400, invalid.statusCode());
+    }
+
+    @Test
+    void signalsEndpointServesCachedBodiesAndGzipOnRequest() throws Exception {
+        TestRuntime runtime = startRuntime();
+        runtime.signalStore().putSite(new SiteSignal(
+                "site-a", "https://a.example.com", "hash-a", "A", 1,
+                Instant.parse("2026-02-12T20:00:00Z"), Instant.parse("2026-02-12T20:00:00Z")));
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpResponse<String> plain = client.send(
+                HttpRequest.newBuilder(runtime.uri("/api/signals")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        HttpResponse<byte[]> gzipped = client.send(
+                HttpRequest.newBuilder(runtime.uri("/api/signals")).header("Accept-Encoding", "br, gzip").GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray()
+        );
+
+        assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(null));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            assertEquals(plain.body(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        HttpResponse<String> metrics = client.send(
+                HttpRequest.newBuilder(runtime.uri("/api/metrics")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        JsonNode cache = JsonUtils.objectMapper().readTree(metrics.body()).get("signalsCache");
+        assertEquals(1, cache.get("misses").asInt());
+        assertEquals(1, cache.get("hits").asInt());
+    }
+
     @Test
     void signalsEndpointReturnsLocalHappeningsPerZipStructure() throws Exception {
         TestRuntime runtime = startRuntime();
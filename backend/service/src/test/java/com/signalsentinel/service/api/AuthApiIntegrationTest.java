@@ -304,6 +304,43 @@ class AuthApiIntegrationTest {
         assertTrue(response.body().contains("unauthorized"));
     }
 
+    @Test
+    void sameRouteResolvesEachCallerIndependently() throws Exception {
+        TestRuntime runtime = startRuntime(true);
+        HttpClient client = HttpClient.newHttpClient();
+        String aliceCookie = cookieFrom(client.send(jsonPost(runtime.uri("/api/auth/signup"), Map.of(
+                "email", "alice@example.com",
+                "password", "password-123"
+        )), HttpResponse.BodyHandlers.ofString()));
+        String bobCookie = cookieFrom(client.send(jsonPost(runtime.uri("/api/auth/signup"), Map.of(
+                "email", "bob@example.com",
+                "password", "password-123"
+        )), HttpResponse.BodyHandlers.ofString()));
+
+        for (int round = 0; round < 2; round++) {
+            HttpResponse<String> alice = client.send(
+                    HttpRequest.newBuilder(runtime.uri("/api/me")).header("Cookie", aliceCookie).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()
+            );
+            assertEquals(200, alice.statusCode());
+            assertTrue(alice.body().contains("alice@example.com"));
+
+            HttpResponse<String> anonymous = client.send(
+                    HttpRequest.newBuilder(runtime.uri("/api/me")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()
+            );
+            assertEquals(401, anonymous.statusCode());
+
+            HttpResponse<String> bob = client.send(
+                    HttpRequest.newBuilder(runtime.uri("/api/me")).header("Cookie", bobCookie).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()
+            );
+            assertEquals(200, bob.statusCode());
+            assertTrue(bob.body().contains("bob@example.com"));
+            assertFalse(bob.body().contains("alice@example.com"));
+        }
+    }
+
     @Test
     void preferencesInvalidThemeOrAccentFallsBackToDefaults() throws Exception {
         TestRuntime runtime = startRuntime(true);
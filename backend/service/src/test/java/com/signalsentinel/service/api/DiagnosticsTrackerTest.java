@@ -2,11 +2,15 @@ package com.signalsentinel.service.api;
 
 import com.signalsentinel.core.bus.EventBus;
 import com.signalsentinel.core.events.NewsUpdated;
+import com.signalsentinel.service.store.EncodedEventFanout;
 import org.junit.jupiter.api.Test;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -29,4 +33,29 @@ class DiagnosticsTrackerTest {
         assertEquals("2026-03-20T21:10:11Z", ap.get("lastSuccessAt"));
         assertEquals(7, ap.get("lastStoryCount"));
     }
+
+    @Test
+    void sharedFanoutCountsEventsAndEncodedBytes() {
+        EventBus eventBus = new EventBus();
+        EncodedEventFanout fanout = new EncodedEventFanout(eventBus);
+        List<Integer> storedBytes = new ArrayList<>();
+        fanout.subscribe(encoded -> storedBytes.add(encoded.jsonLine().length));
+        DiagnosticsTracker tracker = new DiagnosticsTracker(eventBus, fanout, Clock.systemUTC(), () -> 0);
+
+        eventBus.publish(new NewsUpdated(Instant.parse("2026-03-20T21:10:11Z"), "ap", 7));
+
+        Map<String, Object> metrics = tracker.metricsSnapshot();
+        assertEquals(1L, metrics.get("eventsEmittedTotal"));
+        assertEquals(storedBytes.getFirst().longValue(), metrics.get("eventBytesEmittedTotal"));
+        assertEquals(0L, metrics.get("eventsDroppedTotal"));
+    }
+
+    @Test
+    void exposesStartupTimingsInMetrics() {
+        DiagnosticsTracker tracker = new DiagnosticsTracker(new EventBus(), Clock.systemUTC(), () -> 0);
+
+        tracker.recordStartupTiming("eventStoreOpen", Duration.ofMillis(42));
+
+        assertEquals(Map.of("eventStoreOpen", 42L), tracker.metricsSnapshot().get("startupTimingsMillis"));
+    }
 }
@@ -0,0 +1,77 @@
+package com.signalsentinel.service.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EffectivePreferencesCacheTest {
+    @Test
+    void buildsOncePerUserUntilInvalidated() {
+        EffectivePreferencesCache cache = new EffectivePreferencesCache();
+        AtomicInteger builds = new AtomicInteger();
+        List<String> zips = List.of("02108");
+
+        EffectivePreferencesCache.EffectivePreferences first = cache.get("u-1", userId -> {
+            builds.incrementAndGet();
+            return new EffectivePreferencesCache.EffectivePreferences(Set.of("cnn"), Set.copyOf(zips));
+        });
+        EffectivePreferencesCache.EffectivePreferences second = cache.get("u-1", userId -> {
+            throw new AssertionError("should be cached");
+        });
+        assertSame(first, second);
+
+        cache.invalidate("u-1");
+        cache.get("u-1", userId -> {
+            builds.incrementAndGet();
+            return new EffectivePreferencesCache.EffectivePreferences(Set.of("bbc"), Set.of());
+        });
+
+        assertEquals(2, builds.get());
+        assertEquals(1L, cache.metricsSnapshot().get("hits"));
+        assertEquals(2L, cache.metricsSnapshot().get("misses"));
+        assertThrows(UnsupportedOperationException.class, () -> first.zipCodes().add("10001"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondCapacity() {
+        EffectivePreferencesCache cache = new EffectivePreferencesCache(2);
+        AtomicInteger builds = new AtomicInteger();
+        Function<String, EffectivePreferencesCache.EffectivePreferences> build = userId -> {
+            builds.incrementAndGet();
+            return new EffectivePreferencesCache.EffectivePreferences(Set.of("cnn"), Set.of());
+        };
+
+        cache.get("u-1", build);
+        cache.get("u-2", build);
+        cache.get("u-1", build);
+        cache.get("u-3", build);
+        assertEquals(2, cache.metricsSnapshot().get("entries"));
+
+        cache.get("u-1", build);
+        assertEquals(3, builds.get());
+        cache.get("u-2", build);
+        assertEquals(4, builds.get());
+    }
+
+    @Test
+    void buildRacingAnInvalidationIsNotCached() {
+        EffectivePreferencesCache cache = new EffectivePreferencesCache();
+        EffectivePreferencesCache.EffectivePreferences stale = cache.get("u-1", userId -> {
+            cache.invalidate("u-1");
+            return new EffectivePreferencesCache.EffectivePreferences(Set.of("cnn"), Set.of());
+        });
+        EffectivePreferencesCache.EffectivePreferences fresh = cache.get("u-1", userId ->
+                new EffectivePreferencesCache.EffectivePreferences(Set.of("bbc"), Set.of()));
+
+        assertEquals(Set.of("cnn"), stale.newsSourceIds());
+        assertEquals(Set.of("bbc"), fresh.newsSourceIds());
+        assertEquals(1, cache.metricsSnapshot().get("entries"));
+    }
+}
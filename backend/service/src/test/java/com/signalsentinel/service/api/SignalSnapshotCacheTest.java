@@ -0,0 +1,104 @@
+package com.signalsentinel.service.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SignalSnapshotCacheTest {
+
+    @Test
+    void rendersOncePerAudienceAndVersion() {
+        SignalSnapshotCache cache = new SignalSnapshotCache(8);
+        AtomicInteger renders = new AtomicInteger();
+
+        SignalSnapshotCache.Snapshot first = cache.get(Set.of("bbc"), Set.of("98101"), 5, () -> render(renders, "v5"));
+        SignalSnapshotCache.Snapshot again = cache.get(Set.of("bbc"), Set.of("98101"), 5, () -> render(renders, "v5"));
+        SignalSnapshotCache.Snapshot otherAudience = cache.get(Set.of("npr"), Set.of("98101"), 5, () -> render(renders, "npr"));
+        SignalSnapshotCache.Snapshot newVersion = cache.get(Set.of("bbc"), Set.of("98101"), 6, () -> render(renders, "v6"));
+
+        assertSame(first, again);
+        assertEquals(3, renders.get());
+        assertNotEquals(first.etag(), otherAudience.etag());
+        assertNotEquals(first.etag(), newVersion.etag());
+        assertEquals("v6", new String(newVersion.json(), StandardCharsets.UTF_8));
+        assertEquals(1L, cache.metricsSnapshot().get("hits"));
+        assertEquals(3L, cache.metricsSnapshot().get("misses"));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedAudienceAndKeepsNewerRenders() {
+        SignalSnapshotCache cache = new SignalSnapshotCache(2);
+        AtomicInteger renders = new AtomicInteger();
+        cache.get(Set.of("a"), Set.of(), 1, () -> render(renders, "a"));
+        cache.get(Set.of("b"), Set.of(), 1, () -> render(renders, "b"));
+        cache.get(Set.of("a"), Set.of(), 1, () -> render(renders, "a"));
+        cache.get(Set.of("c"), Set.of(), 1, () -> render(renders, "c"));
+        assertEquals(2, cache.metricsSnapshot().get("entries"));
+
+        cache.get(Set.of("a"), Set.of(), 1, () -> render(renders, "a"));
+        assertEquals(3, renders.get());
+        cache.get(Set.of("b"), Set.of(), 1, () -> render(renders, "b"));
+        assertEquals(4, renders.get());
+
+        cache.get(Set.of("b"), Set.of(), 3, () -> render(renders, "b3"));
+        SignalSnapshotCache.Snapshot stale = cache.get(Set.of("b"), Set.of(), 2, () -> render(renders, "b2"));
+        assertEquals(2, stale.version());
+        assertEquals(3, cache.get(Set.of("b"), Set.of(), 3, () -> render(renders, "unexpected")).version());
+        assertThrows(IllegalArgumentException.class, () -> new SignalSnapshotCache(0));
+    }
+
+    @Test
+    void rerendersWhenZipLabelsChangeWithoutAVersionBump() {
+        SignalSnapshotCache cache = new SignalSnapshotCache(4);
+        AtomicInteger renders = new AtomicInteger();
+
+        SignalSnapshotCache.Snapshot unresolved = cache.get(Set.of(), Set.of("98101"), 7, 0, () -> render(renders, "ZIP 98101"));
+        SignalSnapshotCache.Snapshot resolved = cache.get(Set.of(), Set.of("98101"), 7, 1, () -> render(renders, "Seattle, WA"));
+
+        assertEquals(2, renders.get());
+        assertNotEquals(unresolved.etag(), resolved.etag());
+        assertEquals("Seattle, WA", new String(resolved.json(), StandardCharsets.UTF_8));
+        assertSame(resolved, cache.get(Set.of(), Set.of("98101"), 7, 1, () -> render(renders, "unexpected")));
+    }
+
+    @Test
+    void etagDependsOnTheWholeAudienceNotItsHashCode() {
+        SignalSnapshotCache cache = new SignalSnapshotCache(4);
+        // "Aa" and "BB" share a String hash code, so a hashCode-based tag would collide here.
+        SignalSnapshotCache.Snapshot first = cache.get(Set.of("Aa"), Set.of(), 1, () -> new byte[0]);
+        SignalSnapshotCache.Snapshot second = cache.get(Set.of("BB"), Set.of(), 1, () -> new byte[0]);
+        SignalSnapshotCache.Snapshot sameAsFirst = new SignalSnapshotCache(4)
+                .get(Set.of("Aa"), Set.of(), 1, () -> new byte[0]);
+
+        assertNotEquals(first.etag(), second.etag());
+        assertEquals(first.etag(), sameAsFirst.etag());
+    }
+
+    @Test
+    void gzipFormDecompressesToTheJsonAndIsKept() throws Exception {
+        SignalSnapshotCache cache = new SignalSnapshotCache(4);
+        SignalSnapshotCache.Snapshot snapshot = cache.get(Set.of(), Set.of(), 1,
+                () -> "{\"sites\":{}}".repeat(50).getBytes(StandardCharsets.UTF_8));
+
+        byte[] gzip = snapshot.gzip();
+        assertSame(gzip, snapshot.gzip());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertArrayEquals(snapshot.json(), in.readAllBytes());
+        }
+    }
+
+    private static byte[] render(AtomicInteger renders, String body) {
+        renders.incrementAndGet();
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+}
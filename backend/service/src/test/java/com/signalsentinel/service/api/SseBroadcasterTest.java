@@ -1,6 +1,10 @@
 package com.signalsentinel.service.api;
 
 import com.signalsentinel.core.bus.EventBus;
+import com.signalsentinel.core.events.AlertRaised;
+import com.signalsentinel.core.events.LoginFailed;
+import com.signalsentinel.core.events.NewsUpdated;
+import com.signalsentinel.service.store.EncodedEventFanout;
 import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpContext;
 import com.sun.net.httpserver.HttpExchange;
@@ -14,29 +18,77 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SseBroadcasterTest {
+    private static final Instant BASE = Instant.parse("2026-02-12T20:00:00Z");
+
     @Test
-    void handleReturnsPromptlyWhenThreadAlreadyInterrupted() throws Exception {
+    void handleRegistersTheClientAndReturnsWithoutHoldingTheThread() throws Exception {
         EventBus eventBus = new EventBus((event, error) -> {
             throw new AssertionError("Unexpected handler error", error);
         });
         SseBroadcaster broadcaster = new SseBroadcaster(eventBus);
-        FakeHttpExchange exchange = new FakeHttpExchange("GET", URI.create("/api/stream"));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        FakeHttpExchange exchange = new FakeHttpExchange("GET", URI.create("/api/stream"), body);
 
-        try {
-            Thread.currentThread().interrupt();
-            broadcaster.handle(exchange, false);
-        } finally {
-            Thread.interrupted();
-        }
+        broadcaster.handle(exchange, false);
 
         assertEquals(200, exchange.responseCode);
         assertTrue(exchange.responseHeaders.getFirst("Content-Type").contains("text/event-stream"));
+        assertEquals(1, broadcaster.clientCount());
+        eventBus.publish(new AlertRaised(BASE, "collector", "after-return", Map.of()));
+        awaitCondition(() -> body.toString(StandardCharsets.UTF_8).contains("after-return"));
+        assertTrue(body.toString(StandardCharsets.UTF_8).startsWith(": connected\n\n"));
+
+        broadcaster.closeAll();
+        assertEquals(0, broadcaster.clientCount());
+        assertTrue(exchange.closed);
+    }
+
+    @Test
+    void keepaliveSweepSkipsRecentlyActiveClients() throws Exception {
+        SseBroadcaster broadcaster = new SseBroadcaster(
+                new EncodedEventFanout(new EventBus()), SseBroadcaster.Options.defaults().withKeepaliveInterval(Duration.ofHours(1)));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        broadcaster.handle(new FakeHttpExchange("GET", URI.create("/api/stream"), body), false);
+        awaitCondition(() -> body.size() > 0);
+
+        broadcaster.sweepKeepalives();
+        broadcaster.broadcast(new AlertRaised(BASE, "collector", "marker", Map.of()));
+        awaitCondition(() -> body.toString(StandardCharsets.UTF_8).contains("marker"));
+        broadcaster.closeAll();
+
+        assertFalse(body.toString(StandardCharsets.UTF_8).contains(": keepalive"));
+    }
+
+    @Test
+    void idleClientsReceiveKeepalivesFromTheSharedSweep() throws Exception {
+        SseBroadcaster broadcaster = new SseBroadcaster(
+                new EncodedEventFanout(new EventBus()), SseBroadcaster.Options.defaults().withKeepaliveInterval(Duration.ofMillis(50)));
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        broadcaster.handle(new FakeHttpExchange("GET", URI.create("/api/stream"), first), false);
+        broadcaster.handle(new FakeHttpExchange("GET", URI.create("/api/stream"), second), false);
+
+        awaitCondition(() -> first.toString(StandardCharsets.UTF_8).contains(": keepalive")
+                && second.toString(StandardCharsets.UTF_8).contains(": keepalive"));
+        broadcaster.closeAll();
         assertEquals(0, broadcaster.clientCount());
     }
 
@@ -58,17 +110,302 @@ class SseBroadcasterTest {
         assertFalse(SseBroadcaster.RESTRICTED_EVENT_TYPES.contains("CollectorTickCompleted"));
     }
 
+    @Test
+    void queuedFramesReachTheClientInOrderAndRestrictedOnesAreFiltered() throws Exception {
+        SseBroadcaster broadcaster = new SseBroadcaster(new EventBus());
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        startClient(broadcaster, new FakeHttpExchange("GET", URI.create("/api/stream"), body), false);
+
+        broadcaster.broadcast(new AlertRaised(BASE, "collector", "one", Map.of()));
+        broadcaster.broadcast(new LoginFailed(BASE, "user@example.com", "bad_password"));
+        broadcaster.broadcast(new AlertRaised(BASE.plusSeconds(1), "collector", "two", Map.of()));
+        awaitCondition(() -> body.toString(StandardCharsets.UTF_8).contains("two"));
+        broadcaster.closeAll();
+
+        String stream = body.toString(StandardCharsets.UTF_8);
+        assertTrue(stream.startsWith(": connected\n\n"));
+        assertTrue(stream.indexOf("one") < stream.indexOf("two"));
+        assertFalse(stream.contains("LoginFailed"));
+        assertEquals(0, broadcaster.clientCount());
+    }
+
+    @Test
+    void clientThatStopsReadingIsDisconnectedWithoutStallingBroadcast() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        OutputStream stalled = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("connection reset");
+            }
+        };
+        SseBroadcaster broadcaster = new SseBroadcaster(
+                new EncodedEventFanout(new EventBus()), SseBroadcaster.Options.defaults().withClientQueueCapacity(4));
+        ByteArrayOutputStream healthyBody = new ByteArrayOutputStream();
+        startClient(broadcaster, new FakeHttpExchange("GET", URI.create("/api/stream"), stalled), false);
+        startClient(broadcaster, new FakeHttpExchange("GET", URI.create("/api/stream"), healthyBody), false);
+
+        for (int i = 0; i < 8; i++) {
+            long started = System.nanoTime();
+            broadcaster.broadcast(new AlertRaised(BASE.plusSeconds(i), "collector", "e" + i, Map.of()));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 1_000);
+            String expected = "\"e" + i + "\"";
+            awaitCondition(() -> healthyBody.toString(StandardCharsets.UTF_8).contains(expected));
+        }
+
+        assertEquals(1L, broadcaster.metricsSnapshot().get("slowClientDisconnects"));
+        assertEquals(1, broadcaster.clientCount());
+        unblock.countDown();
+        broadcaster.closeAll();
+        assertEquals(0, broadcaster.clientCount());
+    }
+
+    @Test
+    void optionsRejectInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> new SseBroadcaster.Options(0, Duration.ZERO, Duration.ofSeconds(1), 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new SseBroadcaster.Options(1, Duration.ofSeconds(-1), Duration.ofSeconds(1), 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> SseBroadcaster.Options.defaults().withKeepaliveInterval(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> SseBroadcaster.Options.defaults().withReplayBufferSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> SseBroadcaster.Options.defaults().withCoalesceWindow(Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void framesCarryIncreasingIdsAndAResumingClientGetsOnlyTheGap() throws Exception {
+        SseBroadcaster broadcaster = new SseBroadcaster(new EventBus());
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        startClient(broadcaster, new FakeHttpExchange("GET", URI.create("/api/stream"), first), false);
+        broadcaster.broadcast(new AlertRaised(BASE, "collector", "one", Map.of()));
+        broadcaster.broadcast(new AlertRaised(BASE.plusSeconds(1), "collector", "two", Map.of()));
+        awaitCondition(() -> first.toString(StandardCharsets.UTF_8).contains("two"));
+        broadcaster.closeAll();
+
+        List<Long> ids = frameIds(first.toString(StandardCharsets.UTF_8));
+        assertEquals(2, ids.size());
+        assertEquals(ids.get(0) + 1, ids.get(1));
+
+        broadcaster.broadcast(new AlertRaised(BASE.plusSeconds(2), "collector", "three", Map.of()));
+        broadcaster.broadcast(new LoginFailed(BASE.plusSeconds(3), "user@example.com", "bad_password"));
+        broadcaster.broadcast(new AlertRaised(BASE.plusSeconds(4), "collector", "four", Map.of()));
+
+        ByteArrayOutputStream resumed = new ByteArrayOutputStream();
+        FakeHttpExchange reconnect = new FakeHttpExchange("GET", URI.create("/api/stream"), resumed);
+        reconnect.getRequestHeaders().set("Last-Event-ID", Long.toString(ids.get(1)));
+        startClient(broadcaster, reconnect, false);
+        awaitCondition(() -> resumed.toString(StandardCharsets.UTF_8).contains("four"));
+        broadcaster.closeAll();
+
+        String stream = resumed.toString(StandardCharsets.UTF_8);
+        assertFalse(stream.contains("\"two\""));
+        assertFalse(stream.contains("LoginFailed"));
+        assertTrue(stream.indexOf("three") < stream.indexOf("four"));
+        assertEquals(List.of(ids.get(1) + 1, ids.get(1) + 3), frameIds(stream));
+        assertEquals(2L, broadcaster.metricsSnapshot().get("replayedFrames"));
+    }
+
+    @Test
+    void resumeAcceptsTheQueryParameterAndReportsGapsOutsideTheBuffer() throws Exception {
+        SseBroadcaster broadcaster = new SseBroadcaster(
+                new EncodedEventFanout(new EventBus()), SseBroadcaster.Options.defaults().withReplayBufferSize(2));
+        ByteArrayOutputStream watcher = new ByteArrayOutputStream();
+        startClient(broadcaster, new FakeHttpExchange("GET", URI.create("/api/stream"), watcher), true);
+        for (int i = 0; i < 4; i++) {
+            broadcaster.broadcast(new AlertRaised(BASE.plusSeconds(i), "collector", "e" + i, Map.of()));
+        }
+        awaitCondition(() -> watcher.toString(StandardCharsets.UTF_8).contains("e3"));
+        List<Long> ids = frameIds(watcher.toString(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream inRange = new ByteArrayOutputStream();
+        startClient(broadcaster, new FakeHttpExchange(
+                "GET", URI.create("/api/stream?lastEventId=" + ids.get(2)), inRange), false);
+        awaitCondition(() -> inRange.toString(StandardCharsets.UTF_8).contains("e3"));
+        assertEquals(List.of(ids.get(3)), frameIds(inRange.toString(StandardCharsets.UTF_8)));
+
+        ByteArrayOutputStream evicted = new ByteArrayOutputStream();
+        startClient(broadcaster, new FakeHttpExchange(
+                "GET", URI.create("/api/stream?lastEventId=" + ids.get(0)), evicted), false);
+        ByteArrayOutputStream garbage = new ByteArrayOutputStream();
+        FakeHttpExchange garbageExchange = new FakeHttpExchange("GET", URI.create("/api/stream"), garbage);
+        garbageExchange.getRequestHeaders().set("Last-Event-ID", "not-a-number");
+        startClient(broadcaster, garbageExchange, false);
+        awaitCondition(() -> evicted.toString(StandardCharsets.UTF_8).contains(": replay unavailable")
+                && garbage.toString(StandardCharsets.UTF_8).contains(": replay unavailable"));
+        broadcaster.closeAll();
+
+        assertTrue(frameIds(evicted.toString(StandardCharsets.UTF_8)).isEmpty());
+        Map<String, Object> metrics = broadcaster.metricsSnapshot();
+        assertEquals(1L, metrics.get("resumedClients"));
+        assertEquals(2L, metrics.get("replayMisses"));
+    }
+
+    @Test
+    void clientsOnlyReceiveTheTypesAndKeysTheySubscribedTo() throws Exception {
+        SseBroadcaster broadcaster = new SseBroadcaster(new EventBus());
+        ByteArrayOutputStream newsOnly = new ByteArrayOutputStream();
+        ByteArrayOutputStream everything = new ByteArrayOutputStream();
+        startClient(broadcaster, new FakeHttpExchange("GET", URI.create("/api/stream"), newsOnly), false,
+                new SseSubscription(Set.of("NewsUpdated"), Set.of("bbc"), Set.of()));
+        startClient(broadcaster, new FakeHttpExchange("GET", URI.create("/api/stream"), everything), false,
+                SseSubscription.ALL);
+
+        broadcaster.broadcast(new AlertRaised(BASE, "collector", "alert", Map.of()));
+        broadcaster.broadcast(new NewsUpdated(BASE, "cnn", 2));
+        broadcaster.broadcast(new NewsUpdated(BASE, "bbc", 5));
+        awaitCondition(() -> newsOnly.toString(StandardCharsets.UTF_8).contains("bbc")
+                && everything.toString(StandardCharsets.UTF_8).contains("bbc"));
+        broadcaster.closeAll();
+
+        String filtered = newsOnly.toString(StandardCharsets.UTF_8);
+        assertFalse(filtered.contains("AlertRaised"));
+        assertFalse(filtered.contains("cnn"));
+        assertEquals(1, frameIds(filtered).size());
+        assertEquals(3, frameIds(everything.toString(StandardCharsets.UTF_8)).size());
+        assertEquals(0, broadcaster.clientCount());
+    }
+
+    @Test
+    void replayHonoursTheResumingClientsSubscription() throws Exception {
+        SseBroadcaster broadcaster = new SseBroadcaster(new EventBus());
+        broadcaster.broadcast(new AlertRaised(BASE, "collector", "first", Map.of()));
+        ByteArrayOutputStream watcher = new ByteArrayOutputStream();
+        startClient(broadcaster, new FakeHttpExchange("GET", URI.create("/api/stream"), watcher), false);
+        broadcaster.broadcast(new NewsUpdated(BASE, "bbc", 1));
+        broadcaster.broadcast(new AlertRaised(BASE, "collector", "second", Map.of()));
+        broadcaster.broadcast(new NewsUpdated(BASE, "npr", 1));
+        awaitCondition(() -> watcher.toString(StandardCharsets.UTF_8).contains("npr"));
+        long firstId = frameIds(watcher.toString(StandardCharsets.UTF_8)).getFirst();
+
+        ByteArrayOutputStream resumed = new ByteArrayOutputStream();
+        startClient(broadcaster, new FakeHttpExchange(
+                "GET", URI.create("/api/stream?lastEventId=" + (firstId - 1)), resumed), false,
+                new SseSubscription(Set.of("NewsUpdated"), Set.of(), Set.of()));
+        awaitCondition(() -> resumed.toString(StandardCharsets.UTF_8).contains("npr"));
+        broadcaster.closeAll();
+
+        String stream = resumed.toString(StandardCharsets.UTF_8);
+        assertFalse(stream.contains("AlertRaised"));
+        assertEquals(List.of(firstId, firstId + 2), frameIds(stream));
+    }
+
+    @Test
+    void coalescingWindowBatchesABurstAndKeepsOnlyTheLatestUpdatePerKey() throws Exception {
+        SseBroadcaster broadcaster = new SseBroadcaster(
+                new EncodedEventFanout(new EventBus()), SseBroadcaster.Options.defaults().withCoalesceWindow(Duration.ofMillis(200)));
+        CountingOutputStream body = new CountingOutputStream();
+        startClient(broadcaster, new FakeHttpExchange("GET", URI.create("/api/stream"), body), false);
+        awaitCondition(() -> body.flushes > 0);
+        int flushesBeforeBurst = body.flushes;
+
+        broadcaster.broadcast(new NewsUpdated(BASE, "bbc", 1));
+        broadcaster.broadcast(new NewsUpdated(BASE, "npr", 7));
+        broadcaster.broadcast(new AlertRaised(BASE, "collector", "alert", Map.of()));
+        broadcaster.broadcast(new NewsUpdated(BASE, "bbc", 2));
+        broadcaster.broadcast(new NewsUpdated(BASE, "bbc", 3));
+        awaitCondition(() -> body.flushes > flushesBeforeBurst);
+        broadcaster.closeAll();
+
+        String stream = body.toString();
+        assertEquals(flushesBeforeBurst + 1, body.flushes);
+        assertEquals(3, frameIds(stream).size());
+        assertFalse(stream.contains("\"storyCount\":1"));
+        assertFalse(stream.contains("\"storyCount\":2"));
+        assertTrue(stream.indexOf("npr") < stream.indexOf("AlertRaised"));
+        assertTrue(stream.indexOf("AlertRaised") < stream.indexOf("\"storyCount\":3"));
+        assertEquals(2L, broadcaster.metricsSnapshot().get("coalescedFrames"));
+    }
+
+    @Test
+    void connectAndKeepaliveFramesSkipTheCoalescingWindow() throws Exception {
+        // A window far longer than awaitCondition's timeout: only frames that skip it can arrive in time.
+        SseBroadcaster broadcaster = new SseBroadcaster(
+                new EncodedEventFanout(new EventBus()),
+                SseBroadcaster.Options.defaults()
+                        .withCoalesceWindow(Duration.ofMinutes(1))
+                        .withKeepaliveInterval(Duration.ofMillis(50)));
+        CountingOutputStream body = new CountingOutputStream();
+        startClient(broadcaster, new FakeHttpExchange("GET", URI.create("/api/stream"), body), false);
+
+        awaitCondition(() -> body.toString().contains(": connected"));
+        awaitCondition(() -> body.toString().contains(": keepalive"));
+        broadcaster.closeAll();
+    }
+
+    @Test
+    void dropSupersededLeavesUnkeyedFramesAlone() {
+        List<SseBroadcaster.Outbound> batch = new ArrayList<>(List.of(
+                new SseBroadcaster.Outbound(new byte[]{1}, null),
+                new SseBroadcaster.Outbound(new byte[]{2}, "EnvAqiUpdated/98101"),
+                new SseBroadcaster.Outbound(new byte[]{3}, null),
+                new SseBroadcaster.Outbound(new byte[]{4}, "EnvAqiUpdated/98101")
+        ));
+
+        assertEquals(1, SseBroadcaster.dropSuperseded(batch));
+        assertEquals(List.of(1, 3, 4), batch.stream().map(frame -> (int) frame.bytes()[0]).toList());
+        assertNull(SseBroadcaster.supersedeKey(new AlertRaised(BASE, "collector", "alert", Map.of())));
+        assertEquals("NewsUpdated/bbc", SseBroadcaster.supersedeKey(new NewsUpdated(BASE, "bbc", 1)));
+    }
+
+    private static List<Long> frameIds(String stream) {
+        return stream.lines()
+                .filter(line -> line.startsWith("id: "))
+                .map(line -> Long.parseLong(line.substring(4)))
+                .toList();
+    }
+
+    private static void startClient(SseBroadcaster broadcaster, HttpExchange exchange, boolean authenticated) throws IOException {
+        startClient(broadcaster, exchange, authenticated, SseSubscription.ALL);
+    }
+
+    private static void startClient(
+            SseBroadcaster broadcaster, HttpExchange exchange, boolean authenticated, SseSubscription subscription
+    ) throws IOException {
+        broadcaster.handle(exchange, authenticated, subscription);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met within 5s");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class CountingOutputStream extends ByteArrayOutputStream {
+        private volatile int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return toString(StandardCharsets.UTF_8);
+        }
+    }
+
     private static final class FakeHttpExchange extends HttpExchange {
         private final Headers requestHeaders = new Headers();
         private final Headers responseHeaders = new Headers();
         private final String method;
         private final URI uri;
-        private final ByteArrayOutputStream responseBody = new ByteArrayOutputStream();
+        private final OutputStream responseBody;
         private int responseCode = -1;
+        private volatile boolean closed;
 
         private FakeHttpExchange(String method, URI uri) {
+            this(method, uri, new ByteArrayOutputStream());
+        }
+
+        private FakeHttpExchange(String method, URI uri, OutputStream responseBody) {
             this.method = method;
             this.uri = uri;
+            this.responseBody = responseBody;
         }
 
         @Override
@@ -98,6 +435,7 @@ class SseBroadcasterTest {
 
         @Override
         public void close() {
+            closed = true;
             try {
                 responseBody.close();
             } catch (IOException ignored) {
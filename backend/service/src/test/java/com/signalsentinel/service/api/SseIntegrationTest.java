@@ -2,6 +2,7 @@ package com.signalsentinel.service.api;
 
 import com.signalsentinel.core.bus.EventBus;
 import com.signalsentinel.core.events.AlertRaised;
+import com.signalsentinel.core.events.NewsUpdated;
 import com.signalsentinel.service.store.EventCodec;
 import com.signalsentinel.service.store.JsonFileSignalStore;
 import com.signalsentinel.service.store.JsonlEventStore;
@@ -124,6 +125,35 @@ class SseIntegrationTest {
         }
     }
 
+    @Test
+    void streamQueryFiltersNarrowTheEventsAClientReceives() throws Exception {
+        TestRuntime runtime = startRuntime();
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpResponse<Stream<String>> response = client.send(
+                HttpRequest.newBuilder(runtime.uri("/api/stream?types=NewsUpdated&sources=bbc")).GET().build(),
+                HttpResponse.BodyHandlers.ofLines()
+        );
+        assertEquals(200, response.statusCode());
+
+        Stream<String> lines = response.body();
+        CompletableFuture<List<String>> dataLinesFuture = CompletableFuture.supplyAsync(() -> readDataLines(lines, 1));
+        try {
+            Instant now = Instant.parse("2026-02-12T20:00:00Z");
+            runtime.eventBus().publish(new AlertRaised(now, "collector", "ignored", Map.of()));
+            runtime.eventBus().publish(new NewsUpdated(now, "cnn", 2));
+            runtime.eventBus().publish(new NewsUpdated(now, "bbc", 4));
+
+            List<String> frames = dataLinesFuture.get(3, TimeUnit.SECONDS);
+            assertEquals(1, frames.size());
+            assertTrue(frames.getFirst().contains("\"bbc\""));
+        } catch (TimeoutException e) {
+            fail("Timed out waiting for the filtered SSE data frame");
+        } finally {
+            lines.close();
+        }
+    }
+
     /**
      * Regression test for the null-authService NPE in handleStream.
      * When auth is disabled (authService == null) and a client sends a stale auth cookie,
@@ -0,0 +1,58 @@
+package com.signalsentinel.service.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SseReplayBufferTest {
+
+    @Test
+    void returnsOnlyTheFramesAfterTheGivenIdOldestFirst() {
+        SseReplayBuffer buffer = new SseReplayBuffer(4);
+        for (long id = 101; id <= 103; id++) {
+            buffer.add(frame(id));
+        }
+
+        assertEquals(List.of(102L, 103L), ids(buffer.after(101, 10)));
+        assertEquals(List.of(101L, 102L, 103L), ids(buffer.after(100, 10)));
+        assertTrue(buffer.after(103, 10).isEmpty());
+    }
+
+    @Test
+    void wrapsAroundAndReportsGapsItNoLongerCovers() {
+        SseReplayBuffer buffer = new SseReplayBuffer(3);
+        for (long id = 1; id <= 7; id++) {
+            buffer.add(frame(id));
+        }
+
+        assertEquals(3, buffer.size());
+        assertEquals(List.of(6L, 7L), ids(buffer.after(5, 10)));
+        assertEquals(List.of(5L, 6L, 7L), ids(buffer.after(4, 10)));
+        assertNull(buffer.after(3, 10));
+        assertNull(buffer.after(8, 10));
+        assertNull(buffer.after(4, 2));
+    }
+
+    @Test
+    void zeroCapacityKeepsNothing() {
+        SseReplayBuffer buffer = new SseReplayBuffer(0);
+        buffer.add(frame(1));
+
+        assertEquals(0, buffer.size());
+        assertNull(buffer.after(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SseReplayBuffer(-1));
+    }
+
+    private static SseReplayBuffer.Frame frame(long id) {
+        return new SseReplayBuffer.Frame(id, null, false, new byte[0]);
+    }
+
+    private static List<Long> ids(List<SseReplayBuffer.Frame> frames) {
+        return frames.stream().map(SseReplayBuffer.Frame::id).toList();
+    }
+}
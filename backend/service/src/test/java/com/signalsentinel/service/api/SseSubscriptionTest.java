@@ -0,0 +1,80 @@
+package com.signalsentinel.service.api;
+
+import com.signalsentinel.core.events.AlertRaised;
+import com.signalsentinel.core.events.EnvAqiUpdated;
+import com.signalsentinel.core.events.EnvWeatherUpdated;
+import com.signalsentinel.core.events.NewsItemsIngested;
+import com.signalsentinel.core.events.NewsUpdated;
+import com.signalsentinel.core.events.SiteFetched;
+import com.signalsentinel.service.auth.UserPreferences;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SseSubscriptionTest {
+    private static final Instant BASE = Instant.parse("2026-02-12T20:00:00Z");
+    private static final UserPreferences PREFERENCES = new UserPreferences(
+            "user-1", List.of("98101"), List.of(), List.of("bbc", "npr"), "light", "blue");
+
+    @Test
+    void emptyQueryAcceptsEverything() {
+        SseSubscription subscription = SseSubscription.fromQuery(Map.of(), PREFERENCES);
+
+        assertEquals(SseSubscription.ALL, subscription);
+        assertTrue(subscription.acceptsAllTypes());
+        assertTrue(subscription.accepts(new NewsUpdated(BASE, "anything", 1)));
+        assertTrue(subscription.accepts(new AlertRaised(BASE, "collector", "hello", Map.of())));
+    }
+
+    @Test
+    void typeSourceAndZipFiltersApplyToTheirOwnEvents() {
+        SseSubscription subscription = SseSubscription.fromQuery(Map.of(
+                "types", "NewsUpdated, NewsItemsIngested,EnvAqiUpdated,SiteFetched,",
+                "sources", "bbc",
+                "zips", "98101"
+        ), null);
+
+        assertEquals(Set.of("NewsUpdated", "NewsItemsIngested", "EnvAqiUpdated", "SiteFetched"), subscription.types());
+        assertTrue(subscription.accepts(new NewsUpdated(BASE, "bbc", 3)));
+        assertFalse(subscription.accepts(new NewsUpdated(BASE, "cnn", 3)));
+        assertFalse(subscription.accepts(new NewsItemsIngested(BASE, "cnn", 3)));
+        assertTrue(subscription.accepts(aqi("98101")));
+        assertFalse(subscription.accepts(aqi("10001")));
+        assertTrue(subscription.accepts(new SiteFetched(BASE, "site", "https://example.com", 200, 12)));
+        assertFalse(subscription.accepts(new AlertRaised(BASE, "collector", "hello", Map.of())));
+    }
+
+    @Test
+    void preferencesFillInMissingSourceAndZipFilters() {
+        SseSubscription fromPreferences = SseSubscription.fromQuery(Map.of("preferences", "true"), PREFERENCES);
+        SseSubscription explicitSources = SseSubscription.fromQuery(
+                Map.of("preferences", "true", "sources", "cnn"), PREFERENCES);
+        SseSubscription notRequested = SseSubscription.fromQuery(Map.of("zips", "10001"), PREFERENCES);
+
+        assertEquals(Set.of("bbc", "npr"), fromPreferences.sources());
+        assertEquals(Set.of("98101"), fromPreferences.zips());
+        assertTrue(fromPreferences.accepts(weather("98101")));
+        assertFalse(fromPreferences.accepts(weather("10001")));
+        assertEquals(Set.of("cnn"), explicitSources.sources());
+        assertEquals(Set.of("98101"), explicitSources.zips());
+        assertEquals(Set.of(), notRequested.sources());
+        assertEquals(Set.of("10001"), notRequested.zips());
+    }
+
+    private static EnvAqiUpdated aqi(String zip) {
+        return new EnvAqiUpdated(
+                BASE, zip, "Seattle", 47.6, -122.3, 42, "Good", "ok", "airnow", 0L, "ok", null, null, null);
+    }
+
+    private static EnvWeatherUpdated weather(String zip) {
+        return new EnvWeatherUpdated(
+                BASE, zip, "Seattle", 47.6, -122.3, 55.0, "Cloudy", "nws", 0L, "ok", null, null, null);
+    }
+}
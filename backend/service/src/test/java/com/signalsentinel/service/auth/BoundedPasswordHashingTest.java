@@ -0,0 +1,94 @@
+package com.signalsentinel.service.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordHashingTest {
+    @Test
+    void delegatesAndRecordsLatency() {
+        BoundedPasswordHashing hashing = new BoundedPasswordHashing(new GatedHashing(null), 2, 4);
+
+        assertEquals("hashed:secret", hashing.hash("secret"));
+        assertTrue(hashing.verify("hashed:secret", "secret"));
+        assertEquals(2L, hashing.metricsSnapshot().get("completed"));
+        assertEquals(0L, hashing.metricsSnapshot().get("rejected"));
+        hashing.shutdown();
+    }
+
+    @Test
+    void rejectsWithRetryAfterOnceQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        GatedHashing gated = new GatedHashing(release);
+        BoundedPasswordHashing hashing = new BoundedPasswordHashing(gated, 1, 1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hashing.hash("a"));
+        assertTrue(gated.started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hashing.hash("b"));
+        while ((int) hashing.metricsSnapshot().get("queued") < 1) {
+            Thread.onSpinWait();
+        }
+
+        HashingOverloadedException busy = assertThrows(HashingOverloadedException.class, () -> hashing.hash("c"));
+        assertTrue(busy.retryAfterSeconds() >= 1);
+        assertEquals(1L, hashing.metricsSnapshot().get("rejected"));
+
+        release.countDown();
+        assertEquals("hashed:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:b", queued.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:d", hashing.hash("d"));
+        hashing.shutdown();
+    }
+
+    @Test
+    void propagatesDelegateFailures() {
+        PasswordHashing failing = new PasswordHashing() {
+            @Override
+            public String hash(String password) {
+                throw new IllegalArgumentException("too short");
+            }
+
+            @Override
+            public boolean verify(String encodedHash, String password) {
+                return false;
+            }
+        };
+        BoundedPasswordHashing hashing = new BoundedPasswordHashing(failing, 1, 1);
+
+        assertEquals("too short", assertThrows(IllegalArgumentException.class, () -> hashing.hash("x")).getMessage());
+        hashing.shutdown();
+    }
+
+    private static final class GatedHashing implements PasswordHashing {
+        private final CountDownLatch release;
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private GatedHashing(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String hash(String password) {
+            started.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hashed:" + password;
+        }
+
+        @Override
+        public boolean verify(String encodedHash, String password) {
+            return encodedHash.equals(hash(password));
+        }
+    }
+}
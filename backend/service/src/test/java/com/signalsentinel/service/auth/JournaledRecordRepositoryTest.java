@@ -0,0 +1,108 @@
+package com.signalsentinel.service.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournaledRecordRepositoryTest {
+    @Test
+    void usersAreIndexedByIdAndEmailAndRecoveredFromTheJournal() throws Exception {
+        Path file = Files.createTempDirectory("auth-journal-users-").resolve("data/users.json");
+        UserStore store = new UserStore(file, AuthStoreBackend.JOURNAL);
+        AuthUser alice = user("u-1", "Alice@Example.com");
+        store.save(alice);
+        store.save(user("u-2", "bob@example.com"));
+        store.save(alice.withPasswordHash("rehashed"));
+        store.deleteById("u-2");
+
+        assertEquals("rehashed", store.findByEmail("alice@example.COM").orElseThrow().passwordHash());
+        assertTrue(store.findById("u-2").isEmpty());
+        assertTrue(store.findByEmail("bob@example.com").isEmpty());
+        assertFalse(Files.exists(file));
+        assertEquals(4, Files.readAllLines(file.resolveSibling("users.json.journal")).size());
+
+        // Reopening without a clean shutdown replays the journal and folds it into users.json.
+        UserStore reopened = new UserStore(file, AuthStoreBackend.JOURNAL);
+        assertEquals(List.of(alice.withPasswordHash("rehashed")), reopened.all());
+        assertEquals(1, new UserStore(file).all().size());
+        assertFalse(Files.exists(file.resolveSibling("users.json.journal")));
+    }
+
+    @Test
+    void tornLastJournalLineIsDropped() throws Exception {
+        Path file = Files.createTempDirectory("auth-journal-torn-").resolve("preferences.json");
+        PreferencesStore store = new PreferencesStore(file, AuthStoreBackend.JOURNAL);
+        store.putForUser(new UserPreferences("u-1", List.of("02108"), List.of(), List.of(), "dark", "blue"));
+        Files.writeString(file.resolveSibling("preferences.json.journal"),
+                "{\"op\":\"put\",\"value\":{\"userId\":\"u-2\",\"zip", StandardOpenOption.APPEND);
+
+        PreferencesStore reopened = new PreferencesStore(file, AuthStoreBackend.JOURNAL);
+        assertEquals(List.of("02108"), reopened.getForUser("u-1").zipCodes());
+        assertEquals(UserPreferences.empty("u-2"), reopened.getForUser("u-2"));
+        assertEquals(1, reopened.all().size());
+    }
+
+    @Test
+    void journalCompactsIntoTheListFileOnceItOutgrowsTheLiveRecords() throws Exception {
+        Path file = Files.createTempDirectory("auth-journal-compact-").resolve("password_resets.json");
+        Path journal = file.resolveSibling("password_resets.json.journal");
+        PasswordResetStore store = new PasswordResetStore(file, AuthStoreBackend.JOURNAL);
+        PasswordResetTokenRecord token = new PasswordResetTokenRecord(
+                "hash-1", "u-1", Instant.parse("2026-02-15T00:00:00Z"), false);
+        for (int i = 0; i < JournaledRecordRepository.MIN_COMPACT_RECORDS; i++) {
+            store.replace(token);
+        }
+        assertFalse(Files.exists(file));
+
+        store.replace(token.markUsed());
+        assertTrue(Files.exists(file));
+        assertEquals(0, Files.size(journal));
+        assertTrue(new PasswordResetStore(file).findByHash("hash-1").orElseThrow().used());
+
+        store.save(new PasswordResetTokenRecord("hash-2", "u-1", Instant.parse("2026-02-15T00:00:00Z"), false));
+        store.save(new PasswordResetTokenRecord("hash-3", "u-2", Instant.parse("2026-02-15T00:00:00Z"), false));
+        assertEquals(2, store.deleteForUser("u-1"));
+        assertTrue(new PasswordResetStore(file, AuthStoreBackend.JOURNAL).findByHash("hash-3").isPresent());
+        assertTrue(new PasswordResetStore(file, AuthStoreBackend.JOURNAL).findByHash("hash-1").isEmpty());
+    }
+
+    @Test
+    void fileBackendFoldsAJournalLeftByTheJournalBackend() throws Exception {
+        Path file = Files.createTempDirectory("auth-journal-switch-").resolve("users.json");
+        UserStore journaled = new UserStore(file, AuthStoreBackend.JOURNAL);
+        journaled.save(user("u-1", "alice@example.com"));
+        journaled.save(user("u-2", "bob@example.com"));
+        journaled.deleteById("u-2");
+        assertFalse(Files.exists(file));
+
+        UserStore plain = new UserStore(file);
+        assertEquals(List.of("u-1"), plain.all().stream().map(AuthUser::id).toList());
+        assertTrue(plain.findByEmail("alice@example.com").isPresent());
+        assertFalse(Files.exists(file.resolveSibling("users.json.journal")));
+    }
+
+    @Test
+    void closeCompactsTheJournalIntoTheListFile() throws Exception {
+        Path file = Files.createTempDirectory("auth-journal-close-").resolve("preferences.json");
+        PreferencesStore store = new PreferencesStore(file, AuthStoreBackend.JOURNAL);
+        store.putForUser(new UserPreferences("u-1", List.of("02108"), List.of(), List.of(), "dark", "blue"));
+        assertFalse(Files.exists(file));
+
+        store.close();
+
+        assertFalse(Files.exists(file.resolveSibling("preferences.json.journal")));
+        assertEquals(List.of("02108"), new PreferencesStore(file).getForUser("u-1").zipCodes());
+    }
+
+    private static AuthUser user(String id, String email) {
+        return new AuthUser(id, email, "hash", Instant.parse("2026-02-15T00:00:00Z"), null);
+    }
+}
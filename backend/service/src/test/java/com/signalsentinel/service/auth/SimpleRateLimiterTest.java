@@ -5,7 +5,9 @@ import org.junit.jupiter.api.Test;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -22,20 +24,42 @@ class SimpleRateLimiterTest {
     }
 
     @Test
-    void rejectsNewKeysWhenAtMaxCapacity() {
+    void evictsLeastRecentlyUsedKeyWhenAtMaxCapacity() {
         MutableClock clock = new MutableClock(Instant.parse("2026-02-25T10:00:00Z"));
-        SimpleRateLimiter limiter = new SimpleRateLimiter(clock, 5, 60, 2);
+        SimpleRateLimiter limiter = new SimpleRateLimiter(clock, 1, 60, 2);
 
-        // Fill up to the cap with two distinct keys.
         assertTrue(limiter.tryAcquire("key:1"));
         assertTrue(limiter.tryAcquire("key:2"));
+        assertFalse(limiter.tryAcquire("key:1"));
 
-        // A third distinct key should be rejected because the cap is 2.
+        // A third distinct key is admitted; key:2 was used least recently and loses its history.
+        assertTrue(limiter.tryAcquire("key:3"));
+        assertFalse(limiter.tryAcquire("key:1"));
         assertFalse(limiter.tryAcquire("key:3"));
-
-        // Existing keys still work normally.
-        assertTrue(limiter.tryAcquire("key:1"));
         assertTrue(limiter.tryAcquire("key:2"));
+
+        assertEquals(2, limiter.metricsSnapshot().get("keys"));
+        assertEquals(2L, limiter.metricsSnapshot().get("evictions"));
+    }
+
+    @Test
+    void keepsKeysApartAcrossStripesAndCountsOutcomes() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-02-25T10:00:00Z"));
+        SimpleRateLimiter limiter = new SimpleRateLimiter(clock, 2, 60, 4_096);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(limiter.tryAcquire("ip:" + i));
+            assertTrue(limiter.tryAcquire("ip:" + i));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(limiter.tryAcquire("ip:" + i));
+        }
+
+        Map<String, Object> metrics = limiter.metricsSnapshot();
+        assertEquals(1_000, metrics.get("keys"));
+        assertEquals(2_000L, metrics.get("allowed"));
+        assertEquals(1_000L, metrics.get("rejected"));
+        assertEquals(0L, metrics.get("evictions"));
     }
 
     @Test
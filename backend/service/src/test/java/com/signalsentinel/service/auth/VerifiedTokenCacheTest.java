@@ -0,0 +1,97 @@
+package com.signalsentinel.service.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VerifiedTokenCacheTest {
+    private static final Instant NOW = Instant.parse("2026-02-25T10:00:00Z");
+
+    @Test
+    void servesEntriesUntilTokenExpiryOrMaxAge() {
+        MutableClock clock = new MutableClock(NOW);
+        VerifiedTokenCache cache = new VerifiedTokenCache(clock, 10, Duration.ofMinutes(5));
+        cache.put("short", user("u-1"), NOW.plusSeconds(30), cache.generation());
+        cache.put("long", user("u-2"), NOW.plus(Duration.ofHours(8)), cache.generation());
+
+        assertEquals("u-1", cache.get("short").orElseThrow().id());
+        clock.set(NOW.plusSeconds(31));
+        assertTrue(cache.get("short").isEmpty());
+        assertTrue(cache.get("long").isPresent());
+        clock.set(NOW.plus(Duration.ofMinutes(6)));
+        assertTrue(cache.get("long").isEmpty());
+        assertEquals(2L, cache.metricsSnapshot().get("hits"));
+        assertEquals(0, cache.metricsSnapshot().get("entries"));
+    }
+
+    @Test
+    void invalidationDropsEntriesAndRejectsLookupsThatStartedEarlier() {
+        MutableClock clock = new MutableClock(NOW);
+        VerifiedTokenCache cache = new VerifiedTokenCache(clock, 10, Duration.ofMinutes(5));
+        Instant expiresAt = NOW.plus(Duration.ofHours(8));
+        cache.put("a", user("u-1"), expiresAt, cache.generation());
+        cache.put("b", user("u-1"), expiresAt, cache.generation());
+        cache.put("c", user("u-2"), expiresAt, cache.generation());
+
+        long before = cache.generation();
+        cache.invalidateUser("u-1");
+        cache.put("d", user("u-1"), expiresAt, before);
+        cache.invalidateToken("c");
+
+        assertTrue(cache.get("a").isEmpty());
+        assertTrue(cache.get("b").isEmpty());
+        assertTrue(cache.get("c").isEmpty());
+        assertTrue(cache.get("d").isEmpty());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondCapacity() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(new MutableClock(NOW), 2, Duration.ofMinutes(5));
+        Instant expiresAt = NOW.plus(Duration.ofHours(8));
+        cache.put("a", user("u-1"), expiresAt, cache.generation());
+        cache.put("b", user("u-2"), expiresAt, cache.generation());
+        cache.get("a");
+        cache.put("c", user("u-3"), expiresAt, cache.generation());
+
+        assertTrue(cache.get("a").isPresent());
+        assertTrue(cache.get("b").isEmpty());
+        assertTrue(cache.get("c").isPresent());
+    }
+
+    private static AuthUser user(String id) {
+        return new AuthUser(id, id + "@example.com", "hash", NOW, NOW);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void set(Instant newInstant) {
+            this.instant = newInstant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -19,6 +19,9 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -104,4 +107,133 @@ class EnvCollectorTest {
                         && event.error() != null
                         && event.error().contains("ZIP")));
     }
+
+    @Test
+    void pollsZipsConcurrentlyWithinProviderCap() {
+        EventBus eventBus = new EventBus();
+        List<EnvWeatherUpdated> weatherEvents = new ArrayList<>();
+        eventBus.subscribe(EnvWeatherUpdated.class, weatherEvents::add);
+
+        Clock clock = Clock.fixed(Instant.parse("2026-02-18T12:00:00Z"), ZoneOffset.UTC);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        EnvService envService = new EnvService(
+                new ZipGeoStore(tempDir.resolve("zip-geo-3.json")),
+                zip -> new ZipGeoRecord(zip, 40.0, -75.0, Instant.now(clock), "test"),
+                (lat, lon) -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    return new NoaaWeatherSnapshot(60.0, "Clear", "3 mph", Instant.now(clock), "https://api.weather.gov/mock", "2026-02-18T12:00:00Z", "Philadelphia", "PA");
+                },
+                zip -> Optional.empty(),
+                clock,
+                List.of("19103")
+        ).withProviderConcurrency(2, 1);
+        List<String> zips = List.of("19101", "19102", "19103", "19104", "19106", "19107");
+        EnvCollector collector = new EnvCollector(envService, () -> zips, Duration.ofSeconds(30));
+
+        CollectorResult result = collector.poll(context(eventBus, clock, "signals-3.json")).join();
+
+        assertTrue(result.success());
+        assertEquals(6, weatherEvents.size());
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void reportsZipsUnfinishedAtDeadlineAsUnavailable() {
+        EventBus eventBus = new EventBus();
+        List<AlertRaised> alerts = new ArrayList<>();
+        List<EnvWeatherUpdated> weatherEvents = new ArrayList<>();
+        eventBus.subscribe(AlertRaised.class, alerts::add);
+        eventBus.subscribe(EnvWeatherUpdated.class, weatherEvents::add);
+
+        Clock clock = Clock.fixed(Instant.parse("2026-02-18T12:00:00Z"), ZoneOffset.UTC);
+        CountDownLatch release = new CountDownLatch(1);
+        EnvService envService = new EnvService(
+                new ZipGeoStore(tempDir.resolve("zip-geo-4.json")),
+                zip -> new ZipGeoRecord(zip, zip.equals("02108") ? 42.35 : 47.61, -71.06, Instant.now(clock), "test"),
+                (lat, lon) -> {
+                    if (lat == 42.35) {
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return new NoaaWeatherSnapshot(50.0, "Rain", "9 mph", Instant.now(clock), "https://api.weather.gov/mock", "2026-02-18T12:00:00Z", null, null);
+                },
+                zip -> Optional.empty(),
+                clock,
+                List.of("98101")
+        );
+        EnvCollector collector = new EnvCollector(
+                envService, () -> List.of("02108", "98101"), Duration.ofSeconds(30), Duration.ofMillis(200));
+
+        CollectorResult result = collector.poll(context(eventBus, clock, "signals-4.json")).join();
+        release.countDown();
+
+        assertFalse(result.success());
+        assertEquals(1, result.stats().get("successes"));
+        assertEquals(1, result.stats().get("failures"));
+        assertEquals(1, alerts.stream().filter(alert -> alert.message().contains("02108")).count());
+        assertTrue(weatherEvents.stream().anyMatch(event ->
+                event.zip().equals("02108")
+                        && event.status().equals("UNAVAILABLE")
+                        && event.error().contains("deadline")));
+        assertTrue(weatherEvents.stream().anyMatch(event -> event.zip().equals("98101") && event.status().equals("OK")));
+    }
+
+    @Test
+    void deadlineEqualToIntervalIsCappedSoThePollCutsOffBeforeTheIntervalEnds() {
+        EventBus eventBus = new EventBus();
+        List<EnvWeatherUpdated> weatherEvents = new ArrayList<>();
+        eventBus.subscribe(EnvWeatherUpdated.class, weatherEvents::add);
+
+        Clock clock = Clock.fixed(Instant.parse("2026-02-18T12:00:00Z"), ZoneOffset.UTC);
+        CountDownLatch release = new CountDownLatch(1);
+        EnvService envService = new EnvService(
+                new ZipGeoStore(tempDir.resolve("zip-geo-5.json")),
+                zip -> new ZipGeoRecord(zip, 42.35, -71.06, Instant.now(clock), "test"),
+                (lat, lon) -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new NoaaWeatherSnapshot(50.0, "Rain", "9 mph", Instant.now(clock), "https://api.weather.gov/mock", "2026-02-18T12:00:00Z", null, null);
+                },
+                zip -> Optional.empty(),
+                clock,
+                List.of("02108")
+        );
+        Duration interval = Duration.ofSeconds(1);
+        EnvCollector collector = new EnvCollector(envService, () -> List.of("02108", "02109"), interval, interval);
+
+        CollectorResult result = collector.poll(context(eventBus, clock, "signals-5.json")).join();
+        release.countDown();
+
+        // Both ZIPs are cut off by the capped budget (90% of the interval), not by the configured deadline.
+        assertFalse(result.success());
+        assertEquals(2, weatherEvents.stream()
+                .filter(event -> event.status().equals("UNAVAILABLE")
+                        && event.error().contains("tick deadline of 900ms"))
+                .count());
+    }
+
+    private CollectorContext context(EventBus eventBus, Clock clock, String signalsFile) {
+        return new CollectorContext(
+                HttpClient.newHttpClient(),
+                eventBus,
+                new JsonFileSignalStore(tempDir.resolve(signalsFile)),
+                clock,
+                Duration.ofSeconds(1),
+                java.util.Map.of()
+        );
+    }
 }
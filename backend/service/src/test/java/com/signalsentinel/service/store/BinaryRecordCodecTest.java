@@ -0,0 +1,148 @@
+package com.signalsentinel.service.store;
+
+import com.signalsentinel.core.events.AlertRaised;
+import com.signalsentinel.core.events.CollectorTickCompleted;
+import com.signalsentinel.core.events.CollectorTickStarted;
+import com.signalsentinel.core.events.ContentChanged;
+import com.signalsentinel.core.events.EnvAqiUpdated;
+import com.signalsentinel.core.events.EnvWeatherUpdated;
+import com.signalsentinel.core.events.Event;
+import com.signalsentinel.core.events.LocalHappeningsIngested;
+import com.signalsentinel.core.events.LoginFailed;
+import com.signalsentinel.core.events.LoginSucceeded;
+import com.signalsentinel.core.events.NewsItemsIngested;
+import com.signalsentinel.core.events.NewsUpdated;
+import com.signalsentinel.core.events.PasswordResetFailed;
+import com.signalsentinel.core.events.PasswordResetRequested;
+import com.signalsentinel.core.events.PasswordResetSucceeded;
+import com.signalsentinel.core.events.SiteFetched;
+import com.signalsentinel.core.events.UserRegistered;
+import com.signalsentinel.core.events.WeatherUpdated;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryRecordCodecTest {
+    private static final Instant BASE = Instant.parse("2026-02-12T20:00:00.123456789Z");
+    private static final BinaryRecordCodec CODEC = BinaryRecordCodec.INSTANCE;
+
+    @Test
+    void roundTripsEveryEventTypeIncludingNullsAndMaskedEmails() {
+        List<Event> events = sampleEvents();
+        Set<Class<?>> covered = events.stream().map(Object::getClass).collect(Collectors.toSet());
+        assertEquals(Set.copyOf(EventCodec.allEventTypes()), covered);
+
+        for (Event event : events) {
+            byte[] payload = payload(CODEC.encode(event));
+            assertEquals(EventCodec.sanitize(event), CODEC.decode(payload), event.type());
+            assertEquals(new EventCodec.RecordHeader(event.type(), event.timestamp()), CODEC.readHeader(payload));
+        }
+        Event login = CODEC.decode(payload(CODEC.encode(new LoginFailed(BASE, "shiela@example.com", "bad_password"))));
+        assertEquals("s***a@example.com", ((LoginFailed) login).email());
+    }
+
+    @Test
+    void recordsAreSmallerThanTheirJsonLines() {
+        for (Event event : sampleEvents()) {
+            int binary = CODEC.encode(event).length;
+            int json = JsonlRecordCodec.INSTANCE.encode(event).length;
+            assertTrue(binary < json, event.type() + ": " + binary + " >= " + json);
+        }
+    }
+
+    @Test
+    void scanAndReadLastWalkFramesAndStopAtATornTail() throws Exception {
+        Path file = Files.createTempDirectory("binary-codec-").resolve("00000000000000000000.evb");
+        List<Long> offsets = new ArrayList<>();
+        long size = 0;
+        for (int i = 0; i < 5; i++) {
+            byte[] record = CODEC.encode(alert("e" + i, BASE.plusSeconds(i)));
+            offsets.add(size);
+            size += record.length;
+            Files.write(file, record, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        byte[] torn = CODEC.encode(alert("torn", BASE.plusSeconds(9)));
+        Files.write(file, Arrays.copyOf(torn, torn.length - 3), StandardOpenOption.APPEND);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<String> scanned = new ArrayList<>();
+            List<Long> scannedOffsets = new ArrayList<>();
+            long end = CODEC.scan(channel, 0, channel.size(), (offset, length, payload) -> {
+                scannedOffsets.add(offset);
+                scanned.add(((AlertRaised) CODEC.decode(payload)).message());
+                return true;
+            });
+            assertEquals(List.of("e0", "e1", "e2", "e3", "e4"), scanned);
+            assertEquals(offsets, scannedOffsets);
+            assertEquals(size, end);
+
+            List<RecordCodec.Record> last = CODEC.readLast(channel, size, 2);
+            assertEquals(List.of(offsets.get(3), offsets.get(4)), last.stream().map(RecordCodec.Record::offset).toList());
+            assertEquals("e4", ((AlertRaised) CODEC.decode(last.getLast().payload())).message());
+            assertEquals(5, CODEC.readLast(channel, size, 100).size());
+        }
+    }
+
+    @Test
+    void corruptFramesFailLoudly() throws Exception {
+        Path file = Files.createTempDirectory("binary-codec-corrupt-").resolve("00000000000000000000.evb");
+        byte[] record = CODEC.encode(alert("e0", BASE));
+        record[record.length - 1] ^= 0x7F;
+        Files.write(file, record);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThrows(IOException.class, () -> CODEC.scan(channel, 0, channel.size(), (offset, length, payload) -> true));
+            assertThrows(IOException.class, () -> CODEC.readLast(channel, channel.size(), 1));
+        }
+        assertThrows(IllegalStateException.class, () -> CODEC.decode("garbage".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] payload(byte[] record) {
+        return Arrays.copyOfRange(record, Integer.BYTES, record.length - Integer.BYTES);
+    }
+
+    private static AlertRaised alert(String message, Instant timestamp) {
+        return new AlertRaised(timestamp, "collector", message, Map.of("m", message));
+    }
+
+    private static List<Event> sampleEvents() {
+        return List.of(
+                new CollectorTickStarted(BASE, "rss"),
+                new CollectorTickCompleted(BASE, "rss", true, 1234L),
+                new SiteFetched(BASE, "site-1", "https://example.com", 200, 87L),
+                new ContentChanged(BASE, "site-1", "https://example.com", null, "abc123"),
+                new NewsUpdated(BASE, "wire", 12),
+                new NewsItemsIngested(BASE, "wire", 3),
+                new LocalHappeningsIngested(BASE, "city", "Seattle", 4),
+                new WeatherUpdated(BASE, "Seattle", 55.5, "Rain"),
+                new EnvWeatherUpdated(BASE, "98101", "Seattle, WA", 47.6, -122.3, 54.2, "Cloudy", "nws",
+                        1_770_000_000_000L, "ok", null, "https://api.weather.gov/x", "2026-02-12T19:53:00Z"),
+                new EnvAqiUpdated(BASE, "98101", "Seattle, WA", 47.6, -122.3, null, null, "No data", "airnow",
+                        1_770_000_000_000L, "unavailable", "timeout", null, null),
+                new AlertRaised(BASE.minusSeconds(86_400L * 365 * 60), "site", "Site down",
+                        Map.of("siteId", "site-1", "attempts", 3, "nested", Map.of("ok", false))),
+                new UserRegistered(BASE, "u-1", "user@example.com"),
+                new LoginSucceeded(BASE, "u-1", "user@example.com"),
+                new LoginFailed(BASE, "user@example.com", "bad_password"),
+                new PasswordResetRequested(BASE, "user@example.com"),
+                new PasswordResetSucceeded(BASE, "u-1", "user@example.com"),
+                new PasswordResetFailed(BASE, "user@example.com", "expired")
+        );
+    }
+}
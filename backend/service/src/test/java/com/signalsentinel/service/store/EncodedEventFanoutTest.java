@@ -0,0 +1,125 @@
+package com.signalsentinel.service.store;
+
+import com.signalsentinel.core.bus.AsyncDispatchOptions;
+import com.signalsentinel.core.bus.EventBus;
+import com.signalsentinel.core.events.AlertRaised;
+import com.signalsentinel.core.events.Event;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EncodedEventFanoutTest {
+    private static final Instant BASE = Instant.parse("2026-02-12T20:00:00Z");
+
+    @Test
+    void everySinkReceivesTheSameEncodingAndFailuresAreIsolated() {
+        EventBus eventBus = new EventBus();
+        EncodedEventFanout fanout = new EncodedEventFanout(eventBus);
+        List<EncodedEvent> first = new ArrayList<>();
+        List<EncodedEvent> last = new ArrayList<>();
+        fanout.subscribe(first::add);
+        fanout.subscribe(encoded -> {
+            throw new IllegalStateException("boom");
+        });
+        fanout.subscribe(last::add);
+
+        eventBus.publish(new AlertRaised(BASE, "collector", "hello", Map.of()));
+
+        assertEquals(1, first.size());
+        assertSame(first.getFirst(), last.getFirst());
+        assertSame(first.getFirst().sseFrame(), last.getFirst().sseFrame());
+    }
+
+    @Test
+    void asyncFanoutDeliversOffThePublisherThreadInOrder() {
+        List<String> seen = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        try (EventBus eventBus = new EventBus()) {
+            EncodedEventFanout fanout = new EncodedEventFanout(
+                    eventBus, AsyncDispatchOptions.of(AsyncDispatchOptions.Overflow.BLOCK));
+            fanout.subscribe(encoded -> {
+                threads.add(Thread.currentThread());
+                seen.add(((AlertRaised) encoded.event()).message());
+            });
+            for (int i = 0; i < 20; i++) {
+                eventBus.publish(new AlertRaised(BASE.plusSeconds(i), "collector", "e" + i, Map.of()));
+            }
+            eventBus.flush();
+        }
+
+        assertEquals(20, seen.size());
+        assertEquals("e0", seen.getFirst());
+        assertEquals("e19", seen.getLast());
+        assertTrue(threads.stream().noneMatch(thread -> thread == Thread.currentThread()));
+    }
+
+    @Test
+    void asyncFanoutKeepsASlowSinkFromDelayingTheOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDone = new CountDownLatch(5);
+        List<EncodedEvent> slow = new CopyOnWriteArrayList<>();
+        List<EncodedEvent> fast = new CopyOnWriteArrayList<>();
+        try (EventBus eventBus = new EventBus()) {
+            EncodedEventFanout fanout = new EncodedEventFanout(
+                    eventBus, AsyncDispatchOptions.of(AsyncDispatchOptions.Overflow.BLOCK));
+            fanout.subscribe(encoded -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                slow.add(encoded);
+            });
+            fanout.subscribe(encoded -> {
+                fast.add(encoded);
+                fastDone.countDown();
+            });
+            for (int i = 0; i < 5; i++) {
+                eventBus.publish(new AlertRaised(BASE.plusSeconds(i), "collector", "e" + i, Map.of()));
+            }
+
+            assertTrue(fastDone.await(5, TimeUnit.SECONDS));
+            assertTrue(slow.isEmpty());
+            release.countDown();
+            eventBus.flush();
+        }
+
+        assertEquals(5, slow.size());
+        assertSame(slow.getFirst(), fast.getFirst());
+    }
+
+    @Test
+    void storesAppendTheSharedLineBytes() throws Exception {
+        Path log = Files.createTempDirectory("fanout-store-").resolve("events.jsonl");
+        JsonlEventStore store = new JsonlEventStore(log);
+        EventBus eventBus = new EventBus();
+        EncodedEventFanout fanout = new EncodedEventFanout(eventBus);
+        List<EncodedEvent> seen = new ArrayList<>();
+        fanout.subscribe(store::append);
+        fanout.subscribe(seen::add);
+
+        eventBus.publish(new AlertRaised(BASE, "collector", "a", Map.of()));
+        eventBus.publish(new AlertRaised(BASE.plusSeconds(1), "collector", "b", Map.of()));
+
+        byte[] expected = new byte[seen.get(0).jsonLine().length + seen.get(1).jsonLine().length];
+        System.arraycopy(seen.get(0).jsonLine(), 0, expected, 0, seen.get(0).jsonLine().length);
+        System.arraycopy(seen.get(1).jsonLine(), 0, expected, seen.get(0).jsonLine().length, seen.get(1).jsonLine().length);
+        assertArrayEquals(expected, Files.readAllBytes(log));
+        List<Event> events = new JsonlEventStore(log).query(Instant.EPOCH, Optional.empty(), 10);
+        assertEquals(List.of("a", "b"), events.stream().map(event -> ((AlertRaised) event).message()).toList());
+    }
+}
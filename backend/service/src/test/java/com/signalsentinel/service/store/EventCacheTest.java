@@ -0,0 +1,87 @@
+package com.signalsentinel.service.store;
+
+import com.signalsentinel.core.events.AlertRaised;
+import com.signalsentinel.core.events.Event;
+import com.signalsentinel.core.events.LoginFailed;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventCacheTest {
+    private static final Instant BASE = Instant.parse("2026-02-12T20:00:00Z");
+
+    @Test
+    void returnsNewestMatchesInAppendOrderUpToLimit() {
+        EventCache cache = new EventCache(100);
+        for (int i = 0; i < 50; i++) {
+            cache.add(i % 3 == 0 ? login(i) : alert("e" + i, BASE.plusSeconds(i)));
+        }
+
+        assertEquals(List.of("e47", "e49"), messages(cache.query(BASE, Optional.of("AlertRaised"), 2).orElseThrow()));
+        assertEquals(17, cache.query(BASE, Optional.of("LoginFailed"), 100).orElseThrow().size());
+        assertEquals(10, cache.query(BASE.plusSeconds(40), Optional.empty(), 100).orElseThrow().size());
+        assertEquals(List.of(), cache.query(BASE, Optional.of("UserRegistered"), 10).orElseThrow());
+        assertEquals(List.of(), cache.query(BASE, Optional.empty(), 0).orElseThrow());
+    }
+
+    @Test
+    void sinceLookupStaysExactWhenTimestampsArriveOutOfOrder() {
+        EventCache cache = new EventCache(100);
+        cache.add(alert("a", BASE.plusSeconds(10)));
+        cache.add(alert("late", BASE.plusSeconds(50)));
+        cache.add(alert("b", BASE.plusSeconds(20)));
+        cache.add(alert("c", BASE.plusSeconds(60)));
+
+        assertEquals(List.of("late", "b", "c"), messages(cache.query(BASE.plusSeconds(15), Optional.empty(), 10).orElseThrow()));
+        assertEquals(List.of("late", "c"), messages(cache.query(BASE.plusSeconds(30), Optional.empty(), 10).orElseThrow()));
+        assertEquals(List.of(), cache.query(BASE.plusSeconds(61), Optional.empty(), 10).orElseThrow());
+    }
+
+    @Test
+    void evictionKeepsTypeRingsInStepAndDefersToDiskOnlyWhenNeeded() {
+        EventCache cache = new EventCache(4);
+        cache.add(login(0));
+        for (int i = 1; i <= 40; i++) {
+            cache.add(alert("e" + i, BASE.plusSeconds(i)));
+        }
+        assertEquals(4, cache.size());
+        assertEquals(List.of("e37", "e38", "e39", "e40"), messages(cache.query(BASE, Optional.of("AlertRaised"), 4).orElseThrow()));
+
+        // Evicted alerts up to e36 could match, so a deeper alert query must go to disk.
+        assertTrue(cache.query(BASE.plusSeconds(30), Optional.of("AlertRaised"), 10).isEmpty());
+        // The only evicted login is older than since, so the cache answers authoritatively.
+        assertEquals(List.of(), cache.query(BASE.plusSeconds(1), Optional.of("LoginFailed"), 10).orElseThrow());
+        assertTrue(cache.query(BASE, Optional.of("LoginFailed"), 10).isEmpty());
+        // Enough cached matches answer the query even when older ones were evicted.
+        assertEquals(2, cache.query(BASE, Optional.empty(), 2).orElseThrow().size());
+    }
+
+    @Test
+    void uncachedEventsOfUnknownTypeCountAgainstEveryType() {
+        EventCache cache = new EventCache(10);
+        cache.add(alert("cached", BASE.plusSeconds(100)));
+        cache.markUncached(BASE.plusSeconds(50).toEpochMilli());
+
+        assertTrue(cache.query(BASE, Optional.of("LoginFailed"), 10).isEmpty());
+        assertTrue(cache.query(BASE.plusSeconds(50), Optional.empty(), 10).isEmpty());
+        assertEquals(List.of("cached"), messages(cache.query(BASE.plusSeconds(51), Optional.empty(), 10).orElseThrow()));
+    }
+
+    private static List<String> messages(List<Event> events) {
+        return events.stream().map(event -> ((AlertRaised) event).message()).toList();
+    }
+
+    private static LoginFailed login(int i) {
+        return new LoginFailed(BASE.plusSeconds(i), "user" + i + "@example.com", "bad_password");
+    }
+
+    private static AlertRaised alert(String message, Instant timestamp) {
+        return new AlertRaised(timestamp, "collector", message, Map.of("m", message));
+    }
+}
@@ -13,6 +13,7 @@ import com.signalsentinel.core.events.UserRegistered;
 import com.signalsentinel.core.util.JsonUtils;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Map;
 
@@ -33,7 +34,7 @@ class EventCodecTest {
 
         String line = EventCodec.toJsonLine(event);
         Event parsed = EventCodec.fromJsonLine(line);
-        String sseData = EventCodec.toSseData(event);
+        String sseData = sseData(event);
 
         assertEquals("AlertRaised", parsed.type());
         assertTrue(line.contains("\"type\":\"AlertRaised\""));
@@ -41,6 +42,22 @@ class EventCodecTest {
         assertEquals(17, EventCodec.allEventTypes().size());
     }
 
+    @Test
+    void encodeDerivesStoreLineAndSseFrameFromOneSerialization() {
+        Event event = new LoginFailed(Instant.parse("2026-02-12T20:00:00Z"), "shiela@example.com", "bad_password");
+
+        EncodedEvent encoded = EventCodec.encode(event);
+        String line = new String(encoded.jsonLine(), StandardCharsets.UTF_8);
+        String frame = new String(encoded.sseFrame(), StandardCharsets.UTF_8);
+        String json = line.substring(0, line.length() - 1);
+
+        assertTrue(line.endsWith("\n"));
+        assertEquals("event: LoginFailed\ndata: " + json + "\n\n", frame);
+        assertTrue(json.contains("s***a@example.com"));
+        assertEquals(EventCodec.sanitize(event), EventCodec.fromJsonLine(json));
+        assertEquals("LoginFailed", encoded.type());
+    }
+
     @Test
     void rejectsUnsupportedOrInvalidPayload() {
         IllegalArgumentException unsupported = assertThrows(IllegalArgumentException.class, () ->
@@ -54,6 +71,20 @@ class EventCodecTest {
         assertTrue(invalid.getMessage().contains("Unable to deserialize event"));
     }
 
+    @Test
+    void readsHeaderWithoutDecodingThePayload() {
+        Instant timestamp = Instant.parse("2026-02-12T20:00:00.123Z");
+        String line = EventCodec.toJsonLine(new AlertRaised(timestamp, "collector", "hello", Map.of("k", "v")));
+
+        EventCodec.RecordHeader header = EventCodec.readHeader(line.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("AlertRaised", header.type());
+        assertEquals(timestamp, header.timestamp());
+        assertThrows(IllegalStateException.class,
+                () -> EventCodec.readHeader("{\"type\":\"AlertRaised\"}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IllegalStateException.class, () -> EventCodec.readHeader("not-json".getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Test
     void roundTripsEnrichedEnvironmentEvents() {
         Event weather = new EnvWeatherUpdated(
@@ -134,11 +165,11 @@ class EventCodecTest {
 
     private void assertEmailMasked(Event event, String masked) {
         String line = EventCodec.toJsonLine(event);
-        String sse = EventCodec.toSseData(event);
+        String sse = sseData(event);
         assertTrue(line.contains(masked), "expected masked email in toJsonLine for " + event.type());
-        assertTrue(sse.contains(masked),  "expected masked email in toSseData for " + event.type());
+        assertTrue(sse.contains(masked),  "expected masked email in the SSE frame for " + event.type());
         assertFalse(line.contains("shiela@example.com"), "raw email must not appear in toJsonLine for " + event.type());
-        assertFalse(sse.contains("shiela@example.com"),  "raw email must not appear in toSseData for " + event.type());
+        assertFalse(sse.contains("shiela@example.com"),  "raw email must not appear in the SSE frame for " + event.type());
     }
 
     @Test
@@ -146,7 +177,7 @@ class EventCodecTest {
         Event event = new AlertRaised(Instant.now(), "collector", "probe", Map.of());
 
         long before = Instant.now().toEpochMilli();
-        String sse = EventCodec.toSseData(event);
+        String sse = sseData(event);
         long after = Instant.now().toEpochMilli();
 
         var node = JsonUtils.objectMapper().readTree(sse);
@@ -157,4 +188,11 @@ class EventCodecTest {
         assertTrue(timestampEpochMillis >= before - 5_000 && timestampEpochMillis <= after + 5_000);
         assertEquals(timestampEpochMillis, legacyTimestamp);
     }
+
+    /** The JSON carried by the {@code data:} line of the event's encoded SSE frame. */
+    private static String sseData(Event event) {
+        String frame = new String(EventCodec.encode(event).sseFrame(), StandardCharsets.UTF_8);
+        int start = frame.indexOf("data: ") + "data: ".length();
+        return frame.substring(start, frame.indexOf('\n', start));
+    }
 }
@@ -0,0 +1,71 @@
+package com.signalsentinel.service.store;
+
+import com.signalsentinel.core.events.AlertRaised;
+import com.signalsentinel.core.events.Event;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventLogConvertMainTest {
+    private static final Instant BASE = Instant.parse("2026-02-12T20:00:00Z");
+
+    @Test
+    void convertsJsonlToBinaryAndBackWithoutLosingEvents() throws Exception {
+        Path dir = Files.createTempDirectory("event-log-convert-");
+        Path jsonl = dir.resolve("events.jsonl");
+        JsonlEventStore store = new JsonlEventStore(jsonl);
+        for (int i = 0; i < 25; i++) {
+            store.append(new AlertRaised(BASE.plusSeconds(i), "collector", "e" + i, Map.of("i", i)));
+        }
+        Files.writeString(jsonl, "\n", StandardOpenOption.APPEND);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        Path binary = dir.resolve("events.evb");
+        assertEquals(0, EventLogConvertMain.run(new String[]{jsonl.toString(), binary.toString()}, stream(out), stream(err)));
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("Converted 25 events"));
+        assertTrue(Files.size(binary) < Files.size(jsonl));
+
+        Path back = dir.resolve("back/events.jsonl");
+        Files.createDirectories(back.getParent());
+        assertEquals(0, EventLogConvertMain.run(new String[]{binary.toString(), back.toString()}, stream(out), stream(err)));
+        List<Event> events = new JsonlEventStore(back).query(Instant.EPOCH, Optional.empty(), 100);
+        assertEquals(25, events.size());
+        assertEquals(new AlertRaised(BASE.plusSeconds(24), "collector", "e24", Map.of("i", 24)), events.getLast());
+        assertEquals("", err.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rejectsMissingArgsUnknownSuffixesAndExistingOutput() throws Exception {
+        Path dir = Files.createTempDirectory("event-log-convert-args-");
+        Path input = Files.writeString(dir.resolve("events.jsonl"), "");
+        Path existing = Files.writeString(dir.resolve("existing.evb"), "");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        assertEquals(1, EventLogConvertMain.run(new String[0], stream(out), stream(err)));
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("Usage: EventLogConvertMain"));
+        assertEquals(2, EventLogConvertMain.run(new String[]{input.toString(), dir.resolve("out.txt").toString()}, stream(out), stream(err)));
+        assertEquals(2, EventLogConvertMain.run(new String[]{input.toString(), existing.toString()}, stream(out), stream(err)));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Output already exists"));
+        assertEquals(3, EventLogConvertMain.run(
+                new String[]{dir.resolve("missing.jsonl").toString(), dir.resolve("out.evb").toString()}, stream(out), stream(err)));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Conversion failed"));
+    }
+
+    private static PrintStream stream(ByteArrayOutputStream out) {
+        return new PrintStream(out, true, StandardCharsets.UTF_8);
+    }
+}
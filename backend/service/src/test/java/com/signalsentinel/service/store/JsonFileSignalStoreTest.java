@@ -10,17 +10,29 @@ import com.signalsentinel.core.model.WeatherSignal;
 import com.signalsentinel.core.util.JsonUtils;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -317,4 +329,235 @@ class JsonFileSignalStoreTest {
         assertEquals(1, ((Map<?, ?>) all.get("news")).size());
         assertEquals(0, ((Map<?, ?>) all.get("weather")).size());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void signalsSinceReturnsOnlyEntriesChangedAfterTheVersion() throws Exception {
+        Path file = Files.createTempDirectory("signal-store-versions-").resolve("state/signals.json");
+        JsonFileSignalStore store = new JsonFileSignalStore(file);
+        long start = store.version();
+        store.putNews(news("feed-a", "2026-02-15T00:00:00Z"));
+        long afterFirst = store.version();
+        store.putNews(news("feed-b", "2026-02-15T00:01:00Z"));
+        store.putWeather(new WeatherSignal("Boston", 38.5, "Cloudy", List.of(), Instant.parse("2026-02-15T00:02:00Z")));
+
+        assertEquals(start + 3, store.version());
+        SignalDelta delta = store.signalsSince(afterFirst);
+        assertEquals(store.version(), delta.version());
+        assertFalse(delta.full());
+        assertEquals(Set.of("feed-b"), ((Map<String, NewsSignal>) delta.signals().get("news")).keySet());
+        assertEquals(Set.of("Boston"), ((Map<String, WeatherSignal>) delta.signals().get("weather")).keySet());
+        assertTrue(((Map<?, ?>) delta.signals().get("sites")).isEmpty());
+        assertTrue(((Map<?, ?>) store.signalsSince(store.version()).signals().get("news")).isEmpty());
+
+        assertTrue(store.signalsSince(store.version() + 1).full());
+        JsonFileSignalStore reloaded = new JsonFileSignalStore(file);
+        assertTrue(reloaded.signalsSince(afterFirst).full());
+        assertEquals(2, ((Map<?, ?>) reloaded.signalsSince(0).signals().get("news")).size());
+    }
+
+    @Test
+    void snapshotIsImmutableAndSharesUntouchedCategories() throws Exception {
+        JsonFileSignalStore store = new JsonFileSignalStore(
+                Files.createTempDirectory("signal-store-snapshot-").resolve("state/signals.json"));
+        store.putNews(news("feed-a", "2026-02-15T00:00:00Z"));
+        SignalSnapshot before = store.snapshot();
+
+        store.putSite(new SiteSignal("site-1", "https://example.com", "hash-1", "Example", 2,
+                Instant.parse("2026-02-15T00:00:00Z"), Instant.parse("2026-02-15T00:00:00Z")));
+        SignalSnapshot after = store.snapshot();
+
+        assertTrue(before.sites().isEmpty());
+        assertEquals(1, after.sites().size());
+        assertEquals(before.version() + 1, after.version());
+        assertEquals(after.version(), store.version());
+        assertSame(before.news(), after.news());
+        assertSame(after.signals(), store.getAllSignals());
+        assertThrows(UnsupportedOperationException.class, () -> after.news().clear());
+        assertThrows(UnsupportedOperationException.class, () -> after.signals().put("markets", Map.of()));
+    }
+
+    @Test
+    void writeBehindCoalescesPutsIntoOneCompactFlush() throws Exception {
+        Path file = Files.createTempDirectory("signal-store-write-behind-").resolve("state/signals.json");
+        try (JsonFileSignalStore store = new JsonFileSignalStore(file, Duration.ofMillis(200))) {
+            for (int i = 0; i < 13; i++) {
+                store.putNews(news("feed-" + i, "2026-02-15T00:00:00Z"));
+            }
+            store.putNews(news("feed-0", "2026-02-15T00:05:00Z"));
+            assertFalse(Files.exists(file));
+            assertEquals(13, store.metricsSnapshot().get("pendingKeys"));
+
+            awaitTrue(() -> Files.exists(file));
+            assertEquals(1L, store.metricsSnapshot().get("flushes"));
+            assertEquals(0, store.metricsSnapshot().get("pendingKeys"));
+            String raw = Files.readString(file);
+            assertFalse(raw.contains("\n"));
+            assertEquals((long) raw.getBytes(StandardCharsets.UTF_8).length, store.metricsSnapshot().get("lastFlushBytes"));
+        }
+        JsonFileSignalStore reloaded = new JsonFileSignalStore(file);
+        assertEquals(13, ((Map<?, ?>) reloaded.getAllSignals().get("news")).size());
+    }
+
+    @Test
+    void closeFlushesPendingChangesAndLaterPutsWriteThrough() throws Exception {
+        Path file = Files.createTempDirectory("signal-store-close-").resolve("state/signals.json");
+        JsonFileSignalStore store = new JsonFileSignalStore(file, Duration.ofHours(1));
+        store.putNews(news("feed-a", "2026-02-15T00:00:00Z"));
+        assertFalse(Files.exists(file));
+
+        store.close();
+        assertTrue(Files.exists(file));
+        store.flush();
+        assertEquals(1L, store.metricsSnapshot().get("flushes"));
+
+        store.putNews(news("feed-b", "2026-02-15T00:01:00Z"));
+        assertEquals(2L, store.metricsSnapshot().get("flushes"));
+        assertEquals(2, ((Map<?, ?>) new JsonFileSignalStore(file).getAllSignals().get("news")).size());
+        assertThrows(IllegalArgumentException.class, () -> new JsonFileSignalStore(file, Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void failedBackgroundFlushKeepsKeysDirtyAndRetries() throws Exception {
+        Path tempDir = Files.createTempDirectory("signal-store-retry-");
+        Path blocker = tempDir.resolve("state");
+        Files.writeString(blocker, "blocker");
+        Path file = blocker.resolve("signals.json");
+        try (JsonFileSignalStore store = new JsonFileSignalStore(file, Duration.ofMillis(50))) {
+            store.putNews(news("feed-a", "2026-02-15T00:00:00Z"));
+
+            awaitTrue(() -> (Long) store.metricsSnapshot().get("failedFlushes") >= 1);
+            assertEquals(1, store.metricsSnapshot().get("pendingKeys"));
+            Files.delete(blocker);
+
+            awaitTrue(() -> Files.exists(file));
+            assertEquals(1L, store.metricsSnapshot().get("flushes"));
+        }
+    }
+
+    @Test
+    void journalModeAppendsChangesAndRecoversByReplayingOverCheckpoint() throws Exception {
+        Path file = Files.createTempDirectory("signal-store-journal-").resolve("state/signals.json");
+        Path journal = file.resolveSibling("signals.json.journal");
+        JsonFileSignalStore crashed = new JsonFileSignalStore(file, Duration.ZERO, 1024 * 1024);
+        crashed.putNews(news("feed-a", "2026-02-15T00:00:00Z"));
+        crashed.putNews(news("feed-b", "2026-02-15T00:00:00Z"));
+        crashed.putNews(news("feed-a", "2026-02-15T00:05:00Z"));
+
+        assertFalse(Files.exists(file));
+        assertEquals(3, Files.readAllLines(journal).size());
+        assertEquals("journal", crashed.metricsSnapshot().get("persistence"));
+        assertEquals(Files.size(journal), crashed.metricsSnapshot().get("journalBytes"));
+
+        // Never closed: the restarted store must rebuild everything from the journal alone.
+        JsonFileSignalStore recovered = new JsonFileSignalStore(file, Duration.ZERO, 1024 * 1024);
+        Map<?, ?> recoveredNews = (Map<?, ?>) recovered.getAllSignals().get("news");
+        assertEquals(2, recoveredNews.size());
+        assertEquals(news("feed-a", "2026-02-15T00:05:00Z"), recoveredNews.get("feed-a"));
+
+        recovered.close();
+        assertFalse(Files.exists(journal));
+        assertEquals(2, ((Map<?, ?>) new JsonFileSignalStore(file).getAllSignals().get("news")).size());
+    }
+
+    @Test
+    void journalCheckpointsOnceItReachesTheThreshold() throws Exception {
+        Path file = Files.createTempDirectory("signal-store-checkpoint-").resolve("state/signals.json");
+        Path journal = file.resolveSibling("signals.json.journal");
+        JsonFileSignalStore store = new JsonFileSignalStore(file, Duration.ZERO, 200);
+        store.putNews(news("feed-a", "2026-02-15T00:00:00Z"));
+        assertEquals(0L, store.metricsSnapshot().get("checkpoints"));
+
+        store.putNews(news("feed-b", "2026-02-15T00:00:00Z"));
+        store.putNews(news("feed-c", "2026-02-15T00:00:00Z"));
+        assertEquals(1L, store.metricsSnapshot().get("checkpoints"));
+        assertTrue(Files.exists(file));
+        assertTrue(Files.size(journal) < 200);
+
+        store.putNews(news("feed-d", "2026-02-15T00:00:00Z"));
+        JsonFileSignalStore recovered = new JsonFileSignalStore(file, Duration.ZERO, 200);
+        assertEquals(4, ((Map<?, ?>) recovered.getAllSignals().get("news")).size());
+    }
+
+    @Test
+    void tornJournalTailIsDroppedAndLeftoverJournalFoldsIntoSnapshotMode() throws Exception {
+        Path file = Files.createTempDirectory("signal-store-torn-").resolve("state/signals.json");
+        Path journal = file.resolveSibling("signals.json.journal");
+        JsonFileSignalStore crashed = new JsonFileSignalStore(file, Duration.ZERO, 1024 * 1024);
+        crashed.putNews(news("feed-a", "2026-02-15T00:00:00Z"));
+        Files.writeString(journal, "{\"category\":\"news\",\"key\":\"feed-b\",\"sig", StandardOpenOption.APPEND);
+
+        JsonFileSignalStore reopened = new JsonFileSignalStore(file, Duration.ZERO, 1024 * 1024);
+        assertEquals(1, ((Map<?, ?>) reopened.getAllSignals().get("news")).size());
+        reopened.putNews(news("feed-c", "2026-02-15T00:00:00Z"));
+        assertEquals(2, Files.readAllLines(journal).size());
+
+        JsonFileSignalStore snapshotMode = new JsonFileSignalStore(file);
+        assertEquals(2, ((Map<?, ?>) snapshotMode.getAllSignals().get("news")).size());
+        assertFalse(Files.exists(journal));
+        assertEquals(2, ((Map<?, ?>) new JsonFileSignalStore(file).getAllSignals().get("news")).size());
+        assertThrows(IllegalArgumentException.class, () -> new JsonFileSignalStore(file, Duration.ZERO, -1));
+    }
+
+    @Test
+    void checkpointPersistsSnapshotBeforeEmptyingJournal() throws Exception {
+        Path file = Files.createTempDirectory("signal-store-durable-").resolve("state/signals.json");
+        Path journal = file.resolveSibling("signals.json.journal");
+        List<Long> journalBytesAtWrite = new ArrayList<>();
+        AtomicBoolean failWrites = new AtomicBoolean(true);
+        JsonFileSignalStore store = new JsonFileSignalStore(file, Duration.ZERO, 200, (target, json) -> {
+            journalBytesAtWrite.add(Files.size(journal));
+            if (failWrites.get()) {
+                throw new IOException("disk full");
+            }
+            DurableFiles.replace(target, json);
+        });
+        store.putNews(news("feed-a", "2026-02-15T00:00:00Z"));
+        store.putNews(news("feed-b", "2026-02-15T00:00:00Z"));
+        store.putNews(news("feed-c", "2026-02-15T00:00:00Z"));
+
+        // The failed checkpoint must leave every journaled put in place.
+        assertEquals(0L, store.metricsSnapshot().get("checkpoints"));
+        assertFalse(Files.exists(file));
+        assertEquals(3, Files.readAllLines(journal).size());
+        assertEquals(3, ((Map<?, ?>) new JsonFileSignalStore(file, Duration.ZERO, 1024 * 1024)
+                .getAllSignals().get("news")).size());
+
+        failWrites.set(false);
+        store.putNews(news("feed-d", "2026-02-15T00:00:00Z"));
+        assertEquals(1L, store.metricsSnapshot().get("checkpoints"));
+        // The journal was still full when the snapshot was written, and only emptied afterwards.
+        assertTrue(journalBytesAtWrite.getLast() > 0);
+        assertEquals(0L, Files.size(journal));
+        assertFalse(Files.exists(file.resolveSibling("signals.json.tmp")));
+        assertEquals(4, ((Map<?, ?>) new JsonFileSignalStore(file).getAllSignals().get("news")).size());
+    }
+
+    @Test
+    void snapshotOnlyWritesSkipTheCheckpointWriter() throws Exception {
+        Path file = Files.createTempDirectory("signal-store-plain-").resolve("state/signals.json");
+        AtomicInteger checkpointWrites = new AtomicInteger();
+        try (JsonFileSignalStore store = new JsonFileSignalStore(file, Duration.ZERO, 0, (target, json) -> {
+            checkpointWrites.incrementAndGet();
+            DurableFiles.replace(target, json);
+        })) {
+            store.putNews(news("feed-a", "2026-02-15T00:00:00Z"));
+            store.putNews(news("feed-b", "2026-02-15T00:00:00Z"));
+        }
+
+        assertEquals(0, checkpointWrites.get());
+        assertEquals(2, ((Map<?, ?>) new JsonFileSignalStore(file).getAllSignals().get("news")).size());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private static NewsSignal news(String source, String updatedAt) {
+        return new NewsSignal(source, List.of(), Instant.parse(updatedAt));
+    }
 }
@@ -96,7 +96,7 @@ class JsonlEventStoreTest {
         IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
                 new JsonlEventStore(file)
         );
-        assertTrue(ex.getMessage().contains("Invalid JSONL event at line"));
+        assertTrue(ex.getMessage().contains("Invalid JSONL event at offset"));
     }
 
     @Test
@@ -109,15 +109,133 @@ class JsonlEventStoreTest {
             writer.append(alert("e" + i, Instant.EPOCH.plusSeconds(i)));
         }
 
-        // Reopen with a capacity of 5 — should only load the last 5 events.
+        // Reopen with a capacity of 5 — should only load the last 5 events, which answer a query for 5.
         JsonlEventStore reader = new JsonlEventStore(file, 5);
-        List<Event> loaded = reader.query(Instant.EPOCH, Optional.empty(), 100);
+        List<Event> loaded = reader.query(Instant.EPOCH, Optional.empty(), 5);
         assertEquals(5, loaded.size());
         // The loaded events should be the last 5 (e5..e9).
         assertEquals("e5", ((com.signalsentinel.core.events.AlertRaised) loaded.getFirst()).message());
         assertEquals("e9", ((com.signalsentinel.core.events.AlertRaised) loaded.getLast()).message());
     }
 
+    @Test
+    void startupReadsOnlyTheTailOfALargeLog() throws Exception {
+        Path file = Files.createTempDirectory("event-store-tail-load-").resolve("logs/events.jsonl");
+        Files.createDirectories(file.getParent());
+        StringBuilder log = new StringBuilder();
+        // A corrupt record far from the tail is never decoded at startup.
+        log.append("not-json\n");
+        for (int i = 0; i < 2_000; i++) {
+            log.append(EventCodec.toJsonLine(alert("e" + i, Instant.EPOCH.plusSeconds(i)))).append(i % 7 == 0 ? "\r\n\n" : "\n");
+        }
+        Files.writeString(file, log.toString(), StandardCharsets.UTF_8);
+
+        JsonlEventStore store = new JsonlEventStore(file, 10);
+        List<String> loaded = messages(store.query(Instant.EPOCH, Optional.empty(), 10));
+        assertEquals(10, loaded.size());
+        assertEquals("e1990", loaded.getFirst());
+        assertEquals("e1999", loaded.getLast());
+        assertFalse(store.startupLoadDuration().isNegative());
+    }
+
+    @Test
+    void startupDecodesAnUnterminatedFinalRecord() throws Exception {
+        Path file = Files.createTempDirectory("event-store-tail-unterminated-").resolve("logs/events.jsonl");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file,
+                EventCodec.toJsonLine(alert("a", Instant.EPOCH)) + "\n" + EventCodec.toJsonLine(alert("b", Instant.EPOCH.plusSeconds(1))),
+                StandardCharsets.UTF_8);
+
+        assertEquals(List.of("a", "b"), messages(new JsonlEventStore(file, 10).query(Instant.EPOCH, Optional.empty(), 10)));
+    }
+
+    @Test
+    void queryReachesPastTheCacheIntoTheLogFile() throws Exception {
+        Path file = Files.createTempDirectory("event-store-disk-query-").resolve("logs/events.jsonl");
+        JsonlEventStore writer = new JsonlEventStore(file, 5);
+        for (int i = 0; i < 40; i++) {
+            writer.append(i % 2 == 0
+                    ? alert("e" + i, Instant.EPOCH.plusSeconds(i))
+                    : new LoginFailed(Instant.EPOCH.plusSeconds(i), "user" + i + "@example.com", "bad_password"));
+        }
+
+        JsonlEventStore reader = new JsonlEventStore(file, 5);
+        List<Event> since = reader.query(Instant.EPOCH.plusSeconds(3), Optional.empty(), 1_000);
+        assertEquals(37, since.size());
+        assertEquals(Instant.EPOCH.plusSeconds(3), since.getFirst().timestamp());
+        assertEquals(Instant.EPOCH.plusSeconds(39), since.getLast().timestamp());
+
+        List<String> alerts = messages(reader.query(Instant.EPOCH.plusSeconds(10), Optional.of("AlertRaised"), 3));
+        assertEquals(List.of("e34", "e36", "e38"), alerts);
+
+        // Appends after the index was built are picked up by the next look-back.
+        reader.append(alert("late", Instant.EPOCH.plusSeconds(40)));
+        List<Event> all = reader.query(Instant.EPOCH, Optional.empty(), 1_000);
+        assertEquals(41, all.size());
+        assertEquals("late", ((AlertRaised) all.getLast()).message());
+    }
+
+    @Test
+    void recentTypedQueryAfterRestartNeverReadsTheLog() throws Exception {
+        Path file = Files.createTempDirectory("event-store-recent-").resolve("logs/events.jsonl");
+        JsonlEventStore writer = new JsonlEventStore(file, 5);
+        for (int i = 0; i < 40; i++) {
+            writer.append(i % 2 == 0
+                    ? alert("e" + i, Instant.EPOCH.plusSeconds(i))
+                    : new LoginFailed(Instant.EPOCH.plusSeconds(i), "user" + i + "@example.com", "bad_password"));
+        }
+        JsonlEventStore reader = new JsonlEventStore(file, 5);
+        // Any read of the log from here on fails, so only a cache-served answer can succeed.
+        Files.writeString(file, "not json\n".repeat(40), StandardCharsets.UTF_8);
+
+        assertEquals(List.of("e36", "e38"), messages(reader.recent(Optional.of("AlertRaised"), 200)));
+        assertEquals(5, reader.recent(Optional.empty(), 200).size());
+        assertThrows(IllegalStateException.class,
+                () -> reader.query(Instant.EPOCH, Optional.of("AlertRaised"), 200));
+    }
+
+    @Test
+    void sinceQueryNewerThanTheUnloadedTailIsServedFromCacheAfterRestart() throws Exception {
+        Path file = Files.createTempDirectory("event-store-since-tail-").resolve("logs/events.jsonl");
+        JsonlEventStore writer = new JsonlEventStore(file, 5);
+        for (int i = 0; i < 40; i++) {
+            writer.append(alert("e" + i, Instant.EPOCH.plusSeconds(i)));
+        }
+        JsonlEventStore reader = new JsonlEventStore(file, 5);
+        Files.writeString(file, "not json\n".repeat(40), StandardCharsets.UTF_8);
+
+        // e35..e39 are cached and e34 is the newest record left on disk.
+        assertEquals(List.of("e36", "e37", "e38", "e39"),
+                messages(reader.query(Instant.EPOCH.plusSeconds(36), Optional.empty(), 200)));
+        assertThrows(IllegalStateException.class,
+                () -> reader.query(Instant.EPOCH.plusSeconds(34), Optional.empty(), 200));
+    }
+
+    @Test
+    void queryAfterCacheEvictionStaysExactForOutOfOrderTimestamps() throws Exception {
+        Path file = Files.createTempDirectory("event-store-disk-order-").resolve("logs/events.jsonl");
+        JsonlEventStore store = new JsonlEventStore(file, 2);
+        store.append(alert("late-arrival", Instant.EPOCH.plusSeconds(50)));
+        store.append(alert("a", Instant.EPOCH.plusSeconds(10)));
+        store.append(alert("b", Instant.EPOCH.plusSeconds(11)));
+
+        // The cache holds a and b only; the evicted event is newer than since and must still be found.
+        assertEquals(List.of("late-arrival"), messages(store.query(Instant.EPOCH.plusSeconds(40), Optional.empty(), 10)));
+        assertEquals(List.of("late-arrival", "a", "b"), messages(store.query(Instant.EPOCH, Optional.empty(), 10)));
+    }
+
+    @Test
+    void groupCommitQueryFlushesBeforeReadingTheLog() throws Exception {
+        Path file = Files.createTempDirectory("event-store-group-disk-").resolve("logs/events.jsonl");
+        try (JsonlEventStore store = new JsonlEventStore(file, 3, GroupCommitOptions.of(GroupCommitOptions.Durability.NONE))) {
+            for (int i = 0; i < 20; i++) {
+                store.append(alert("e" + i, Instant.EPOCH.plusSeconds(i)));
+            }
+            List<String> messages = messages(store.query(Instant.EPOCH.plusSeconds(15), Optional.empty(), 100));
+            assertEquals(List.of("e15", "e16", "e17", "e18", "e19"), messages);
+        }
+    }
+
     @Test
     void unwritablePathFailsFastWithClearMessage() throws Exception {
         Path tempDir = Files.createTempDirectory("event-store-unwritable-");
@@ -197,6 +315,69 @@ class JsonlEventStoreTest {
         }
     }
 
+    @Test
+    void groupCommitWritesEveryQueuedEventInFewerBatches() throws Exception {
+        Path tempDir = Files.createTempDirectory("event-store-group-commit-");
+        Path file = tempDir.resolve("logs/events.jsonl");
+        int total = 300;
+
+        try (JsonlEventStore store = new JsonlEventStore(file, GroupCommitOptions.of(GroupCommitOptions.Durability.BATCH))) {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<?>[] futures = new Future<?>[total];
+                for (int i = 0; i < total; i++) {
+                    int idx = i;
+                    futures[i] = executor.submit(() -> store.append(alert("event-" + idx, Instant.EPOCH.plusSeconds(idx))));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            // Appends are visible to queries before the writer catches up.
+            assertEquals(total, store.query(Instant.EPOCH, Optional.empty(), total).size());
+            store.flush();
+
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertEquals(total, lines.size());
+            for (String line : lines) {
+                EventCodec.fromJsonLine(line);
+            }
+            assertTrue(store.groupCommitBatchCount() >= 1 && store.groupCommitBatchCount() <= total);
+        }
+    }
+
+    @Test
+    void groupCommitCloseDrainsQueueForEveryDurabilityPolicy() throws Exception {
+        for (GroupCommitOptions.Durability durability : GroupCommitOptions.Durability.values()) {
+            Path file = Files.createTempDirectory("event-store-group-close-").resolve("logs/events.jsonl");
+            GroupCommitOptions options = GroupCommitOptions.of(durability).withFsyncInterval(java.time.Duration.ofMillis(5));
+            JsonlEventStore store = new JsonlEventStore(file, options);
+            for (int i = 0; i < 50; i++) {
+                store.append(alert("e" + i, Instant.EPOCH.plusSeconds(i)));
+            }
+            store.close();
+
+            assertEquals(50, Files.readAllLines(file, StandardCharsets.UTF_8).size(), "durability=" + durability);
+            assertThrows(IllegalStateException.class, () -> store.append(alert("late", Instant.EPOCH)));
+            List<Event> reloaded = new JsonlEventStore(file).query(Instant.EPOCH, Optional.empty(), 100);
+            assertEquals(50, reloaded.size());
+        }
+    }
+
+    @Test
+    void groupCommitFailsFastWhenLogCannotBeOpened() throws Exception {
+        Path blocker = Files.createTempDirectory("event-store-group-unwritable-").resolve("not-a-dir");
+        Files.writeString(blocker, "blocker");
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
+                new JsonlEventStore(blocker.resolve("events.jsonl"), GroupCommitOptions.of(GroupCommitOptions.Durability.NONE))
+        );
+        assertTrue(ex.getMessage().contains("Failed opening event log"));
+    }
+
+    private static List<String> messages(List<Event> events) {
+        return events.stream().map(event -> ((AlertRaised) event).message()).toList();
+    }
+
     private AlertRaised alert(String message, Instant timestamp) {
         return new AlertRaised(timestamp, "collector", message, java.util.Map.of("m", message));
     }
@@ -0,0 +1,58 @@
+package com.signalsentinel.service.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JsonlRecordCodecTest {
+    @Test
+    void readLastWalksBackwardsAcrossChunkBoundaries() throws Exception {
+        Path file = Files.createTempFile("record-reader-tail-", ".jsonl");
+        StringBuilder content = new StringBuilder();
+        List<Long> offsets = new ArrayList<>();
+        String padding = "x".repeat(1_000);
+        for (int i = 0; i < 300; i++) {
+            offsets.add((long) content.length());
+            content.append("record-").append(i).append('-').append(padding).append('\n');
+            if (i % 50 == 0) {
+                content.append("  \n");
+            }
+        }
+        Files.writeString(file, content.toString(), StandardCharsets.US_ASCII);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<RecordCodec.Record> last = JsonlRecordCodec.INSTANCE.readLast(channel, channel.size(), 120);
+            assertEquals(120, last.size());
+            assertEquals("record-180-" + padding, text(last.getFirst()));
+            assertEquals(offsets.get(180), last.getFirst().offset());
+            assertEquals("record-299-" + padding, text(last.getLast()));
+
+            assertEquals(300, JsonlRecordCodec.INSTANCE.readLast(channel, channel.size(), 1_000).size());
+            assertEquals(List.of(), JsonlRecordCodec.INSTANCE.readLast(channel, channel.size(), 0));
+        }
+    }
+
+    @Test
+    void readLastStopsAtTheRequestedEndOffset() throws Exception {
+        Path file = Files.createTempFile("record-reader-end-", ".jsonl");
+        Files.writeString(file, "a\r\nb\nc\n", StandardCharsets.US_ASCII);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<RecordCodec.Record> records = JsonlRecordCodec.INSTANCE.readLast(channel, 5, 5);
+            assertEquals(List.of("a", "b"), records.stream().map(JsonlRecordCodecTest::text).toList());
+            assertEquals(List.of(0L, 3L), records.stream().map(RecordCodec.Record::offset).toList());
+        }
+    }
+
+    private static String text(RecordCodec.Record record) {
+        return new String(record.payload(), StandardCharsets.UTF_8);
+    }
+}
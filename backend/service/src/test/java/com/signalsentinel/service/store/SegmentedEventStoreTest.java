@@ -0,0 +1,277 @@
+package com.signalsentinel.service.store;
+
+import com.signalsentinel.core.events.AlertRaised;
+import com.signalsentinel.core.events.Event;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentedEventStoreTest {
+    private static final Instant BASE = Instant.parse("2026-02-12T20:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(BASE.plus(Duration.ofHours(1)), ZoneOffset.UTC);
+
+    @Test
+    void appendsAndReloadsAcrossRestart() throws Exception {
+        Path dir = Files.createTempDirectory("segmented-roundtrip-");
+        try (SegmentedEventStore store = new SegmentedEventStore(dir, SegmentedEventStore.Options.defaults(), CLOCK)) {
+            store.append(alert("first", BASE));
+            store.append(alert("second", BASE.plusSeconds(1)));
+        }
+
+        try (SegmentedEventStore reopened = new SegmentedEventStore(dir, SegmentedEventStore.Options.defaults(), CLOCK)) {
+            List<Event> events = reopened.query(Instant.EPOCH, Optional.empty(), 10);
+            assertEquals(List.of("first", "second"), messages(events));
+            reopened.append(alert("third", BASE.plusSeconds(2)));
+            assertEquals(3, reopened.query(Instant.EPOCH, Optional.empty(), 10).size());
+            assertEquals(1, reopened.segmentCount());
+        }
+    }
+
+    @Test
+    void rollsSegmentsBySizeAndKeepsOrderAcrossThem() throws Exception {
+        Path dir = Files.createTempDirectory("segmented-size-roll-");
+        SegmentedEventStore.Options options = SegmentedEventStore.Options.defaults().withSegmentMaxBytes(600);
+        try (SegmentedEventStore store = new SegmentedEventStore(dir, options, CLOCK)) {
+            for (int i = 0; i < 20; i++) {
+                store.append(alert("e" + i, BASE.plusSeconds(i)));
+            }
+            assertTrue(store.segmentCount() > 3, "expected several segments, got " + store.segmentCount());
+        }
+
+        try (SegmentedEventStore reopened = new SegmentedEventStore(dir, options, CLOCK)) {
+            List<String> messages = messages(reopened.query(Instant.EPOCH, Optional.empty(), 100));
+            assertEquals(20, messages.size());
+            assertEquals("e0", messages.getFirst());
+            assertEquals("e19", messages.getLast());
+        }
+    }
+
+    @Test
+    void rollsSegmentsWhenEventTimeSpanExceedsMaxAge() throws Exception {
+        Path dir = Files.createTempDirectory("segmented-time-roll-");
+        SegmentedEventStore.Options options = SegmentedEventStore.Options.defaults().withSegmentMaxAge(Duration.ofMinutes(10));
+        try (SegmentedEventStore store = new SegmentedEventStore(dir, options, CLOCK)) {
+            store.append(alert("a", BASE));
+            store.append(alert("b", BASE.plus(Duration.ofMinutes(9))));
+            assertEquals(1, store.segmentCount());
+            store.append(alert("c", BASE.plus(Duration.ofMinutes(10))));
+            assertEquals(2, store.segmentCount());
+        }
+    }
+
+    @Test
+    void retentionDropsOldestSegmentsOverByteBudgetButNeverTheActiveOne() throws Exception {
+        Path dir = Files.createTempDirectory("segmented-retention-bytes-");
+        SegmentedEventStore.Options options = SegmentedEventStore.Options.defaults()
+                .withSegmentMaxBytes(400)
+                .withRetention(Duration.ofDays(7), 1_000);
+        try (SegmentedEventStore store = new SegmentedEventStore(dir, options, CLOCK)) {
+            for (int i = 0; i < 40; i++) {
+                store.append(alert("e" + i, BASE.plusSeconds(i)));
+            }
+            assertTrue(store.totalBytes() <= 1_000 + 400, "total bytes " + store.totalBytes());
+            assertTrue(store.segmentCount() >= 1);
+            try (Stream<Path> files = Files.list(dir)) {
+                assertFalse(files.anyMatch(path -> path.getFileName().toString().equals(LogSegment.logFileName(1))));
+            }
+        }
+    }
+
+    @Test
+    void retentionDropsSegmentsOlderThanMaxAgeOnStartup() throws Exception {
+        Path dir = Files.createTempDirectory("segmented-retention-age-");
+        SegmentedEventStore.Options options = SegmentedEventStore.Options.defaults()
+                .withSegmentMaxAge(Duration.ofHours(1))
+                .withRetention(Duration.ofDays(30), Long.MAX_VALUE);
+        try (SegmentedEventStore store = new SegmentedEventStore(dir, options, CLOCK)) {
+            store.append(alert("old", BASE.minus(Duration.ofDays(10))));
+            store.append(alert("recent", BASE));
+            assertEquals(2, store.segmentCount());
+        }
+
+        SegmentedEventStore.Options expiring = options.withRetention(Duration.ofDays(7), Long.MAX_VALUE);
+        try (SegmentedEventStore reopened = new SegmentedEventStore(dir, expiring, CLOCK)) {
+            assertEquals(1, reopened.segmentCount());
+            assertEquals(List.of("recent"), messages(reopened.query(Instant.EPOCH, Optional.empty(), 10)));
+        }
+    }
+
+    @Test
+    void reopenTruncatesTornTrailingRecordOfActiveSegment() throws Exception {
+        Path dir = Files.createTempDirectory("segmented-torn-");
+        try (SegmentedEventStore store = new SegmentedEventStore(dir, SegmentedEventStore.Options.defaults(), CLOCK)) {
+            store.append(alert("complete", BASE));
+        }
+        Path segment = dir.resolve(LogSegment.logFileName(1));
+        Files.writeString(segment, "{\"type\":\"AlertRa", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (SegmentedEventStore reopened = new SegmentedEventStore(dir, SegmentedEventStore.Options.defaults(), CLOCK)) {
+            reopened.append(alert("after", BASE.plusSeconds(1)));
+        }
+        List<String> lines = Files.readAllLines(segment, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        for (String line : lines) {
+            EventCodec.fromJsonLine(line);
+        }
+    }
+
+    @Test
+    void sparseIndexIsPersistedAndRebuiltWhenMissing() throws Exception {
+        Path dir = Files.createTempDirectory("segmented-index-");
+        SegmentedEventStore.Options options = SegmentedEventStore.Options.defaults().withIndexIntervalBytes(256);
+        try (SegmentedEventStore store = new SegmentedEventStore(dir, options, CLOCK)) {
+            for (int i = 0; i < 30; i++) {
+                store.append(alert("e" + i, BASE.plusSeconds(i)));
+            }
+        }
+        Path indexFile = dir.resolve(String.format("%020d", 1) + LogSegment.INDEX_SUFFIX);
+        long persistedBytes = Files.size(indexFile);
+        assertTrue(persistedBytes > 0);
+        assertEquals(0, persistedBytes % SparseTimestampIndex.ENTRY_BYTES);
+
+        Files.delete(indexFile);
+        LogSegment rebuilt = LogSegment.open(dir.resolve(LogSegment.logFileName(1)), 256, false);
+        assertEquals(persistedBytes, Files.size(indexFile));
+        long seek = rebuilt.index().seekOffset(BASE.plusSeconds(20).toEpochMilli());
+        assertTrue(seek > 0);
+        List<String> fromSeek = new java.util.ArrayList<>();
+        rebuilt.scan(seek, (offset, length, payload) -> {
+            fromSeek.add(((AlertRaised) rebuilt.codec().decode(payload)).message());
+            return true;
+        });
+        assertTrue(fromSeek.contains("e20"));
+        assertFalse(fromSeek.contains("e0"));
+    }
+
+    @Test
+    void sparseIndexSeekIsExactForOutOfOrderTimestamps() {
+        SparseTimestampIndex index = new SparseTimestampIndex(10);
+        index.onRecord(0, 10, 100);
+        index.onRecord(10, 10, 300);
+        index.onRecord(20, 10, 200);
+        index.onRecord(30, 10, 400);
+
+        // The record at offset 20 (ts 200) must stay reachable for since=150 even though offset 10 holds ts 300.
+        assertEquals(10, index.seekOffset(150));
+        assertEquals(0, index.seekOffset(100));
+        assertEquals(30, index.seekOffset(350));
+        assertEquals(40, index.endOffset());
+    }
+
+    @Test
+    void queryReachesPastTheCacheAcrossSegments() throws Exception {
+        Path dir = Files.createTempDirectory("segmented-disk-query-");
+        SegmentedEventStore.Options options = SegmentedEventStore.Options.defaults()
+                .withSegmentMaxBytes(600)
+                .withIndexIntervalBytes(128)
+                .withCacheCapacity(5);
+        try (SegmentedEventStore store = new SegmentedEventStore(dir, options, CLOCK)) {
+            for (int i = 0; i < 60; i++) {
+                store.append(alert("e" + i, BASE.plusSeconds(i)));
+            }
+            assertTrue(store.segmentCount() > 3);
+
+            List<String> since = messages(store.query(BASE.plusSeconds(12), Optional.empty(), 1_000));
+            assertEquals(48, since.size());
+            assertEquals("e12", since.getFirst());
+            assertEquals("e59", since.getLast());
+            assertEquals(List.of("e48", "e49"), messages(store.query(BASE.plusSeconds(1), Optional.empty(), 12)).subList(0, 2));
+            assertEquals(List.of(), store.query(BASE, Optional.of("LoginFailed"), 10));
+        }
+
+        try (SegmentedEventStore reopened = new SegmentedEventStore(dir, options, CLOCK)) {
+            assertEquals(60, reopened.query(Instant.EPOCH, Optional.empty(), 1_000).size());
+        }
+    }
+
+    @Test
+    void binarySegmentsRollReloadAndAnswerDiskQueries() throws Exception {
+        Path dir = Files.createTempDirectory("segmented-binary-");
+        SegmentedEventStore.Options options = SegmentedEventStore.Options.defaults()
+                .withFormat(EventLogFormat.BINARY)
+                .withSegmentMaxBytes(400)
+                .withIndexIntervalBytes(96)
+                .withCacheCapacity(5);
+        try (SegmentedEventStore store = new SegmentedEventStore(dir, options, CLOCK)) {
+            for (int i = 0; i < 40; i++) {
+                store.append(alert("e" + i, BASE.plusSeconds(i)));
+            }
+            assertTrue(store.segmentCount() > 3);
+            List<String> since = messages(store.query(BASE.plusSeconds(10), Optional.empty(), 1_000));
+            assertEquals(30, since.size());
+            assertEquals("e10", since.getFirst());
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.map(path -> path.getFileName().toString()).noneMatch(name -> name.endsWith(".jsonl")));
+        }
+
+        try (SegmentedEventStore reopened = new SegmentedEventStore(dir, options, CLOCK)) {
+            List<String> all = messages(reopened.query(Instant.EPOCH, Optional.empty(), 1_000));
+            assertEquals(40, all.size());
+            assertEquals("e39", all.getLast());
+        }
+    }
+
+    @Test
+    void switchingFormatStartsANewSegmentAndKeepsOlderOnesReadable() throws Exception {
+        Path dir = Files.createTempDirectory("segmented-mixed-format-");
+        SegmentedEventStore.Options jsonl = SegmentedEventStore.Options.defaults().withCacheCapacity(1);
+        try (SegmentedEventStore store = new SegmentedEventStore(dir, jsonl, CLOCK)) {
+            store.append(alert("json-1", BASE));
+            store.append(alert("json-2", BASE.plusSeconds(1)));
+        }
+
+        SegmentedEventStore.Options binary = jsonl.withFormat(EventLogFormat.BINARY);
+        try (SegmentedEventStore store = new SegmentedEventStore(dir, binary, CLOCK)) {
+            assertEquals(2, store.segmentCount());
+            store.append(alert("binary-1", BASE.plusSeconds(2)));
+            assertEquals(List.of("json-1", "json-2", "binary-1"), messages(store.query(Instant.EPOCH, Optional.empty(), 10)));
+        }
+
+        try (SegmentedEventStore store = new SegmentedEventStore(dir, jsonl, CLOCK)) {
+            assertEquals(3, store.segmentCount());
+            store.append(alert("json-3", BASE.plusSeconds(3)));
+            assertEquals(List.of("json-1", "json-2", "binary-1", "json-3"),
+                    messages(store.query(Instant.EPOCH, Optional.empty(), 10)));
+        }
+    }
+
+    @Test
+    void migrateLegacyLogAdoptsSingleFileAsFirstSegment() throws Exception {
+        Path root = Files.createTempDirectory("segmented-legacy-");
+        Path legacy = root.resolve("events.jsonl");
+        JsonlEventStore jsonl = new JsonlEventStore(legacy);
+        jsonl.append(alert("legacy", BASE));
+
+        Path dir = root.resolve("events");
+        SegmentedEventStore.migrateLegacyLog(legacy, dir);
+
+        assertFalse(Files.exists(legacy));
+        try (SegmentedEventStore store = new SegmentedEventStore(dir, SegmentedEventStore.Options.defaults(), CLOCK)) {
+            assertEquals(List.of("legacy"), messages(store.query(Instant.EPOCH, Optional.empty(), 10)));
+        }
+    }
+
+    private static List<String> messages(List<Event> events) {
+        return events.stream().map(event -> ((AlertRaised) event).message()).toList();
+    }
+
+    private static AlertRaised alert(String message, Instant timestamp) {
+        return new AlertRaised(timestamp, "collector", message, Map.of("m", message));
+    }
+}
@@ -212,6 +212,7 @@ export default function App() {
   const reconnectTimerRef = useRef<number | null>(null);
   const newsRefreshTimerRef = useRef<number | null>(null);
   const retryDelayRef = useRef<number>(1000);
+  const lastEventIdRef = useRef<string>('');
   const pausedRef = useRef<boolean>(false);
   const settingsSavedTimerRef = useRef<number | null>(null);
   const previousRouteRef = useRef<RouteName>(route);
@@ -571,7 +572,10 @@ export default function App() {
         eventSourceRef.current = null;
       }
       setConnectionState((state) => (state === 'open' ? state : 'connecting'));
-      const streamUrl = apiUrl('/api/stream');
+      // A new EventSource does not send Last-Event-ID, so pass it explicitly to resume without a gap.
+      const streamUrl = lastEventIdRef.current
+        ? apiUrl(`/api/stream?lastEventId=${encodeURIComponent(lastEventIdRef.current)}`)
+        : apiUrl('/api/stream');
       const source = authUser
         ? new EventSource(streamUrl, { withCredentials: true })
         : new EventSource(streamUrl);
@@ -583,6 +587,9 @@ export default function App() {
       };
 
       const onSseMessage = (message: MessageEvent<string>) => {
+        if (message.lastEventId) {
+          lastEventIdRef.current = message.lastEventId;
+        }
         try {
           const normalized = normalizeEventEnvelope(JSON.parse(message.data));
           if (!normalized) {